@@ -0,0 +1,104 @@
+package dev.kadcom.cache;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorded sequence of cache lookups, with the weight each key had when it
+ * was cached, so a real access pattern can be replayed against different
+ * policies and sizes. Recording stops silently once {@code maxLookups} is
+ * reached.
+ * <p>
+ * Text form: one {@code key<TAB>weight} line per lookup; weight 0 means the
+ * key was never cached while recording (e.g. its load failed).
+ */
+public final class CacheTrace {
+
+    private final int maxLookups;
+    private final List<String> lookups;
+    private final Map<String, Integer> weights = new HashMap<>();
+
+    public CacheTrace(int maxLookups) {
+        if (maxLookups <= 0) {
+            throw new IllegalArgumentException("maxLookups must be positive");
+        }
+        this.maxLookups = maxLookups;
+        this.lookups = new ArrayList<>(Math.min(maxLookups, 4096));
+    }
+
+    /**
+     * A lookup of {@code key}, hit or miss
+     */
+    public synchronized void recordLookup(String key) {
+        if (lookups.size() < maxLookups) {
+            lookups.add(key);
+        }
+    }
+
+    /**
+     * {@code key} was cached with {@code weight}
+     */
+    public synchronized void recordWeight(String key, int weight) {
+        if (weight > 0) {
+            weights.put(key, weight);
+        }
+    }
+
+    public synchronized int size() {
+        return lookups.size();
+    }
+
+    public synchronized List<String> getLookups() {
+        return Collections.unmodifiableList(new ArrayList<>(lookups));
+    }
+
+    /**
+     * Weight {@code key} was cached with, or 0 if unknown
+     */
+    public synchronized int weightOf(String key) {
+        Integer weight = weights.get(key);
+        return weight != null ? weight : 0;
+    }
+
+    public synchronized void writeTo(Writer writer) throws IOException {
+        for (String key : lookups) {
+            writer.write(key);
+            writer.write('\t');
+            writer.write(Integer.toString(weightOf(key)));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    public static CacheTrace read(Reader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader buffered = new BufferedReader(reader);
+        for (String line = buffered.readLine(); line != null; line = buffered.readLine()) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        CacheTrace trace = new CacheTrace(Math.max(1, lines.size()));
+        for (String line : lines) {
+            int tab = line.lastIndexOf('\t');
+            if (tab < 0) {
+                throw new IOException("Malformed trace line: " + line);
+            }
+            String key = line.substring(0, tab);
+            try {
+                trace.recordWeight(key, Integer.parseInt(line.substring(tab + 1)));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed trace line: " + line, e);
+            }
+            trace.recordLookup(key);
+        }
+        return trace;
+    }
+}
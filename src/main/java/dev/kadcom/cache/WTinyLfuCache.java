@@ -0,0 +1,465 @@
+package dev.kadcom.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-safe, weight-bounded cache with W-TinyLFU admission.
+ * <p>
+ * New entries land in a small LRU window (1% of the weight by default). When
+ * the window overflows, its eldest entry becomes a candidate for the main
+ * region and is admitted only if a count-min sketch has seen it more often
+ * than the entry it would evict. The main region is a segmented LRU: entries
+ * start in probation and move to protected (80% of main) on a second hit.
+ * A one-off scan therefore churns through the window and probation while
+ * frequently used entries stay protected, unlike a plain LRU.
+ * <p>
+ * Removal callbacks run outside the cache lock.
+ */
+public class WTinyLfuCache<K, V> {
+
+    public static final float DEFAULT_WINDOW_FRACTION = 0.01f;
+    private static final float PROTECTED_FRACTION = 0.8f;
+
+    /**
+     * Weight of an entry, e.g. bytes; must be positive and must not change while cached
+     */
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    public interface RemovalListener<K, V> {
+        /**
+         * @param evicted true when removed by the policy, false for remove, replace or clear
+         */
+        void onRemoved(K key, V value, boolean evicted);
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final Weigher<K, V> weigher;
+    private final FrequencySketch sketch;
+    private final float windowFraction;
+    private RemovalListener<K, V> removalListener;
+
+    // Each region is a circular list with a sentinel; head.next is the eldest
+    private final Node<K, V> window = Node.sentinel();
+    private final Node<K, V> probation = Node.sentinel();
+    private final Node<K, V> protectedRegion = Node.sentinel();
+
+    private long maxWeight;
+    private long windowMax;
+    private long protectedMax;
+    private long windowWeight = 0;
+    private long probationWeight = 0;
+    private long protectedWeight = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public WTinyLfuCache(long maxWeight, int expectedEntries, Weigher<K, V> weigher) {
+        this(maxWeight, expectedEntries, DEFAULT_WINDOW_FRACTION, weigher);
+    }
+
+    public WTinyLfuCache(long maxWeight, int expectedEntries, float windowFraction, Weigher<K, V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        if (windowFraction <= 0 || windowFraction >= 1) {
+            throw new IllegalArgumentException("windowFraction must be between 0 and 1");
+        }
+        this.weigher = weigher;
+        this.windowFraction = windowFraction;
+        this.sketch = new FrequencySketch(expectedEntries);
+        setLimits(maxWeight);
+    }
+
+    public synchronized WTinyLfuCache<K, V> setRemovalListener(RemovalListener<K, V> removalListener) {
+        this.removalListener = removalListener;
+        return this;
+    }
+
+    public V get(K key) {
+        synchronized (this) {
+            sketch.increment(key);
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            onHit(node);
+            return node.value;
+        }
+    }
+
+    /**
+     * Value for {@code key} without recording an access, or null
+     */
+    public synchronized V peek(K key) {
+        Node<K, V> node = data.get(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Insert unless present, counting as a single access; returns the existing
+     * value (left in place) or null if {@code value} was offered to the cache
+     */
+    public V putIfAbsent(K key, V value) {
+        synchronized (this) {
+            Node<K, V> existing = data.get(key);
+            if (existing != null) {
+                sketch.increment(key);
+                onHit(existing);
+                return existing.value;
+            }
+        }
+        return put(key, value);
+    }
+
+    /**
+     * Insert or replace; returns the previous value. The new entry may be
+     * rejected by admission right away, in which case it is reported as evicted.
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("key and value must not be null");
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive");
+        }
+        List<Node<K, V>> removed = new ArrayList<>();
+        V previous = null;
+        synchronized (this) {
+            sketch.increment(key);
+            Node<K, V> existing = data.get(key);
+            if (existing != null) {
+                previous = existing.value;
+                if (previous != value) {
+                    removed.add(new Node<>(key, previous, existing.weight));
+                }
+                addWeight(existing.region, weight - existing.weight);
+                existing.value = value;
+                existing.weight = weight;
+                onHit(existing);
+            } else {
+                Node<K, V> node = new Node<>(key, value, weight);
+                data.put(key, node);
+                link(window, node, WINDOW);
+            }
+            evict(removed);
+        }
+        notifyRemoved(removed);
+        return previous;
+    }
+
+    public V remove(K key) {
+        Node<K, V> node;
+        synchronized (this) {
+            node = data.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+        }
+        if (removalListener != null) {
+            removalListener.onRemoved(node.key, node.value, false);
+        }
+        return node.value;
+    }
+
+    /**
+     * Remove every entry; frequency history is kept
+     */
+    public void evictAll() {
+        List<Node<K, V>> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(data.values());
+            data.clear();
+            window.clearList();
+            probation.clearList();
+            protectedRegion.clearList();
+            windowWeight = 0;
+            probationWeight = 0;
+            protectedWeight = 0;
+        }
+        if (removalListener != null) {
+            for (Node<K, V> node : removed) {
+                removalListener.onRemoved(node.key, node.value, false);
+            }
+        }
+    }
+
+    /**
+     * Change the weight bound, evicting by policy if it shrank
+     */
+    public void resize(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        List<Node<K, V>> removed = new ArrayList<>();
+        synchronized (this) {
+            setLimits(maxWeight);
+            evict(removed);
+        }
+        notifyRemoved(removed);
+    }
+
+    public synchronized long weightedSize() {
+        return windowWeight + probationWeight + protectedWeight;
+    }
+
+    public synchronized long maxWeight() {
+        return maxWeight;
+    }
+
+    public synchronized int size() {
+        return data.size();
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    // ============ POLICY ============
+
+    private void setLimits(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.windowMax = Math.max(1, (long) (maxWeight * windowFraction));
+        this.protectedMax = (long) ((maxWeight - windowMax) * PROTECTED_FRACTION);
+    }
+
+    private void onHit(Node<K, V> node) {
+        if (node.region == PROBATION) {
+            // Second hit: promote, demoting protected's eldest if it overflows
+            unlink(node);
+            link(protectedRegion, node, PROTECTED);
+            while (protectedWeight > protectedMax && protectedRegion.next != node) {
+                Node<K, V> demoted = protectedRegion.next;
+                unlink(demoted);
+                link(probation, demoted, PROBATION);
+            }
+        } else {
+            Node<K, V> head = node.region == WINDOW ? window : protectedRegion;
+            int region = node.region;
+            unlink(node);
+            link(head, node, region);
+        }
+    }
+
+    /**
+     * Move window overflow into main through admission, then trim main to the bound
+     */
+    private void evict(List<Node<K, V>> removed) {
+        while (windowWeight > windowMax && window.next != window) {
+            Node<K, V> candidate = window.next;
+            unlink(candidate);
+            admit(candidate, removed);
+        }
+        // Shrunk by resize (or oversized protected): evict eldest main entries, then window
+        while (weightedSize() > maxWeight) {
+            Node<K, V> victim = probation.next != probation ? probation.next
+                : protectedRegion.next != protectedRegion ? protectedRegion.next
+                : window.next;
+            if (victim == window) {
+                break;
+            }
+            evictNode(victim, removed);
+        }
+        while (protectedWeight > protectedMax && protectedRegion.next != protectedRegion) {
+            Node<K, V> demoted = protectedRegion.next;
+            unlink(demoted);
+            link(probation, demoted, PROBATION);
+        }
+    }
+
+    /**
+     * Admit a window candidate into probation if it is more popular than the
+     * victims it would displace; otherwise it is evicted
+     */
+    private void admit(Node<K, V> candidate, List<Node<K, V>> removed) {
+        long mainMax = maxWeight - windowMax;
+        if (candidate.weight > mainMax) {
+            evictUnlinked(candidate, removed);
+            return;
+        }
+        int candidateFrequency = sketch.frequency(candidate.key);
+        while (probationWeight + protectedWeight + candidate.weight > mainMax) {
+            Node<K, V> victim = probation.next != probation ? probation.next : protectedRegion.next;
+            if (victim == protectedRegion) {
+                break;
+            }
+            if (candidateFrequency > sketch.frequency(victim.key)) {
+                evictNode(victim, removed);
+            } else {
+                evictUnlinked(candidate, removed);
+                return;
+            }
+        }
+        link(probation, candidate, PROBATION);
+    }
+
+    private void evictNode(Node<K, V> node, List<Node<K, V>> removed) {
+        unlink(node);
+        evictUnlinked(node, removed);
+    }
+
+    private void evictUnlinked(Node<K, V> node, List<Node<K, V>> removed) {
+        data.remove(node.key);
+        node.evicted = true;
+        removed.add(node);
+        evictions++;
+    }
+
+    private void notifyRemoved(List<Node<K, V>> removed) {
+        if (removalListener == null) {
+            return;
+        }
+        for (Node<K, V> node : removed) {
+            removalListener.onRemoved(node.key, node.value, node.evicted);
+        }
+    }
+
+    // ============ LISTS ============
+
+    private void link(Node<K, V> head, Node<K, V> node, int region) {
+        node.region = region;
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+        addWeight(region, node.weight);
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        addWeight(node.region, -node.weight);
+    }
+
+    private void addWeight(int region, long delta) {
+        if (region == WINDOW) {
+            windowWeight += delta;
+        } else if (region == PROBATION) {
+            probationWeight += delta;
+        } else {
+            protectedWeight += delta;
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        int region;
+        boolean evicted;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        static <K, V> Node<K, V> sentinel() {
+            Node<K, V> head = new Node<>(null, null, 0);
+            head.clearList();
+            return head;
+        }
+
+        /**
+         * Sentinel only: detach every entry, leaving an empty list
+         */
+        void clearList() {
+            prev = this;
+            next = this;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters with periodic halving, so popularity
+     * reflects recent history rather than all time
+     */
+    static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int COUNTERS_PER_ENTRY = 8;
+        private static final int[] SEEDS = {0x97cb3127, 0xb3b3f4c5, 0x9e3779b9, 0x85ebca6b};
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions = 0;
+
+        FrequencySketch(int expectedEntries) {
+            int entries = Integer.highestOneBit(Math.max(16, expectedEntries) - 1) << 1;
+            // Sparse rows keep one-hit keys from colliding up to popular counts
+            int width = entries * COUNTERS_PER_ENTRY;
+            counters = new byte[DEPTH][width];
+            mask = width - 1;
+            sampleSize = 10 * entries;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = indexOf(hash, row);
+                if (counters[row][index] < MAX_COUNT) {
+                    counters[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                halve();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counters[row][indexOf(hash, row)]);
+            }
+            return min;
+        }
+
+        private void halve() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x45d9f3b;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
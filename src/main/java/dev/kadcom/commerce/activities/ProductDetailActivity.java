@@ -15,6 +15,9 @@ import android.widget.Toast;
 import androidx.annotation.Nullable;
 // ViewPager2 removed to reduce APK size
 import dev.kadcom.commerce.models.ProductItem;
+import dev.kadcom.commerce.utils.ImageLoader;
+import dev.kadcom.commerce.utils.ImageVariantSelector;
+import dev.kadcom.commerce.utils.MemoryGovernor;
 import dev.kadcom.commerce.utils.StyleUtils;
 import dev.kadcom.commerce.views.AsyncImageView;
 import dev.kadcom.dummyjson.client.DummyJsonClient;
@@ -59,6 +62,9 @@ public class ProductDetailActivity extends Activity {
             return;
         }
         
+        ImageLoader.getInstance().enableDiskCache(this);
+        ImageLoader.getInstance().setHardwareBitmapsEnabled(true);
+        MemoryGovernor.install(getApplication());
         setupApiClient();
         createViews();
         loadProductDetails();
@@ -362,7 +368,13 @@ public class ProductDetailActivity extends Activity {
         
         // Bind image
         if (mainImageView != null) {
-            mainImageView.loadImage(currentProduct.getPrimaryImageUrl());
+            // Full width, 300dp tall; the grid's thumbnail stands in while it loads
+            int width = mainImageView.getWidth() > 0
+                ? mainImageView.getWidth()
+                : getResources().getDisplayMetrics().widthPixels;
+            String url = currentProduct.getImageUrl(ImageVariantSelector.getInstance(this),
+                width, StyleUtils.dpToPx(this, 300));
+            mainImageView.loadImage(url, currentProduct.getThumbnail());
         }
         
         // Bind text data
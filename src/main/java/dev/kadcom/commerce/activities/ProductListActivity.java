@@ -3,8 +3,13 @@ package dev.kadcom.commerce.activities;
 import android.app.Activity;
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.InputType;
+import android.text.TextWatcher;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
@@ -12,15 +17,23 @@ import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 // SwipeRefreshLayout removed to reduce APK size
+import dev.kadcom.commerce.adapters.ImagePrefetcher;
 import dev.kadcom.commerce.adapters.ProductAdapter;
+import dev.kadcom.commerce.adapters.ProductPageWindow;
 import dev.kadcom.commerce.models.ProductItem;
+import dev.kadcom.commerce.utils.ImageLoader;
+import dev.kadcom.commerce.utils.MemoryGovernor;
 import dev.kadcom.commerce.utils.StyleUtils;
-import dev.kadcom.commerce.views.ProductCardView;
+import dev.kadcom.commerce.views.CardRasterCache;
+import dev.kadcom.commerce.views.CardTextLayouts;
 import dev.kadcom.dummyjson.client.DummyJsonClient;
+import dev.kadcom.dummyjson.client.SearchSession;
 import dev.kadcom.dummyjson.models.Product;
 import dev.kadcom.dummyjson.models.ProductsResponse;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -31,21 +44,48 @@ public class ProductListActivity extends Activity {
     
     private RecyclerView recyclerView;
     private ProductAdapter adapter;
+    private ProductPageWindow pageWindow;
+    private ImagePrefetcher imagePrefetcher;
+    private CardTextLayouts cardTextLayouts;
     // SwipeRefreshLayout removed for smaller APK
     private ProgressBar loadingProgress;
+    private EditText searchBar;
     private DummyJsonClient apiClient;
     
+    // Search-as-you-type; browsing pagination is suspended while a query is active
+    private SearchSession searchSession;
+    private boolean searchActive = false;
+    private int searchGeneration = 0;
+    
     // Pagination
     private static final int PAGE_SIZE = 20;
+    
+    // Memory governor tier names
+    private static final String GOVERNOR_CARD_RASTERS = "card-rasters";
+    private static final String GOVERNOR_ENTITIES = "list-entities";
     private int currentPage = 0;
     private boolean isLoading = false;
+    private int loadGeneration = 0; // Bumped to discard in-flight page loads
     private boolean hasMoreData = true;
     
+    // Prefetch: always keep at least MIN_PREFETCH_ROWS ahead, plus the rows the
+    // user will cover at the current velocity while a page is in flight
+    private static final int MIN_PREFETCH_ROWS = 2;
+    private static final int PREFETCH_LOOKAHEAD_FRAMES = 30; // ~500ms at 60fps
+    private static final float VELOCITY_SMOOTHING = 0.3f;
+    private float scrollVelocity = 0f; // Smoothed px per scroll event
+    
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         
+        // Persist downloaded images across launches
+        ImageLoader.getInstance().enableDiskCache(this);
+        // Off-heap image pixels on API 26+; the window is hardware accelerated
+        ImageLoader.getInstance().setHardwareBitmapsEnabled(true);
+        
         setupApiClient();
+        setupMemoryGovernor();
         createViews();
         setupRecyclerView();
         // setupSwipeRefresh(); // Removed for smaller APK
@@ -56,12 +96,32 @@ public class ProductListActivity extends Activity {
     private void setupApiClient() {
         // Use the DummyJSON client library
         apiClient = DummyJsonClient.withOkHttp();
+        searchSession = new SearchSession(apiClient);
+    }
+    
+    /**
+     * Shrink caches under memory pressure: images (registered by the governor),
+     * card rasters, and the client's entity caches
+     */
+    private void setupMemoryGovernor() {
+        MemoryGovernor governor = MemoryGovernor.install(getApplication());
+        governor.register(GOVERNOR_CARD_RASTERS, CardRasterCache.getInstance()::setBudget);
+        final int productCacheSize = apiClient.getProductCache().getMaxSize();
+        governor.register(GOVERNOR_ENTITIES, fraction -> {
+            apiClient.getProductCache().setMaxSize((int) (productCacheSize * fraction));
+            if (fraction < 0.5f) {
+                searchSession.clearCache();
+            }
+        });
     }
     
     private void createViews() {
         // Create main container
         ViewGroup container = createMainContainer();
         
+        // Create search bar above the grid
+        searchBar = createSearchBar();
+        
         // Create loading progress bar
         loadingProgress = createLoadingProgress();
         
@@ -75,7 +135,40 @@ public class ProductListActivity extends Activity {
         container.addView(recyclerView);
         container.addView(loadingProgress);
         
-        setContentView(container);
+        LinearLayout root = new LinearLayout(this);
+        root.setOrientation(LinearLayout.VERTICAL);
+        root.setBackgroundColor(StyleUtils.BACKGROUND_COLOR);
+        root.addView(searchBar);
+        root.addView(container, new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, 0, 1f));
+        
+        setContentView(root);
+    }
+    
+    private EditText createSearchBar() {
+        EditText search = new EditText(this);
+        search.setHint("Search products");
+        search.setSingleLine(true);
+        search.setInputType(InputType.TYPE_CLASS_TEXT);
+        int padding = StyleUtils.dpToPx(this, StyleUtils.SPACING_SMALL);
+        search.setPadding(padding * 2, padding, padding * 2, padding);
+        search.setLayoutParams(new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT
+        ));
+        search.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+            
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+            
+            @Override
+            public void afterTextChanged(Editable s) {
+                onSearchTextChanged(s.toString());
+            }
+        });
+        return search;
     }
     
     private ViewGroup createMainContainer() {
@@ -147,6 +240,15 @@ public class ProductListActivity extends Activity {
         adapter.setOnProductClickListener(this::onProductClick);
         recyclerView.setAdapter(adapter);
         
+        // Keep only pages near the viewport materialized
+        // Card titles are shaped on the threads that map each page, not at bind
+        cardTextLayouts = CardTextLayouts.getInstance(this);
+        pageWindow = new ProductPageWindow(apiClient, adapter, PAGE_SIZE)
+            .setItemPreparer(cardTextLayouts::precompute);
+        
+        // Warm images for the rows ahead in the scroll direction
+        imagePrefetcher = new ImagePrefetcher(adapter);
+        
         // Add scroll listener for infinite scroll and overdraw optimization
         recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
@@ -156,22 +258,28 @@ public class ProductListActivity extends Activity {
                 // Notify adapter about scroll state for performance optimization
                 boolean scrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
                 adapter.setScrolling(scrolling);
+                
+                // Only on-screen images download during a fling
+                ImageLoader.getInstance().setFlinging(newState == RecyclerView.SCROLL_STATE_SETTLING);
             }
             
             @Override
             public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
                 super.onScrolled(recyclerView, dx, dy);
                 
-                if (!isLoading && hasMoreData && dy > 0) {
-                    GridLayoutManager layoutManager = (GridLayoutManager) recyclerView.getLayoutManager();
-                    if (layoutManager != null) {
-                        int totalItems = layoutManager.getItemCount();
-                        int lastVisible = layoutManager.findLastCompletelyVisibleItemPosition();
-                        
-                        if (lastVisible >= totalItems - 5) { // Load more when 5 items from end
-                            loadMoreProducts();
-                        }
-                    }
+                scrollVelocity += VELOCITY_SMOOTHING * (dy - scrollVelocity);
+                
+                GridLayoutManager layoutManager = (GridLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager == null) {
+                    return;
+                }
+                pageWindow.onViewportChanged(
+                    layoutManager.findFirstVisibleItemPosition(),
+                    layoutManager.findLastVisibleItemPosition());
+                imagePrefetcher.onScrolled(layoutManager, dy, scrollVelocity);
+                
+                if (!isLoading && hasMoreData && dy > 0 && shouldPrefetch(layoutManager)) {
+                    loadMoreProducts();
                 }
             }
         });
@@ -179,8 +287,29 @@ public class ProductListActivity extends Activity {
         // Optimize RecyclerView performance
         recyclerView.setHasFixedSize(true);
         recyclerView.setItemViewCacheSize(20);
-        recyclerView.setDrawingCacheEnabled(true);
-        recyclerView.setDrawingCacheQuality(View.DRAWING_CACHE_QUALITY_HIGH);
+        // Cards render through the shared CardRasterCache, not the drawing cache
+    }
+    
+    /**
+     * Request the next page once the distance to the end is smaller than what
+     * the user will scroll through, at the current velocity, before it arrives
+     */
+    private boolean shouldPrefetch(GridLayoutManager layoutManager) {
+        int totalItems = layoutManager.getItemCount();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible == RecyclerView.NO_POSITION) {
+            return false;
+        }
+        
+        int spanCount = layoutManager.getSpanCount();
+        int rowsAhead = MIN_PREFETCH_ROWS;
+        View lastChild = layoutManager.findViewByPosition(lastVisible);
+        if (lastChild != null && lastChild.getHeight() > 0 && scrollVelocity > 0) {
+            rowsAhead += (int) Math.ceil(scrollVelocity * PREFETCH_LOOKAHEAD_FRAMES / lastChild.getHeight());
+        }
+        
+        int remainingItems = totalItems - 1 - lastVisible;
+        return remainingItems <= rowsAhead * spanCount;
     }
     
     private void setupSwipeRefresh() {
@@ -192,40 +321,51 @@ public class ProductListActivity extends Activity {
     }
     
     private void loadProducts(boolean isRefresh) {
-        if (isLoading) return;
+        if (isLoading && !isRefresh) return;
         
         isLoading = true;
+        final int generation = ++loadGeneration;
         
         if (!isRefresh) {
             loadingProgress.setVisibility(View.VISIBLE);
         }
         
-        // Calculate skip parameter for pagination
-        int skip = currentPage * PAGE_SIZE;
+        final int page = isRefresh ? 0 : currentPage;
+        final int skip = page * PAGE_SIZE;
         
-        // Use DummyJSON client to fetch products
-        CompletableFuture<ProductsResponse> future = apiClient.getProductsAsync();
+        // Use DummyJSON client to fetch one page of products
+        CompletableFuture<ProductsResponse> future = apiClient.getProductsAsync(PAGE_SIZE, skip);
         
         future.thenAccept(response -> {
+            // Map to display items on the client executor, not the UI thread
+            final List<ProductItem> productItems = response != null && response.getProducts() != null
+                ? response.getProducts().stream()
+                    .map(ProductItem::new)
+                    .collect(Collectors.toList())
+                : null;
+            cardTextLayouts.precompute(productItems);
+            
             runOnUiThread(() -> {
+                if (generation != loadGeneration) {
+                    return; // Superseded by a refresh or a search
+                }
                 isLoading = false;
                 loadingProgress.setVisibility(View.GONE);
                 // swipeRefresh.setRefreshing(false); // Removed for smaller APK
                 
-                if (response != null && response.getProducts() != null) {
-                    List<ProductItem> productItems = response.getProducts().stream()
-                        .map(ProductItem::new)
-                        .collect(Collectors.toList());
-                    
-                    // For now, just update all products (DummyJSON returns all at once)
-                    adapter.updateProducts(productItems);
-                    hasMoreData = false; // No pagination support yet
+                if (productItems != null) {
+                    pageWindow.submitPage(page, productItems);
+                    currentPage = page + 1;
+                    hasMoreData = !productItems.isEmpty() && skip + productItems.size() < response.getTotal();
                 } else {
                     showError("Failed to load products");
                 }
             });
         }).exceptionally(throwable -> {
             runOnUiThread(() -> {
+                if (generation != loadGeneration) {
+                    return;
+                }
                 isLoading = false;
                 loadingProgress.setVisibility(View.GONE);
                 // swipeRefresh.setRefreshing(false); // Removed for smaller APK
@@ -236,7 +376,59 @@ public class ProductListActivity extends Activity {
     }
     
     private void loadMoreProducts() {
-        loadProducts(false);
+        if (!searchActive) {
+            loadProducts(false);
+        }
+    }
+    
+    private void onSearchTextChanged(String text) {
+        final int generation = ++searchGeneration;
+        
+        if (text.trim().isEmpty()) {
+            searchSession.cancel();
+            if (searchActive) {
+                // Back to browsing from the first page
+                searchActive = false;
+                currentPage = 0;
+                hasMoreData = true;
+                loadProducts(true);
+            }
+            return;
+        }
+        
+        if (!searchActive) {
+            searchActive = true;
+            loadGeneration++; // Drop any in-flight browse page
+            isLoading = false;
+            loadingProgress.setVisibility(View.GONE);
+            pageWindow.reset(); // Search results are not paged
+            imagePrefetcher.cancelAll();
+        }
+        
+        searchSession.query(text)
+            .thenApplyAsync(result -> {
+                List<ProductItem> items = result.getProducts().stream()
+                    .map(ProductItem::new)
+                    .collect(Collectors.toList());
+                cardTextLayouts.precompute(items);
+                return items;
+            })
+            .thenAccept(items -> runOnUiThread(() -> {
+                if (generation == searchGeneration && searchActive) {
+                    adapter.updateProducts(items);
+                }
+            }))
+            .exceptionally(throwable -> {
+                Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                if (!(cause instanceof CancellationException)) {
+                    runOnUiThread(() -> {
+                        if (generation == searchGeneration) {
+                            showError("Search failed: " + cause.getMessage());
+                        }
+                    });
+                }
+                return null;
+            });
     }
     
     private void onProductClick(ProductItem product) {
@@ -263,7 +455,14 @@ public class ProductListActivity extends Activity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        // Clear image cache to free memory
-        dev.kadcom.commerce.utils.ImageLoader.getInstance().clearCache();
+        searchSession.cancel();
+        imagePrefetcher.cancelAll();
+        MemoryGovernor governor = MemoryGovernor.install(getApplication());
+        governor.unregister(GOVERNOR_CARD_RASTERS);
+        governor.unregister(GOVERNOR_ENTITIES);
+        // Clear memory image cache; the disk cache persists for the next launch
+        ImageLoader.getInstance().clearCache();
+        CardRasterCache.getInstance().clear();
+        cardTextLayouts.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package dev.kadcom.commerce.adapters;
+
+import android.view.View;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import dev.kadcom.commerce.models.ProductItem;
+import dev.kadcom.commerce.utils.ImageLoader;
+import dev.kadcom.commerce.views.ProductCardView;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms {@link ImageLoader} for the rows the user is scrolling towards, so
+ * cards arrive with their image already in memory instead of a placeholder.
+ * Looks further ahead the faster the list moves, prefetches at the card's own
+ * target size, and cancels outstanding work when the direction reverses.
+ * Stops issuing requests while the loader reports no prefetch budget
+ * (downloads backlogged or memory tight). All methods run on the main thread.
+ */
+public class ImagePrefetcher {
+
+    public static final int DEFAULT_MIN_ROWS = 2;
+    public static final int DEFAULT_MAX_ROWS = 6;
+    private static final int LOOKAHEAD_FRAMES = 30; // ~500ms at 60fps
+    private static final int MAX_OUTSTANDING = 8;
+
+    private final ProductAdapter adapter;
+    private final ImageLoader imageLoader = ImageLoader.getInstance();
+
+    // Outstanding prefetches by URL
+    private final Map<String, ImageLoader.ImageRequest> outstanding = new HashMap<>();
+
+    private int minRows = DEFAULT_MIN_ROWS;
+    private int maxRows = DEFAULT_MAX_ROWS;
+    private int lastDirection = 0;
+
+    public ImagePrefetcher(ProductAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    public ImagePrefetcher setRowRange(int minRows, int maxRows) {
+        this.minRows = Math.max(0, minRows);
+        this.maxRows = Math.max(this.minRows, maxRows);
+        return this;
+    }
+
+    /**
+     * Call from {@code onScrolled} with the scroll delta and smoothed velocity (px per event)
+     */
+    public void onScrolled(GridLayoutManager layoutManager, int dy, float velocity) {
+        if (dy == 0) {
+            return;
+        }
+        int direction = dy > 0 ? 1 : -1;
+        if (direction != lastDirection) {
+            cancelAll(); // Everything queued lies behind the user now
+            lastDirection = direction;
+        }
+
+        int firstVisible = layoutManager.findFirstVisibleItemPosition();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        // Any laid-out card gives the row height and the image target size
+        View child = layoutManager.findViewByPosition(direction > 0 ? lastVisible : firstVisible);
+        if (!(child instanceof ProductCardView) || child.getHeight() <= 0) {
+            return;
+        }
+        ProductCardView card = (ProductCardView) child;
+        int rows = minRows + (int) Math.ceil(Math.abs(velocity) * LOOKAHEAD_FRAMES / child.getHeight());
+        rows = Math.min(rows, maxRows);
+
+        int span = layoutManager.getSpanCount();
+        int itemCount = adapter.getItemCount();
+        int start = direction > 0 ? lastVisible + 1 : firstVisible - 1;
+        int end = direction > 0
+            ? Math.min(itemCount - 1, lastVisible + rows * span)
+            : Math.max(0, firstVisible - rows * span);
+
+        Map<String, Boolean> wanted = new LinkedHashMap<>(); // Nearest first
+        for (int position = start; direction > 0 ? position <= end : position >= end; position += direction) {
+            ProductItem item = adapter.getProduct(position);
+            String url = item != null && !item.isPlaceholder() ? card.resolveImageUrl(item) : null;
+            if (url != null && !url.isEmpty()) {
+                wanted.put(url, Boolean.TRUE);
+            }
+        }
+        dropUnwanted(wanted);
+
+        List<String> toIssue = new ArrayList<>();
+        for (String url : wanted.keySet()) {
+            if (outstanding.size() + toIssue.size() >= MAX_OUTSTANDING || !imageLoader.hasPrefetchBudget()) {
+                break;
+            }
+            if (!outstanding.containsKey(url)) {
+                toIssue.add(url);
+            }
+        }
+        // The download scheduler is LIFO within a priority: issue the nearest last
+        int width = card.getImageTargetWidth();
+        int height = card.getImageTargetHeight();
+        for (int i = toIssue.size() - 1; i >= 0; i--) {
+            String url = toIssue.get(i);
+            ImageLoader.ImageRequest request = imageLoader.prefetch(url, width, height,
+                () -> outstanding.remove(url));
+            if (request != null && !request.isCancelled()) {
+                outstanding.put(url, request);
+            }
+        }
+    }
+
+    /**
+     * Cancel every outstanding prefetch (direction change, new data, teardown)
+     */
+    public void cancelAll() {
+        for (ImageLoader.ImageRequest request : outstanding.values()) {
+            request.cancel();
+        }
+        outstanding.clear();
+    }
+
+    public int getOutstandingCount() {
+        return outstanding.size();
+    }
+
+    private void dropUnwanted(Map<String, Boolean> wanted) {
+        Iterator<Map.Entry<String, ImageLoader.ImageRequest>> iterator = outstanding.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, ImageLoader.ImageRequest> entry = iterator.next();
+            if (!wanted.containsKey(entry.getKey())) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package dev.kadcom.commerce.adapters;
 
+import android.util.SparseIntArray;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import dev.kadcom.commerce.models.ProductItem;
 import dev.kadcom.commerce.utils.StyleUtils;
 import dev.kadcom.commerce.views.ProductCardView;
+import dev.kadcom.dummyjson.models.CatalogDelta;
+import dev.kadcom.dummyjson.models.Product;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * High-performance RecyclerView adapter for product grid
@@ -15,13 +25,19 @@ import java.util.List;
  */
 public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder> {
     
-    private final List<ProductItem> products;
+    // Diffs every submitted list against the shown one on a background thread
+    private final AsyncListDiffer<ProductItem> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    
+    // Most recently submitted list; mutations build on it, not on the shown one,
+    // so they never drop a submission whose diff is still in flight
+    private List<ProductItem> latestProducts = Collections.emptyList();
+    
+    // Last laid-out card height by product id, used for placeholder sizing
+    private final SparseIntArray measuredHeights = new SparseIntArray();
     private ProductCardView.OnProductClickListener clickListener;
     private boolean isScrolling = false;
     
     public ProductAdapter() {
-        this.products = new ArrayList<>();
-        
         // Enable stable IDs for better performance
         setHasStableIds(true);
     }
@@ -45,12 +61,30 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     
     @Override
     public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
-        ProductItem product = products.get(position);
+        ProductItem product = differ.getCurrentList().get(position);
         holder.bind(product, clickListener);
         // Notify card about current scroll state
         holder.cardView.setScrolling(isScrolling);
     }
     
+    @Override
+    public void onViewRecycled(@NonNull ProductViewHolder holder) {
+        super.onViewRecycled(holder);
+        ProductItem product = holder.cardView.getCurrentProduct();
+        int height = holder.cardView.getHeight();
+        if (product != null && height > 0) {
+            measuredHeights.put(product.getId(), height);
+        }
+    }
+    
+    /**
+     * Last height the card at {@code position} was laid out at, or 0 if never measured
+     */
+    public int getMeasuredHeight(int position) {
+        ProductItem product = getProduct(position);
+        return product != null ? measuredHeights.get(product.getId(), 0) : 0;
+    }
+    
     /**
      * Notify adapter about scroll state for performance optimization
      */
@@ -62,49 +96,116 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     
     @Override
     public int getItemCount() {
-        return products.size();
+        return differ.getCurrentList().size();
     }
     
     @Override
     public long getItemId(int position) {
-        return products.get(position).getId();
+        return differ.getCurrentList().get(position).getId();
     }
     
     /**
-     * Update products list with animation support
+     * Replace the products list. The diff is computed on a background thread
+     * by id and card content, then dispatched on the main thread as granular
+     * notifications, so unchanged cards are not rebound. Must be called on
+     * the main thread.
      */
     public void updateProducts(List<ProductItem> newProducts) {
-        products.clear();
-        products.addAll(newProducts);
-        notifyDataSetChanged();
-        
-        // For better performance, consider using DiffUtil for large datasets:
-        // DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new ProductDiffCallback(oldProducts, newProducts));
-        // diffResult.dispatchUpdatesTo(this);
+        updateProducts(newProducts, null);
+    }
+    
+    /**
+     * {@link #updateProducts(List)}, running {@code commitCallback} once the
+     * list is shown (or dropped for a newer one)
+     */
+    public void updateProducts(List<ProductItem> newProducts, Runnable commitCallback) {
+        submit(new ArrayList<>(newProducts), commitCallback);
     }
     
     /**
      * Add products (for infinite scroll)
      */
-    public void addProducts(List<ProductItem> newProducts) {
-        int startPosition = products.size();
-        products.addAll(newProducts);
-        notifyItemRangeInserted(startPosition, newProducts.size());
+    public void addProducts(List<ProductItem> newProducts, Runnable commitCallback) {
+        List<ProductItem> updated = new ArrayList<>(latestProducts.size() + newProducts.size());
+        updated.addAll(latestProducts);
+        updated.addAll(newProducts);
+        submit(updated, commitCallback);
+    }
+    
+    /**
+     * Replace a contiguous range in place (paging items in and out of memory)
+     */
+    public void replaceRange(int start, List<ProductItem> items, Runnable commitCallback) {
+        if (start < 0 || start + items.size() > latestProducts.size()) {
+            return;
+        }
+        List<ProductItem> updated = new ArrayList<>(latestProducts);
+        for (int i = 0; i < items.size(); i++) {
+            updated.set(start + i, items.get(i));
+        }
+        submit(updated, commitCallback);
+    }
+    
+    /**
+     * Apply an incremental catalog refresh (from {@code CatalogRefresher}) to
+     * the latest list: updated products replace theirs in place, removed ids
+     * are dropped and inserts go in at their catalog position. The result is
+     * diffed like any other submission, so only the changed cards are rebound.
+     * Paged-out placeholders are kept; they reload the current product when
+     * paged back in. Inserts and removals shift positions, so a list windowed
+     * by {@link ProductPageWindow} should be reloaded instead when the delta
+     * has any.
+     */
+    public void applyDelta(CatalogDelta delta, Runnable commitCallback) {
+        if (delta == null || delta.isEmpty()) {
+            if (commitCallback != null) {
+                commitCallback.run();
+            }
+            return;
+        }
+        
+        Map<Integer, Product> updated = new HashMap<>(delta.getUpdated().size() * 2);
+        for (Product product : delta.getUpdated()) {
+            updated.put(product.getId(), product);
+        }
+        Set<Integer> removed = new HashSet<>(delta.getRemovedIds());
+        
+        List<ProductItem> next = new ArrayList<>(latestProducts.size() + delta.getInserted().size());
+        for (ProductItem item : latestProducts) {
+            if (removed.contains(item.getId())) {
+                continue;
+            }
+            Product product = item.isPlaceholder() ? null : updated.get(item.getId());
+            next.add(product != null ? new ProductItem(product) : item);
+        }
+        
+        // Positions ascend, so each insert lands where the catalog has it
+        List<Product> inserted = delta.getInserted();
+        for (int i = 0; i < inserted.size(); i++) {
+            int position = Math.min(delta.getInsertedPositions().get(i), next.size());
+            next.add(position, new ProductItem(inserted.get(i)));
+        }
+        submit(next, commitCallback);
     }
     
     /**
      * Clear all products
      */
     public void clearProducts() {
-        int size = products.size();
-        products.clear();
-        notifyItemRangeRemoved(0, size);
+        measuredHeights.clear();
+        submit(null, null);
+    }
+    
+    private void submit(List<ProductItem> newProducts, Runnable commitCallback) {
+        latestProducts = newProducts != null ? newProducts : Collections.<ProductItem>emptyList();
+        differ.submitList(newProducts, commitCallback);
     }
     
     /**
      * Get product at position
      */
     public ProductItem getProduct(int position) {
+        List<ProductItem> products = differ.getCurrentList();
         if (position >= 0 && position < products.size()) {
             return products.get(position);
         }
@@ -143,41 +244,17 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     }
     
     /**
-     * Optional: DiffUtil callback for efficient updates
-     * Uncomment and use for better performance with large datasets
+     * Identity by product id, contents by what the card renders
      */
-    /*
-    private static class ProductDiffCallback extends DiffUtil.Callback {
-        
-        private final List<ProductItem> oldProducts;
-        private final List<ProductItem> newProducts;
-        
-        public ProductDiffCallback(List<ProductItem> oldProducts, List<ProductItem> newProducts) {
-            this.oldProducts = oldProducts;
-            this.newProducts = newProducts;
-        }
-        
+    private static final DiffUtil.ItemCallback<ProductItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<ProductItem>() {
         @Override
-        public int getOldListSize() {
-            return oldProducts.size();
+        public boolean areItemsTheSame(@NonNull ProductItem oldProduct, @NonNull ProductItem newProduct) {
+            return oldProduct.getId() == newProduct.getId();
         }
         
         @Override
-        public int getNewListSize() {
-            return newProducts.size();
+        public boolean areContentsTheSame(@NonNull ProductItem oldProduct, @NonNull ProductItem newProduct) {
+            return oldProduct.hasSameContent(newProduct);
         }
-        
-        @Override
-        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-            return oldProducts.get(oldItemPosition).getId() == newProducts.get(newItemPosition).getId();
-        }
-        
-        @Override
-        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-            ProductItem oldProduct = oldProducts.get(oldItemPosition);
-            ProductItem newProduct = newProducts.get(newItemPosition);
-            return oldProduct.equals(newProduct);
-        }
-    }
-    */
-}
\ No newline at end of file
+    };
+}
@@ -0,0 +1,237 @@
+package dev.kadcom.commerce.adapters;
+
+import android.os.Handler;
+import android.os.Looper;
+import dev.kadcom.commerce.models.ProductItem;
+import dev.kadcom.dummyjson.client.DummyJsonClient;
+import dev.kadcom.dummyjson.models.Product;
+import dev.kadcom.dummyjson.models.ProductsResponse;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Windowed paging source for {@link ProductAdapter}. Only pages within a few
+ * pages of the viewport hold real {@link ProductItem}s; pages further away are
+ * swapped for placeholders (id + height), and reloaded from the client's
+ * product cache, or the network on a miss, when they come back into range.
+ * Retained memory stays proportional to the window, not to scroll depth.
+ * All public methods must be called on the main thread.
+ */
+public class ProductPageWindow {
+
+    public static final int DEFAULT_WINDOW_PAGES = 2; // Pages kept on each side of the viewport
+
+    private final DummyJsonClient client;
+    private final ProductAdapter adapter;
+    private final int pageSize;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Per page: product ids in adapter order (the only thing kept for paged-out pages)
+    private final List<int[]> pageIds = new ArrayList<>();
+    private final BitSet materialized = new BitSet();
+    private final BitSet restoring = new BitSet();
+
+    private int windowPages = DEFAULT_WINDOW_PAGES;
+    private Consumer<List<ProductItem>> itemPreparer = items -> {};
+    private int firstVisible = 0;
+    private int lastVisible = 0;
+    private boolean updateScheduled = false;
+    // Incremented on reset; in-flight restores from an older list are dropped
+    private int generation = 0;
+
+    private final Runnable updateWindowTask = () -> {
+        updateScheduled = false;
+        updateWindow();
+    };
+
+    public ProductPageWindow(DummyJsonClient client, ProductAdapter adapter, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.client = client;
+        this.adapter = adapter;
+        this.pageSize = pageSize;
+    }
+
+    public ProductPageWindow setWindowPages(int windowPages) {
+        this.windowPages = Math.max(0, windowPages);
+        return this;
+    }
+
+    /**
+     * Work to do on restored items before they reach the adapter (e.g. text
+     * shaping); runs on the background thread that mapped them
+     */
+    public ProductPageWindow setItemPreparer(Consumer<List<ProductItem>> itemPreparer) {
+        this.itemPreparer = itemPreparer != null ? itemPreparer : items -> {};
+        return this;
+    }
+
+    /**
+     * Add a freshly loaded page. Page 0 replaces the list; later pages must
+     * arrive in order and are appended.
+     */
+    public void submitPage(int page, List<ProductItem> items) {
+        if (page == 0) {
+            reset();
+            adapter.updateProducts(items, this::scheduleUpdate);
+        } else if (page == pageIds.size()) {
+            adapter.addProducts(items, this::scheduleUpdate);
+        } else {
+            return; // Out of order (superseded load)
+        }
+
+        int[] ids = new int[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = items.get(i).getId();
+        }
+        pageIds.add(ids);
+        materialized.set(page);
+    }
+
+    /**
+     * Report the visible adapter range; paging work is posted so adapter
+     * notifications never run inside a scroll callback.
+     */
+    public void onViewportChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        if (firstVisiblePosition < 0 || lastVisiblePosition < firstVisiblePosition) {
+            return;
+        }
+        firstVisible = firstVisiblePosition;
+        lastVisible = lastVisiblePosition;
+        scheduleUpdate();
+    }
+
+    public void reset() {
+        generation++;
+        pageIds.clear();
+        materialized.clear();
+        restoring.clear();
+        mainHandler.removeCallbacks(updateWindowTask);
+        updateScheduled = false;
+    }
+
+    /**
+     * Number of pages currently holding real items (for diagnostics)
+     */
+    public int getMaterializedPageCount() {
+        return materialized.cardinality();
+    }
+
+    private void scheduleUpdate() {
+        if (!updateScheduled) {
+            updateScheduled = true;
+            mainHandler.post(updateWindowTask);
+        }
+    }
+
+    private void updateWindow() {
+        int firstPage = firstVisible / pageSize - windowPages;
+        int lastPage = lastVisible / pageSize + windowPages;
+
+        for (int page = 0; page < pageIds.size(); page++) {
+            boolean inWindow = page >= firstPage && page <= lastPage;
+            if (inWindow && !materialized.get(page) && !restoring.get(page)) {
+                restore(page);
+            } else if (!inWindow && materialized.get(page)) {
+                evict(page);
+            }
+        }
+    }
+
+    private void evict(int page) {
+        int start = page * pageSize;
+        int[] ids = pageIds.get(page);
+        if (!matchesAdapter(start, ids)) {
+            return;
+        }
+
+        List<ProductItem> placeholders = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            placeholders.add(ProductItem.placeholder(ids[i], adapter.getMeasuredHeight(start + i)));
+        }
+        adapter.replaceRange(start, placeholders, null);
+        materialized.clear(page);
+    }
+
+    private void restore(int page) {
+        final int start = page * pageSize;
+        final int[] ids = pageIds.get(page);
+        final int restoreGeneration = generation;
+        restoring.set(page);
+
+        // Cache lookup and ProductItem mapping happen off the main thread
+        CompletableFuture<List<ProductItem>> future = CompletableFuture
+            .supplyAsync(() -> toItems(ids, cachedProducts(ids)))
+            .thenCompose(items -> items != null
+                ? CompletableFuture.completedFuture(items)
+                : client.getProductsAsync(pageSize, start).thenApply(response -> toItems(ids, byId(response))))
+            .thenApply(items -> {
+                if (items != null) {
+                    itemPreparer.accept(items);
+                }
+                return items;
+            });
+
+        future.whenComplete((items, throwable) -> mainHandler.post(() -> {
+            if (restoreGeneration != generation) {
+                return;
+            }
+            restoring.clear(page);
+            if (items == null || !matchesAdapter(start, ids)) {
+                return; // Keep placeholders; retried on the next viewport change
+            }
+            materialized.set(page);
+            // The viewport may have moved on meanwhile
+            adapter.replaceRange(start, items, this::scheduleUpdate);
+        }));
+    }
+
+    private Map<Integer, Product> cachedProducts(int[] ids) {
+        List<Integer> keys = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            keys.add(id);
+        }
+        return client.getProductCache().getAll(keys);
+    }
+
+    private static Map<Integer, Product> byId(ProductsResponse response) {
+        Map<Integer, Product> products = new HashMap<>();
+        if (response != null && response.getProducts() != null) {
+            for (Product product : response.getProducts()) {
+                products.put(product.getId(), product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Items in page order, or null if any product is unavailable
+     */
+    private static List<ProductItem> toItems(int[] ids, Map<Integer, Product> products) {
+        List<ProductItem> items = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Product product = products.get(id);
+            if (product == null) {
+                return null;
+            }
+            items.add(new ProductItem(product));
+        }
+        return items;
+    }
+
+    private boolean matchesAdapter(int start, int[] ids) {
+        if (ids.length == 0) {
+            return false;
+        }
+        ProductItem first = adapter.getProduct(start);
+        ProductItem last = adapter.getProduct(start + ids.length - 1);
+        return first != null && last != null
+            && first.getId() == ids[0] && last.getId() == ids[ids.length - 1];
+    }
+}
@@ -1,6 +1,8 @@
 package dev.kadcom.commerce.models;
 
+import dev.kadcom.commerce.utils.ImageVariantSelector;
 import dev.kadcom.dummyjson.models.Product;
+import java.util.Objects;
 
 /**
  * UI model wrapper for Product data
@@ -11,66 +13,123 @@ public class ProductItem {
     private final Product product;
     private final String formattedPrice;
     private final String formattedDiscount;
+    private final String formattedDiscountedPrice;
+    private final String formattedRating;
+    private final String brandLabel;
     private final boolean hasDiscount;
     
+    // Placeholder state (product == null): only identity and laid-out height
+    private final int placeholderId;
+    private final int placeholderHeight;
+    
+    private int contentVersion; // Lazily computed, 0 until then
+    
     public ProductItem(Product product) {
         this.product = product;
+        this.placeholderId = 0;
+        this.placeholderHeight = 0;
         this.hasDiscount = product.getDiscountPercentage() > 0;
         
-        // Format price with currency
-        this.formattedPrice = String.format("$%.2f", product.getPrice());
+        // Format price with currency (exact fixed-point, no String.format)
+        this.formattedPrice = product.getPriceMoney().format();
         
         // Format discount if available
         if (hasDiscount) {
             this.formattedDiscount = String.format("-%.0f%%", product.getDiscountPercentage());
+            this.formattedDiscountedPrice = product.getDiscountedPriceMoney().format();
         } else {
             this.formattedDiscount = null;
+            this.formattedDiscountedPrice = formattedPrice;
         }
+        
+        // Everything a card draws is formatted once here, not per frame
+        this.formattedRating = String.format("%.1f★", product.getRating());
+        this.brandLabel = getBrand().toUpperCase();
+    }
+    
+    private ProductItem(int id, int height) {
+        this.product = null;
+        this.placeholderId = id;
+        this.placeholderHeight = height;
+        this.hasDiscount = false;
+        this.formattedPrice = null;
+        this.formattedDiscount = null;
+        this.formattedDiscountedPrice = null;
+        this.formattedRating = null;
+        this.brandLabel = null;
+    }
+    
+    /**
+     * Lightweight stand-in for an item paged out of memory. Keeps only the id
+     * (for stable ids and diffing) and the height it was laid out at, so
+     * scroll position does not jump. Getters that read the product throw
+     * {@link IllegalStateException}.
+     */
+    public static ProductItem placeholder(int id, int height) {
+        return new ProductItem(id, height);
+    }
+    
+    public boolean isPlaceholder() {
+        return product == null;
+    }
+    
+    /**
+     * Height in pixels the item last occupied, or 0 if unknown (placeholders only)
+     */
+    public int getPlaceholderHeight() {
+        return placeholderHeight;
+    }
+    
+    private Product requireProduct() {
+        if (product == null) {
+            throw new IllegalStateException("Placeholder item " + placeholderId + " has no product");
+        }
+        return product;
     }
     
     // Getters that delegate to the wrapped product
     public int getId() {
-        return product.getId();
+        return product != null ? product.getId() : placeholderId;
     }
     
     public String getTitle() {
-        return product.getTitle();
+        return requireProduct().getTitle();
     }
     
     public String getDescription() {
-        return product.getDescription();
+        return requireProduct().getDescription();
     }
     
     public String getCategory() {
-        return product.getCategory();
+        return requireProduct().getCategory();
     }
     
     public double getPrice() {
-        return product.getPrice();
+        return requireProduct().getPrice();
     }
     
     public double getDiscountPercentage() {
-        return product.getDiscountPercentage();
+        return requireProduct().getDiscountPercentage();
     }
     
     public double getRating() {
-        return product.getRating();
+        return requireProduct().getRating();
     }
     
     public int getStock() {
-        return product.getStock();
+        return requireProduct().getStock();
     }
     
     public String getBrand() {
-        return product.getBrand().orElse("Unknown");
+        return requireProduct().getBrand().orElse("Unknown");
     }
     
     public String getThumbnail() {
-        return product.getThumbnail().orElse("");
+        return requireProduct().getThumbnail().orElse("");
     }
     
     public String[] getImages() {
-        return product.getImages().toArray(new String[0]);
+        return requireProduct().getImages().toArray(new String[0]);
     }
     
     // UI-specific getters
@@ -87,13 +146,21 @@ public class ProductItem {
     }
     
     public String getFormattedRating() {
-        return String.format("%.1f★", product.getRating());
+        return formattedRating;
+    }
+    
+    /**
+     * Brand as shown on product cards (upper case)
+     */
+    public String getBrandLabel() {
+        return brandLabel;
     }
     
     public String getStockStatus() {
-        if (product.getStock() > 10) {
+        int stock = requireProduct().getStock();
+        if (stock > 10) {
             return "In Stock";
-        } else if (product.getStock() > 0) {
+        } else if (stock > 0) {
             return "Low Stock";
         } else {
             return "Out of Stock";
@@ -101,11 +168,12 @@ public class ProductItem {
     }
     
     public boolean isInStock() {
-        return product.getStock() > 0;
+        return requireProduct().getStock() > 0;
     }
     
     /**
-     * Get the primary image URL for display
+     * Get the primary image URL for display: the full image, else the thumbnail.
+     * Prefer {@link #getImageUrl} for sized displays.
      */
     public String getPrimaryImageUrl() {
         String[] images = getImages();
@@ -115,15 +183,27 @@ public class ProductItem {
         return getThumbnail();
     }
     
+    /**
+     * Full-size image URL, or null if the product has none
+     */
+    public String getFullImageUrl() {
+        String[] images = getImages();
+        return images != null && images.length > 0 ? images[0] : null;
+    }
+    
+    /**
+     * Image URL for a display of the given pixel size: the thumbnail unless
+     * the size and the current network warrant the full image
+     */
+    public String getImageUrl(ImageVariantSelector selector, int displayWidth, int displayHeight) {
+        return selector.select(getThumbnail(), getFullImageUrl(), displayWidth, displayHeight);
+    }
+    
     /**
      * Get discounted price if applicable
      */
     public String getFormattedDiscountedPrice() {
-        if (hasDiscount) {
-            double discountedPrice = product.getDiscountedPrice();
-            return String.format("$%.2f", discountedPrice);
-        }
-        return formattedPrice;
+        return formattedDiscountedPrice;
     }
     
     /**
@@ -144,21 +224,61 @@ public class ProductItem {
         return product;
     }
     
+    /**
+     * Whether everything a product card renders is identical, ignoring identity
+     */
+    public boolean hasSameContent(ProductItem other) {
+        if (other == null) return false;
+        if (isPlaceholder() || other.isPlaceholder()) {
+            return isPlaceholder() && other.isPlaceholder()
+                && placeholderId == other.placeholderId
+                && placeholderHeight == other.placeholderHeight;
+        }
+        if (product == other.product) return true;
+        return getId() == other.getId()
+            && Objects.equals(getTitle(), other.getTitle())
+            && getBrand().equals(other.getBrand())
+            && formattedPrice.equals(other.formattedPrice)
+            && Objects.equals(formattedDiscount, other.formattedDiscount)
+            && getRating() == other.getRating()
+            && getStock() == other.getStock()
+            && Objects.equals(getThumbnail(), other.getThumbnail())
+            && Objects.equals(getFullImageUrl(), other.getFullImageUrl());
+    }
+    
+    /**
+     * Hash of everything {@link #hasSameContent} compares; changes when the
+     * product's displayed content does (used to key rendered cards)
+     */
+    public int getContentVersion() {
+        if (contentVersion == 0) {
+            int version = isPlaceholder()
+                ? Objects.hash(placeholderId, placeholderHeight)
+                : Objects.hash(getId(), getTitle(), getBrand(), formattedPrice, formattedDiscount,
+                    getRating(), getStock(), getThumbnail(), getFullImageUrl());
+            contentVersion = version != 0 ? version : 1;
+        }
+        return contentVersion;
+    }
+    
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         ProductItem that = (ProductItem) obj;
-        return product.getId() == that.product.getId();
+        return getId() == that.getId();
     }
     
     @Override
     public int hashCode() {
-        return Integer.hashCode(product.getId());
+        return Integer.hashCode(getId());
     }
     
     @Override
     public String toString() {
+        if (isPlaceholder()) {
+            return "ProductItem{id=" + placeholderId + ", placeholder}";
+        }
         return "ProductItem{" +
                 "id=" + getId() +
                 ", title='" + getTitle() + '\'' +
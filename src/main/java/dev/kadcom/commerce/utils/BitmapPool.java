@@ -0,0 +1,102 @@
+package dev.kadcom.commerce.utils;
+
+import android.graphics.Bitmap;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Size-bucketed pool of mutable bitmaps for {@code BitmapFactory.Options.inBitmap}
+ * reuse. Bitmaps are bucketed by allocation size; a request is served by the
+ * smallest pooled bitmap that is large enough, but never one more than
+ * {@link #MAX_OVERSIZE} times the needed bytes, to avoid pinning large
+ * allocations for small images. Bounded by total bytes; the largest buckets
+ * are dropped first when over budget.
+ */
+public class BitmapPool {
+
+    private static final int MAX_OVERSIZE = 4;
+
+    private final TreeMap<Integer, ArrayDeque<Bitmap>> buckets = new TreeMap<>();
+    private long maxBytes;
+    private long currentBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    public BitmapPool(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Offer a bitmap nobody references any more. Immutable or recycled
+     * bitmaps are ignored; so is everything once the pool is full.
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        int bytes = bitmap.getAllocationByteCount();
+        if (bytes > maxBytes) {
+            return;
+        }
+        ArrayDeque<Bitmap> bucket = buckets.get(bytes);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets.put(bytes, bucket);
+        }
+        bucket.push(bitmap);
+        currentBytes += bytes;
+        trimToSize(maxBytes);
+    }
+
+    /**
+     * Take a bitmap whose allocation can hold {@code requiredBytes}, or null
+     */
+    public synchronized Bitmap get(int requiredBytes) {
+        Map.Entry<Integer, ArrayDeque<Bitmap>> entry = buckets.ceilingEntry(requiredBytes);
+        if (entry == null || entry.getKey() > (long) requiredBytes * MAX_OVERSIZE) {
+            misses++;
+            return null;
+        }
+        Bitmap bitmap = entry.getValue().pop();
+        if (entry.getValue().isEmpty()) {
+            buckets.remove(entry.getKey());
+        }
+        currentBytes -= entry.getKey();
+        hits++;
+        return bitmap;
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        trimToSize(this.maxBytes);
+    }
+
+    public synchronized void trimToSize(long targetBytes) {
+        while (currentBytes > targetBytes && !buckets.isEmpty()) {
+            Map.Entry<Integer, ArrayDeque<Bitmap>> largest = buckets.lastEntry();
+            Bitmap bitmap = largest.getValue().pop();
+            if (largest.getValue().isEmpty()) {
+                buckets.remove(largest.getKey());
+            }
+            currentBytes -= largest.getKey();
+            bitmap.recycle();
+        }
+    }
+
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,389 @@
+package dev.kadcom.commerce.utils;
+
+import android.util.Log;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Size-bounded, journaled LRU cache of encoded image bytes on disk, keyed by URL.
+ * <p>
+ * Each entry is one file named by the URL's hash. Writes go to a temporary
+ * file that is synced and renamed before a {@code CLEAN} record (length and
+ * CRC32) is appended to the journal, so a crash mid-write leaves only an
+ * orphan that is deleted on the next open. Reads are validated against the
+ * recorded length and checksum; corrupt entries are dropped.
+ * <p>
+ * All methods do disk I/O and must not be called on the main thread.
+ */
+public class DiskImageCache {
+
+    private static final String TAG = "DiskImageCache";
+    private static final String JOURNAL = "journal";
+    private static final String JOURNAL_TMP = "journal.tmp";
+    private static final String JOURNAL_HEADER = "dev.kadcom.commerce.DiskImageCache 1";
+    private static final String ENTRY_SUFFIX = ".img";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String CLEAN = "CLEAN";
+    private static final String READ = "READ";
+    private static final String REMOVE = "REMOVE";
+    private static final int REBUILD_THRESHOLD = 2000;
+
+    private final File directory;
+    private final long maxBytes;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long size = 0;
+    private int redundantOps = 0;
+    private Writer journalWriter;
+
+    private DiskImageCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Open (or create) the cache in {@code directory}, recovering from the journal
+     */
+    public static DiskImageCache open(File directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create cache directory " + directory);
+        }
+        DiskImageCache cache = new DiskImageCache(directory, maxBytes);
+        cache.readJournal();
+        cache.deleteOrphans();
+        cache.rebuildJournal();
+        cache.trimToSize();
+        return cache;
+    }
+
+    /**
+     * Cached bytes for {@code url}, or null on a miss or a failed checksum
+     */
+    public synchronized byte[] get(String url) {
+        String key = keyFor(url);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        byte[] data;
+        try {
+            data = readFully(entryFile(key), entry.length);
+        } catch (IOException e) {
+            data = null;
+        }
+        if (data == null || checksum(data) != entry.crc) {
+            Log.w(TAG, "Dropping corrupt entry " + key);
+            removeEntry(key);
+            return null;
+        }
+
+        appendJournal(READ + ' ' + key);
+        redundantOps++;
+        rebuildIfNeeded();
+        return data;
+    }
+
+    public void put(String url, byte[] data) {
+        if (data == null || data.length == 0) {
+            return;
+        }
+        put(url, new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Stream {@code data} into the cache, checksumming as it is written. The
+     * stream is consumed and closed; entries larger than the cache are discarded.
+     */
+    public synchronized void put(String url, InputStream data) {
+        String key = keyFor(url);
+        File tmp = new File(directory, key + TMP_SUFFIX);
+        CRC32 crc = new CRC32();
+        long length = 0;
+        try (InputStream in = data) {
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    length += read;
+                    if (length > maxBytes) {
+                        break;
+                    }
+                    crc.update(chunk, 0, read);
+                    out.write(chunk, 0, read);
+                }
+                out.getFD().sync();
+            }
+            if (length == 0 || length > maxBytes) {
+                tmp.delete();
+                return;
+            }
+            File target = entryFile(key);
+            if (!tmp.renameTo(target)) {
+                throw new IOException("Rename failed for " + target);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write entry " + key, e);
+            tmp.delete();
+            return;
+        }
+
+        Entry previous = entries.put(key, new Entry(length, crc.getValue()));
+        if (previous != null) {
+            size -= previous.length;
+            redundantOps++;
+        }
+        size += length;
+        appendJournal(CLEAN + ' ' + key + ' ' + length + ' ' + crc.getValue());
+        trimToSize();
+        rebuildIfNeeded();
+    }
+
+    public synchronized void remove(String url) {
+        removeEntry(keyFor(url));
+        rebuildIfNeeded();
+    }
+
+    /**
+     * Delete every entry, keeping the cache usable
+     */
+    public synchronized void clear() {
+        for (String key : entries.keySet()) {
+            entryFile(key).delete();
+        }
+        entries.clear();
+        size = 0;
+        try {
+            rebuildJournal();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to reset journal", e);
+        }
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    // ============ JOURNAL ============
+
+    private void readJournal() {
+        File journal = new File(directory, JOURNAL);
+        if (!journal.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(journal), StandardCharsets.UTF_8))) {
+            if (!JOURNAL_HEADER.equals(reader.readLine())) {
+                return; // Unknown format: start empty, orphans are deleted below
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ");
+                if (parts.length == 4 && CLEAN.equals(parts[0])) {
+                    Entry previous = entries.put(parts[1],
+                        new Entry(Long.parseLong(parts[2]), Long.parseLong(parts[3])));
+                    if (previous != null) {
+                        size -= previous.length;
+                    }
+                    size += Long.parseLong(parts[2]);
+                } else if (parts.length == 2 && READ.equals(parts[0])) {
+                    entries.get(parts[1]); // Touch for LRU order
+                } else if (parts.length == 2 && REMOVE.equals(parts[0])) {
+                    Entry removed = entries.remove(parts[1]);
+                    if (removed != null) {
+                        size -= removed.length;
+                    }
+                }
+                // Anything else is a torn final line from a crash; ignore it
+            }
+        } catch (IOException | NumberFormatException e) {
+            Log.w(TAG, "Journal truncated, keeping entries read so far", e);
+        }
+    }
+
+    /**
+     * Delete temp files, files not in the journal, and entries whose file is missing or short
+     */
+    private void deleteOrphans() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.equals(JOURNAL)) {
+                    continue;
+                }
+                if (!name.endsWith(ENTRY_SUFFIX)
+                        || !entries.containsKey(name.substring(0, name.length() - ENTRY_SUFFIX.length()))) {
+                    file.delete();
+                }
+            }
+        }
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (entryFile(entry.getKey()).length() != entry.getValue().length) {
+                entryFile(entry.getKey()).delete();
+                size -= entry.getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Rewrite the journal as one CLEAN line per entry in LRU order, atomically
+     */
+    private void rebuildJournal() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.close();
+            journalWriter = null;
+        }
+        File tmp = new File(directory, JOURNAL_TMP);
+        try (FileOutputStream out = new FileOutputStream(tmp);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(JOURNAL_HEADER);
+            writer.write('\n');
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writer.write(CLEAN + ' ' + entry.getKey() + ' ' + entry.getValue().length + ' ' + entry.getValue().crc);
+                writer.write('\n');
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+        File journal = new File(directory, JOURNAL);
+        if (!tmp.renameTo(journal)) {
+            throw new IOException("Cannot replace journal");
+        }
+        journalWriter = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(journal, true), StandardCharsets.UTF_8));
+        redundantOps = 0;
+    }
+
+    private void rebuildIfNeeded() {
+        if (redundantOps >= REBUILD_THRESHOLD && redundantOps >= entries.size()) {
+            try {
+                rebuildJournal();
+            } catch (IOException e) {
+                Log.w(TAG, "Journal rebuild failed", e);
+            }
+        }
+    }
+
+    private void appendJournal(String record) {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.write(record);
+            journalWriter.write('\n');
+            journalWriter.flush();
+        } catch (IOException e) {
+            Log.w(TAG, "Journal write failed", e);
+        }
+    }
+
+    // ============ ENTRIES ============
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (size > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            entryFile(eldest.getKey()).delete();
+            size -= eldest.getValue().length;
+            iterator.remove();
+            appendJournal(REMOVE + ' ' + eldest.getKey());
+            redundantOps++;
+        }
+    }
+
+    private void removeEntry(String key) {
+        Entry removed = entries.remove(key);
+        entryFile(key).delete();
+        if (removed != null) {
+            size -= removed.length;
+            appendJournal(REMOVE + ' ' + key);
+            redundantOps++;
+        }
+    }
+
+    private File entryFile(String key) {
+        return new File(directory, key + ENTRY_SUFFIX);
+    }
+
+    private static byte[] readFully(File file, long expectedLength) throws IOException {
+        if (file.length() != expectedLength) {
+            return null;
+        }
+        byte[] data = new byte[(int) expectedLength];
+        try (FileInputStream in = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < data.length) {
+                int read = in.read(data, offset, data.length - offset);
+                if (read < 0) {
+                    return null;
+                }
+                offset += read;
+            }
+        }
+        return data;
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    /**
+     * File-name-safe key: hex SHA-1 of the URL
+     */
+    static String keyFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        final long length;
+        final long crc;
+
+        Entry(long length, long crc) {
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+}
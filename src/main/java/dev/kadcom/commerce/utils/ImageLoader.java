@@ -1,37 +1,128 @@
 package dev.kadcom.commerce.utils;
 
+import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
 import android.util.Log;
-import android.util.LruCache;
+import dev.kadcom.cache.CacheTrace;
+import dev.kadcom.cache.WTinyLfuCache;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * High-performance image loader with LRU cache and OkHttp async loading
+ * High-performance image loader with a W-TinyLFU memory cache (20% LRU window,
+ * see CACHE_WINDOW_FRACTION) and OkHttp async loading
  * Optimized for smooth RecyclerView scrolling
+ * Lookup order: memory cache, then disk cache (if enabled), then network.
  */
 public class ImageLoader {
     
     private static final String TAG = "ImageLoader";
+    private static final String DISK_CACHE_DIR = "images";
+    private static final long DISK_CACHE_SIZE = 50L * 1024 * 1024; // 50MB
+    
+    // Memory cache keys are "url@bucket", bucket = target size rounded up to a power of two
+    private static final int MIN_SIZE_BUCKET = 64;
+    private static final int MAX_SIZE_BUCKET = 4096;
+    
+    // Concurrent downloads admitted by the scheduler
+    private static final int MAX_RUNNING_DOWNLOADS = 4;
+    
+    // Trace counter tracks (API 29+)
+    private static final String COUNTER_IN_FLIGHT = "ImageLoader.inFlight";
+    private static final String COUNTER_QUEUED = "ImageLoader.queuedDownloads";
+    private static final String COUNTER_CACHE_KB = "ImageLoader.cacheKB";
+    
+    // Memory cache policy: the sketch is sized for entries of about this many KB,
+    // and a 20% LRU window, overriding WTinyLfuCache's 1% default, keeps
+    // just-scrolled-past images for scroll-back (the 1% default loses to plain
+    // LRU on grid scroll traces)
+    private static final int EXPECTED_ENTRY_KB = 64;
+    private static final float CACHE_WINDOW_FRACTION = 0.2f;
+    
+    // Prefetching stops above these fractions of the memory cache and heap
+    private static final float PREFETCH_CACHE_FILL = 0.9f;
+    private static final float PREFETCH_HEAP_FILL = 0.8f;
+    
+    /**
+     * Download priority, most important first
+     */
+    public enum Priority {
+        /** On screen now */
+        VISIBLE,
+        /** Bound but not yet (or no longer) on screen */
+        NEAR,
+        /** Speculative warm-up */
+        PREFETCH
+    }
+    
     private static ImageLoader instance;
     
-    // Memory cache using LRU eviction
-    private final LruCache<String, Bitmap> memoryCache;
+    // Memory cache in KB; W-TinyLFU so one fling through the catalogue does
+    // not flush the images the user keeps coming back to
+    private final WTinyLfuCache<String, Bitmap> memoryCache;
     
-    // Track ongoing downloads to prevent duplicates
-    private final ConcurrentHashMap<String, Call> activeDownloads;
+    // Persistent tier, opened lazily on the disk thread
+    private final ExecutorService diskExecutor;
+    private volatile File diskCacheDir;
+    private DiskImageCache diskCache;
+    private boolean diskCacheFailed = false;
+    
+    // In-flight loads by cache key; each may have several subscribers
+    private final Map<String, PendingLoad> activeLoads;
+    
+    // Orders downloads by priority; lower priorities wait while flinging
+    private final ImageScheduler<PendingLoad> downloadScheduler;
+    
+    // CPU-bound decode stage, separate from OkHttp's callback threads
+    private final ThreadPoolExecutor decodeExecutor;
+    
+    // Per-stage queue depth and timings
+    private final StageMetrics networkMetrics = new StageMetrics("network");
+    private final StageMetrics diskMetrics = new StageMetrics("disk");
+    private final StageMetrics decodeMetrics = new StageMetrics("decode");
+    
+    // Per-tier outcome counters, see getStats()
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong memoryMisses = new AtomicLong();
+    private final AtomicLong downscaleHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong diskMisses = new AtomicLong();
+    private final AtomicLong networkLoads = new AtomicLong();
+    private final AtomicLong networkFailures = new AtomicLong();
+    private final AtomicLong decodeFailures = new AtomicLong();
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    // Memory cache lookups being recorded for offline replay, or null
+    private volatile CacheTrace cacheTrace;
     
     // OkHttp client for async networking
     private final OkHttpClient httpClient;
@@ -39,19 +130,41 @@ public class ImageLoader {
     // Handler for UI thread callbacks
     private final Handler mainHandler;
     
+    // Evicted bitmaps are reused as decode targets once no view displays them
+    private final BitmapPool bitmapPool;
+    private final Map<Bitmap, Integer> displayRefs = new IdentityHashMap<>();
+    private final Set<Bitmap> awaitingRelease = Collections.newSetFromMap(new IdentityHashMap<Bitmap, Boolean>());
+    
+    // Unpressured sizes; the MemoryGovernor scales both by its budget
+    private final int fullCacheSizeKb;
+    private final long fullPoolBytes;
+    private volatile float memoryBudget = 1f;
+    
+    // API 26+: decode straight into GPU memory instead of the Java heap
+    private volatile boolean hardwareBitmaps = false;
+    
     private ImageLoader() {
         // Calculate cache size (1/8 of available memory)
         final int maxMemory = (int) (Runtime.getRuntime().maxMemory() / 1024);
         final int cacheSize = maxMemory / 8;
+        fullCacheSizeKb = cacheSize;
         
-        memoryCache = new LruCache<String, Bitmap>(cacheSize) {
-            @Override
-            protected int sizeOf(String key, Bitmap bitmap) {
-                return bitmap.getByteCount() / 1024; // Size in KB
-            }
-        };
+        memoryCache = new WTinyLfuCache<String, Bitmap>(cacheSize,
+                Math.max(64, cacheSize / EXPECTED_ENTRY_KB), CACHE_WINDOW_FRACTION,
+                (key, bitmap) -> weightKb(bitmap))
+            .setRemovalListener((key, bitmap, evicted) -> {
+                if (evicted) {
+                    evictions.incrementAndGet();
+                }
+                recycleWhenUnused(bitmap);
+            });
+        
+        // Pool gets 1/32 of available memory
+        fullPoolBytes = Runtime.getRuntime().maxMemory() / 32;
+        bitmapPool = new BitmapPool(fullPoolBytes);
         
-        activeDownloads = new ConcurrentHashMap<>();
+        activeLoads = new HashMap<>();
+        downloadScheduler = new ImageScheduler<>(MAX_RUNNING_DOWNLOADS, this::startDownload);
         
         // Configure OkHttp for image loading
         httpClient = new OkHttpClient.Builder()
@@ -60,6 +173,54 @@ public class ImageLoader {
             .build();
             
         mainHandler = new Handler(Looper.getMainLooper());
+        
+        diskExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "ImageLoader-disk");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        // Leave a core for the UI thread and RenderThread
+        int decodeThreads = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger decodeThreadCount = new AtomicInteger();
+        decodeExecutor = new ThreadPoolExecutor(decodeThreads, decodeThreads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), runnable -> {
+                Thread thread = new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, "ImageLoader-decode-" + decodeThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        decodeExecutor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Enable the on-disk cache under the app's cache directory. Safe to call
+     * repeatedly; the cache itself is opened on first use, off the main thread.
+     */
+    public void enableDiskCache(Context context) {
+        if (diskCacheDir == null) {
+            diskCacheDir = new File(context.getApplicationContext().getCacheDir(), DISK_CACHE_DIR);
+        }
+    }
+    
+    /**
+     * Disk cache, opening it if needed; null if disabled or unusable. Disk thread only.
+     */
+    private synchronized DiskImageCache getDiskCache() {
+        if (diskCache == null && diskCacheDir != null && !diskCacheFailed) {
+            try {
+                diskCache = DiskImageCache.open(diskCacheDir, DISK_CACHE_SIZE);
+            } catch (IOException e) {
+                Log.w(TAG, "Disk cache unavailable", e);
+                diskCacheFailed = true;
+            }
+        }
+        return diskCache;
     }
     
     public static synchronized ImageLoader getInstance() {
@@ -70,125 +231,755 @@ public class ImageLoader {
     }
     
     /**
-     * Load image asynchronously with callback using OkHttp
+     * Load image asynchronously with callback using OkHttp, at {@link Priority#VISIBLE}
      */
-    public void loadImage(String url, int targetWidth, int targetHeight, ImageLoadCallback callback) {
+    public ImageRequest loadImage(String url, int targetWidth, int targetHeight, ImageLoadCallback callback) {
+        return loadImage(url, targetWidth, targetHeight, Priority.VISIBLE, callback);
+    }
+    
+    /**
+     * Load image asynchronously with callback using OkHttp. Concurrent loads of
+     * the same URL share one disk read / download and every caller receives the
+     * result; the download runs at the highest priority among its callers.
+     * Callbacks run on the main thread; cache hits are delivered synchronously.
+     * Cancel the returned request when the view no longer wants it.
+     */
+    public ImageRequest loadImage(String url, int targetWidth, int targetHeight, Priority priority,
+                                  ImageLoadCallback callback) {
+        ImageRequest request = new ImageRequest(url, priority, callback);
         if (url == null || url.isEmpty()) {
-            mainHandler.post(() -> callback.onError("Invalid URL"));
-            return;
+            mainHandler.post(() -> request.deliverError("Invalid URL"));
+            return request;
         }
         
+        ImageTrace.begin(ImageTrace.LOAD);
+        try {
+            return startLoad(request, url, targetWidth, targetHeight, priority);
+        } finally {
+            ImageTrace.end();
+        }
+    }
+    
+    private ImageRequest startLoad(ImageRequest request, String url, int targetWidth, int targetHeight,
+                                   Priority priority) {
         // Check cache first
-        Bitmap cached = getBitmapFromCache(url);
-        if (cached != null && !cached.isRecycled()) {
+        int bucket = sizeBucket(targetWidth, targetHeight);
+        String key = cacheKey(url, bucket);
+        Bitmap cached = retainFromCache(key);
+        if (cached != null) {
             // Cache hit - return immediately
-            Log.d(TAG, "Cache hit for: " + url.substring(Math.max(0, url.length() - 20)));
-            callback.onSuccess(cached);
-            return;
+            memoryHits.incrementAndGet();
+            request.callback.onSuccess(cached);
+            return request;
         }
+        memoryMisses.incrementAndGet();
         
-        // Check if already downloading
-        Call existingCall = activeDownloads.get(url);
-        if (existingCall != null && !existingCall.isCanceled()) {
-            // Request already in progress, could implement callback chaining here
-            return;
+        PendingLoad load;
+        synchronized (activeLoads) {
+            load = activeLoads.get(key);
+            if (load != null) {
+                // Already loading: subscribe to the in-flight result
+                load.subscribers.add(request);
+                request.load = load;
+                updatePriority(load);
+                return request;
+            }
+            load = new PendingLoad(url, key, targetWidth, targetHeight);
+            load.subscribers.add(request);
+            load.priority = priority;
+            request.load = load;
+            activeLoads.put(key, load);
+            ImageTrace.counter(COUNTER_IN_FLIGHT, activeLoads.size());
         }
         
+        // A higher-resolution copy already in memory beats any disk or network trip
+        Bitmap larger = findCachedAbove(url, bucket);
+        if (larger != null) {
+            downscaleHits.incrementAndGet();
+            downscaleFrom(load, larger);
+        } else if (diskCacheDir == null) {
+            loadFromNetwork(load);
+        } else {
+            loadFromDisk(load);
+        }
+        return request;
+    }
+    
+    private void downscaleFrom(PendingLoad load, Bitmap source) {
+        final long queuedAt = decodeMetrics.onQueued();
+        decodeExecutor.execute(() -> {
+            if (load.isCancelled()) {
+                decodeMetrics.onDropped();
+                releaseBitmap(source);
+                return;
+            }
+            long startedAt = decodeMetrics.onStart(queuedAt);
+            ImageTrace.begin(ImageTrace.DOWNSCALE);
+            // Cover the target, like decode sampling would; always a new bitmap,
+            // since each cache entry must own its bitmap for pooling
+            float scale = Math.min(1f, Math.max((float) load.targetWidth / source.getWidth(),
+                (float) load.targetHeight / source.getHeight()));
+            Bitmap bitmap;
+            try {
+                bitmap = scale > 0 && scale < 1
+                    ? Bitmap.createScaledBitmap(source,
+                        Math.max(1, Math.round(source.getWidth() * scale)),
+                        Math.max(1, Math.round(source.getHeight() * scale)), true)
+                    : source.copy(source.getConfig(), true);
+            } finally {
+                releaseBitmap(source);
+                decodeMetrics.onFinish(startedAt);
+                ImageTrace.end();
+            }
+            complete(load, bitmap, bitmap != null ? null : "Failed to scale image");
+        });
+    }
+    
+    private void loadFromDisk(PendingLoad load) {
+        final long queuedAt = diskMetrics.onQueued();
+        diskExecutor.execute(() -> {
+            if (load.isCancelled()) {
+                diskMetrics.onDropped();
+                return;
+            }
+            long startedAt = diskMetrics.onStart(queuedAt);
+            ImageTrace.begin(ImageTrace.DISK_READ);
+            DiskImageCache disk = getDiskCache();
+            byte[] imageBytes = disk != null ? disk.get(load.url) : null;
+            ImageTrace.end();
+            diskMetrics.onFinish(startedAt);
+            
+            if (imageBytes == null) {
+                diskMisses.incrementAndGet();
+                loadFromNetwork(load);
+                return;
+            }
+            diskHits.incrementAndGet();
+            decode(load, () -> new ByteArrayInputStream(imageBytes), () -> {
+                // Valid checksum but undecodable; refetch. This runs on the decode
+                // pool, so the entry is dropped on the disk thread, queued ahead
+                // of the refetched bytes' write
+                diskExecutor.execute(() -> disk.remove(load.url));
+                loadFromNetwork(load);
+            });
+        });
+    }
+    
+    private void loadFromNetwork(PendingLoad load) {
+        synchronized (activeLoads) {
+            if (load.isCancelled()) {
+                return;
+            }
+            load.queued = true;
+            load.networkQueuedAt = networkMetrics.onQueued();
+            downloadScheduler.enqueue(load, load.priority);
+            ImageTrace.counter(COUNTER_QUEUED, networkMetrics.getQueueDepth());
+        }
+    }
+    
+    /**
+     * Scheduler callback: the load was admitted and holds a download slot.
+     * The OkHttp thread only transfers bytes; decoding happens on the decode pool.
+     */
+    private void startDownload(PendingLoad load) {
+        final String url = load.url;
+        
         // Start new OkHttp request
         Request request = new Request.Builder()
             .url(url)
             .build();
             
         Call call = httpClient.newCall(request);
-        activeDownloads.put(url, call);
+        final long startedAt;
+        synchronized (activeLoads) {
+            load.queued = false;
+            load.holdsSlot = true;
+            startedAt = networkMetrics.onStart(load.networkQueuedAt);
+            if (load.isCancelled()) {
+                networkMetrics.onFinish(startedAt);
+                releaseSlot(load);
+                return;
+            }
+            load.call = call;
+        }
+        networkLoads.incrementAndGet();
+        final int traceCookie = System.identityHashCode(load);
+        ImageTrace.beginAsync(ImageTrace.DOWNLOAD, traceCookie);
         
         call.enqueue(new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                activeDownloads.remove(url);
-                mainHandler.post(() -> callback.onError("Network error: " + e.getMessage()));
+                networkMetrics.onFinish(startedAt);
+                ImageTrace.endAsync(ImageTrace.DOWNLOAD, traceCookie);
+                if (!call.isCanceled()) {
+                    networkFailures.incrementAndGet();
+                }
+                complete(load, null, "Network error: " + e.getMessage());
             }
             
             @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                activeDownloads.remove(url);
-                
-                if (!response.isSuccessful()) {
-                    mainHandler.post(() -> callback.onError("HTTP error: " + response.code()));
-                    response.close();
-                    return;
-                }
-                
+            public void onResponse(Call call, Response response) {
+                final Buffer encoded = new Buffer();
                 try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful()) {
+                        throw new IOException("HTTP error: " + response.code());
+                    }
                     if (body == null) {
-                        mainHandler.post(() -> callback.onError("Empty response body"));
-                        return;
+                        throw new IOException("Empty response body");
                     }
-                    
-                    // Read bytes to enable multiple passes
-                    byte[] imageBytes = body.bytes();
-                    
-                    // Decode bitmap on background thread
-                    Bitmap bitmap = decodeBitmap(imageBytes, targetWidth, targetHeight);
-                    
-                    if (bitmap != null) {
-                        addBitmapToCache(url, bitmap);
-                        Log.d(TAG, "Image loaded and cached: " + url.substring(Math.max(0, url.length() - 20)));
-                        mainHandler.post(() -> callback.onSuccess(bitmap));
-                    } else {
-                        Log.w(TAG, "Failed to decode image: " + url.substring(Math.max(0, url.length() - 20)));
-                        mainHandler.post(() -> callback.onError("Failed to decode image"));
+                    // Segmented buffer straight from the socket; no contiguous byte[] copy
+                    body.source().readAll(encoded);
+                } catch (IOException e) {
+                    networkMetrics.onFinish(startedAt);
+                    ImageTrace.endAsync(ImageTrace.DOWNLOAD, traceCookie);
+                    if (!call.isCanceled()) {
+                        networkFailures.incrementAndGet();
                     }
-                } catch (Exception e) {
-                    mainHandler.post(() -> callback.onError("Decoding error: " + e.getMessage()));
+                    complete(load, null, e.getMessage());
+                    return;
                 }
+                
+                // Transfer done: free the slot before the CPU-bound work
+                bytesDownloaded.addAndGet(encoded.size());
+                networkMetrics.onTransferred(encoded.size(), System.nanoTime() - startedAt);
+                networkMetrics.onFinish(startedAt);
+                ImageTrace.endAsync(ImageTrace.DOWNLOAD, traceCookie);
+                synchronized (activeLoads) {
+                    releaseSlot(load);
+                }
+                
+                // Persist the encoded bytes without delaying the decode; the copy
+                // shares segments, so each thread owns its own Buffer
+                if (diskCacheDir != null) {
+                    final Buffer diskCopy = encoded.copy();
+                    diskExecutor.execute(() -> {
+                        DiskImageCache disk = getDiskCache();
+                        if (disk != null) {
+                            ImageTrace.begin(ImageTrace.DISK_WRITE);
+                            disk.put(url, diskCopy.inputStream());
+                            ImageTrace.end();
+                        }
+                    });
+                }
+                
+                decode(load, () -> encoded.peek().inputStream(), () -> {
+                    decodeFailures.incrementAndGet();
+                    Log.w(TAG, "Failed to decode image: " + url.substring(Math.max(0, url.length() - 20)));
+                    complete(load, null, "Failed to decode image");
+                });
             }
         });
     }
     
     /**
-     * Get bitmap from memory cache
+     * Decode on the bounded decode pool, completing the load on success
      */
-    private Bitmap getBitmapFromCache(String url) {
-        return memoryCache.get(url);
+    private void decode(PendingLoad load, StreamSource source, Runnable onFailure) {
+        final long queuedAt = decodeMetrics.onQueued();
+        decodeExecutor.execute(() -> {
+            if (load.isCancelled()) {
+                decodeMetrics.onDropped();
+                return;
+            }
+            long startedAt = decodeMetrics.onStart(queuedAt);
+            ImageTrace.begin(ImageTrace.DECODE);
+            Bitmap bitmap = decodeBitmap(source, load.targetWidth, load.targetHeight);
+            ImageTrace.end();
+            decodeMetrics.onFinish(startedAt);
+            if (bitmap != null) {
+                complete(load, bitmap, null);
+            } else {
+                onFailure.run();
+            }
+        });
     }
     
     /**
-     * Add bitmap to memory cache
+     * Finish a load: cache the bitmap and fan the result out to every
+     * subscriber still attached
      */
-    private void addBitmapToCache(String url, Bitmap bitmap) {
-        if (getBitmapFromCache(url) == null && bitmap != null) {
-            memoryCache.put(url, bitmap);
+    private void complete(PendingLoad load, Bitmap bitmap, String error) {
+        final List<ImageRequest> subscribers;
+        synchronized (activeLoads) {
+            releaseSlot(load);
+            if (activeLoads.get(load.key) == load) {
+                activeLoads.remove(load.key);
+            }
+            ImageTrace.counter(COUNTER_IN_FLIGHT, activeLoads.size());
+            subscribers = new ArrayList<>(load.subscribers);
+            load.subscribers.clear();
         }
+        if (bitmap != null) {
+            // Each subscriber owns one reference until it calls releaseBitmap
+            synchronized (displayRefs) {
+                for (int i = 0; i < subscribers.size(); i++) {
+                    retain(bitmap);
+                }
+            }
+            if (!addBitmapToCache(load.key, bitmap)) {
+                recycleWhenUnused(bitmap); // Lost a race; the cached copy wins
+            }
+            ImageTrace.counter(COUNTER_CACHE_KB, memoryCache.weightedSize());
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        mainHandler.post(() -> {
+            for (ImageRequest subscriber : subscribers) {
+                if (bitmap != null) {
+                    subscriber.deliverSuccess(bitmap);
+                } else {
+                    subscriber.deliverError(error);
+                }
+            }
+        });
     }
     
     /**
-     * Cancel pending request for URL
+     * Detach one subscriber; the shared load is aborted once none remain
      */
-    public void cancelRequest(String url) {
-        Call call = activeDownloads.remove(url);
+    private void unsubscribe(ImageRequest request) {
+        Call call = null;
+        synchronized (activeLoads) {
+            PendingLoad load = request.load;
+            if (load == null || !load.subscribers.remove(request)) {
+                return;
+            }
+            if (!load.subscribers.isEmpty()) {
+                updatePriority(load);
+                return;
+            }
+            load.cancelled = true;
+            if (activeLoads.get(load.key) == load) {
+                activeLoads.remove(load.key);
+            }
+            if (load.queued) {
+                load.queued = false;
+                if (downloadScheduler.remove(load)) {
+                    networkMetrics.onDropped();
+                }
+            }
+            call = load.call;
+        }
         if (call != null && !call.isCanceled()) {
             call.cancel();
         }
     }
     
     /**
-     * Clear cache and cancel all pending requests
+     * Best lower-resolution bitmap already in memory for {@code url}, for
+     * showing instantly while the requested size loads; null if none
+     */
+    public Bitmap getCachedPreview(String url, int targetWidth, int targetHeight) {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        for (int bucket = sizeBucket(targetWidth, targetHeight) / 2; bucket >= MIN_SIZE_BUCKET; bucket /= 2) {
+            Bitmap bitmap = retainFromCache(cacheKey(url, bucket));
+            if (bitmap != null) {
+                return bitmap;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Smallest cached bitmap for {@code url} in a bucket above {@code bucket}
+     * that can be scaled on the CPU (not a hardware bitmap)
+     */
+    private Bitmap findCachedAbove(String url, int bucket) {
+        for (int larger = bucket * 2; larger <= MAX_SIZE_BUCKET; larger *= 2) {
+            Bitmap bitmap = retainFromCache(cacheKey(url, larger));
+            if (bitmap != null) {
+                if (!isHardware(bitmap)) {
+                    return bitmap;
+                }
+                releaseBitmap(bitmap);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Whether {@code bitmap} lives in graphics memory; such bitmaps can only be
+     * drawn on a hardware-accelerated canvas, never into a software one
+     */
+    public static boolean isHardware(Bitmap bitmap) {
+        return bitmap != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+            && bitmap.getConfig() == Bitmap.Config.HARDWARE;
+    }
+    
+    /**
+     * Decode new images as {@link Bitmap.Config#HARDWARE} on API 26+ (ignored
+     * below). Cuts heap use and per-frame texture uploads; callers must draw
+     * results only on hardware-accelerated canvases (see {@link #isHardware}).
+     * Bitmaps already cached keep their config.
+     */
+    public ImageLoader setHardwareBitmapsEnabled(boolean enabled) {
+        hardwareBitmaps = enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O;
+        return this;
+    }
+    
+    public boolean isHardwareBitmapsEnabled() {
+        return hardwareBitmaps;
+    }
+    
+    /**
+     * Power-of-two bucket covering the larger requested dimension
+     */
+    static int sizeBucket(int targetWidth, int targetHeight) {
+        int size = Math.max(targetWidth, targetHeight);
+        if (size <= MIN_SIZE_BUCKET) {
+            return MIN_SIZE_BUCKET;
+        }
+        if (size >= MAX_SIZE_BUCKET) {
+            return MAX_SIZE_BUCKET;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+    
+    private static String cacheKey(String url, int bucket) {
+        return url + '@' + bucket;
+    }
+    
+    /**
+     * Highest priority among the load's subscribers; re-queues it if waiting.
+     * Caller holds activeLoads.
+     */
+    private void updatePriority(PendingLoad load) {
+        Priority highest = Priority.PREFETCH;
+        for (ImageRequest subscriber : load.subscribers) {
+            if (subscriber.priority.ordinal() < highest.ordinal()) {
+                highest = subscriber.priority;
+            }
+        }
+        if (highest != load.priority) {
+            load.priority = highest;
+            if (load.queued) {
+                downloadScheduler.reprioritize(load, highest);
+            }
+        }
+    }
+    
+    /**
+     * Give back the load's download slot, once. Caller holds activeLoads.
+     */
+    private void releaseSlot(PendingLoad load) {
+        if (load.holdsSlot) {
+            load.holdsSlot = false;
+            downloadScheduler.finished();
+        }
+    }
+    
+    /**
+     * While flinging, only {@link Priority#VISIBLE} downloads are started;
+     * near-viewport and prefetch work waits until the list settles
+     */
+    public void setFlinging(boolean flinging) {
+        downloadScheduler.setFlinging(flinging);
+    }
+    
+    /**
+     * Warm the memory (and disk) cache for an image the user is about to
+     * reach, at {@link Priority#PREFETCH}. Returns null when it is already in
+     * memory; otherwise a request to cancel if the user changes direction.
+     * {@code onComplete} runs on the main thread once the load finished or failed.
+     */
+    public ImageRequest prefetch(String url, int targetWidth, int targetHeight, Runnable onComplete) {
+        // Peek: a prefetch is not a use and must not raise the entry's frequency
+        if (url == null || url.isEmpty()
+                || memoryCache.peek(cacheKey(url, sizeBucket(targetWidth, targetHeight))) != null) {
+            return null;
+        }
+        return loadImage(url, targetWidth, targetHeight, Priority.PREFETCH, new ImageLoadCallback() {
+            @Override
+            public void onSuccess(Bitmap bitmap) {
+                releaseBitmap(bitmap); // Nobody displays it yet; the cache keeps it
+                onComplete.run();
+            }
+            
+            @Override
+            public void onError(String error) {
+                onComplete.run();
+            }
+        });
+    }
+    
+    /**
+     * Whether speculative loads are affordable now: downloads are not
+     * backlogged, the memory cache has room to spare, and the heap is not
+     * close to its limit
+     */
+    public boolean hasPrefetchBudget() {
+        if (memoryBudget < 1f) {
+            return false; // Under memory pressure
+        }
+        if (networkMetrics.getQueueDepth() >= MAX_RUNNING_DOWNLOADS) {
+            return false;
+        }
+        if (memoryCache.weightedSize() > memoryCache.maxWeight() * PREFETCH_CACHE_FILL) {
+            return false; // Prefetching would evict what is on screen
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used < runtime.maxMemory() * PREFETCH_HEAP_FILL;
+    }
+    
+    /**
+     * Get bitmap from memory cache
+     */
+    private Bitmap getBitmapFromCache(String key) {
+        CacheTrace trace = cacheTrace;
+        if (trace != null) {
+            trace.recordLookup(key);
+        }
+        return memoryCache.get(key);
+    }
+    
+    /**
+     * Offer bitmap to the memory cache; false if an entry already existed.
+     * Admission may still reject it, in which case it is pooled once released.
+     */
+    private boolean addBitmapToCache(String key, Bitmap bitmap) {
+        if (bitmap == null) {
+            return false;
+        }
+        CacheTrace trace = cacheTrace;
+        if (trace != null) {
+            trace.recordWeight(key, weightKb(bitmap));
+        }
+        return memoryCache.putIfAbsent(key, bitmap) == null;
+    }
+    
+    /**
+     * Memory cache weight: size in KB
+     */
+    private static int weightKb(Bitmap bitmap) {
+        return Math.max(1, bitmap.getByteCount() / 1024);
+    }
+    
+    // ============ BITMAP REUSE ============
+    
+    /**
+     * Cache lookup that retains the hit, atomically with respect to eviction
+     */
+    private Bitmap retainFromCache(String key) {
+        synchronized (displayRefs) {
+            Bitmap bitmap = getBitmapFromCache(key);
+            if (bitmap == null || bitmap.isRecycled()) {
+                return null;
+            }
+            retain(bitmap);
+            return bitmap;
+        }
+    }
+    
+    private void retain(Bitmap bitmap) {
+        synchronized (displayRefs) {
+            Integer count = displayRefs.get(bitmap);
+            displayRefs.put(bitmap, count == null ? 1 : count + 1);
+        }
+    }
+    
+    /**
+     * Give back a bitmap received from {@link ImageLoadCallback#onSuccess} or
+     * {@link #getCachedPreview} once it is no longer displayed. Bitmaps
+     * already evicted from the cache then go to the pool for reuse.
+     */
+    public void releaseBitmap(Bitmap bitmap) {
+        if (bitmap == null) {
+            return;
+        }
+        synchronized (displayRefs) {
+            Integer count = displayRefs.get(bitmap);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                displayRefs.put(bitmap, count - 1);
+                return;
+            }
+            displayRefs.remove(bitmap);
+            if (awaitingRelease.remove(bitmap)) {
+                bitmapPool.put(bitmap);
+            }
+        }
+    }
+    
+    /**
+     * Pool a bitmap that left the cache, deferring while any view displays it
+     */
+    private void recycleWhenUnused(Bitmap bitmap) {
+        synchronized (displayRefs) {
+            if (displayRefs.containsKey(bitmap)) {
+                awaitingRelease.add(bitmap);
+            } else {
+                bitmapPool.put(bitmap);
+            }
+        }
+    }
+    
+    /**
+     * Cancel pending loads for URL (every size) for every subscriber
+     */
+    public void cancelRequest(String url) {
+        List<ImageRequest> subscribers = new ArrayList<>();
+        synchronized (activeLoads) {
+            for (PendingLoad load : activeLoads.values()) {
+                if (load.url.equals(url)) {
+                    subscribers.addAll(load.subscribers);
+                }
+            }
+        }
+        for (ImageRequest subscriber : subscribers) {
+            subscriber.cancel();
+        }
+    }
+    
+    /**
+     * Delete everything in the disk cache (the memory cache is untouched)
+     */
+    public void clearDiskCache() {
+        diskExecutor.execute(() -> {
+            DiskImageCache disk = getDiskCache();
+            if (disk != null) {
+                disk.clear();
+            }
+        });
+    }
+    
+    /**
+     * Scale the memory cache and bitmap pool to {@code fraction} of their
+     * normal size (0 empties both); evicted bitmaps still displayed are kept
+     * until their views release them
+     */
+    public void setMemoryBudget(float fraction) {
+        fraction = Math.max(0f, Math.min(1f, fraction));
+        memoryBudget = fraction;
+        // Shrink the pool first so bitmaps evicted below are not pooled over budget
+        bitmapPool.setMaxBytes((long) (fullPoolBytes * fraction));
+        if (fraction == 0f) {
+            memoryCache.evictAll();
+        }
+        memoryCache.resize(Math.max(1, (int) (fullCacheSizeKb * fraction)));
+    }
+    
+    /**
+     * Clear memory cache and cancel all pending requests; the disk cache is kept
      */
     public void clearCache() {
         memoryCache.evictAll();
+        bitmapPool.clear();
         
-        // Cancel all active downloads
-        for (Call call : activeDownloads.values()) {
-            if (!call.isCanceled()) {
-                call.cancel();
+        // Cancel all active loads
+        List<ImageRequest> subscribers = new ArrayList<>();
+        synchronized (activeLoads) {
+            for (PendingLoad load : activeLoads.values()) {
+                subscribers.addAll(load.subscribers);
             }
         }
-        activeDownloads.clear();
+        for (ImageRequest subscriber : subscribers) {
+            subscriber.cancel();
+        }
+    }
+    
+    public StageMetrics getNetworkMetrics() {
+        return networkMetrics;
+    }
+    
+    public StageMetrics getDiskMetrics() {
+        return diskMetrics;
+    }
+    
+    public StageMetrics getDecodeMetrics() {
+        return decodeMetrics;
+    }
+    
+    /**
+     * Snapshot of hit rates per tier, traffic, latency histograms, queue
+     * depths and bitmap memory. Cheap enough to poll from a debug overlay.
+     */
+    public ImageLoaderStats getStats() {
+        ImageLoaderStats stats = new ImageLoaderStats();
+        stats.memoryHits = memoryHits.get();
+        stats.memoryMisses = memoryMisses.get();
+        stats.downscaleHits = downscaleHits.get();
+        stats.diskHits = diskHits.get();
+        stats.diskMisses = diskMisses.get();
+        stats.networkLoads = networkLoads.get();
+        stats.networkFailures = networkFailures.get();
+        stats.decodeFailures = decodeFailures.get();
+        stats.bytesDownloaded = bytesDownloaded.get();
+        stats.evictions = evictions.get();
+        
+        synchronized (activeLoads) {
+            stats.inFlightLoads = activeLoads.size();
+        }
+        stats.queuedDownloads = downloadScheduler.getQueuedCount();
+        stats.runningDownloads = downloadScheduler.getRunningCount();
+        stats.queuedDecodes = decodeMetrics.getQueueDepth();
+        stats.memoryCacheBytes = memoryCache.weightedSize() * 1024L;
+        stats.memoryCacheMaxBytes = memoryCache.maxWeight() * 1024L;
+        stats.poolBytes = bitmapPool.getCurrentBytes();
+        long displayed = 0;
+        synchronized (displayRefs) {
+            for (Bitmap bitmap : displayRefs.keySet()) {
+                if (!bitmap.isRecycled()) {
+                    displayed += bitmap.getAllocationByteCount();
+                }
+            }
+        }
+        stats.displayedBytes = displayed;
+        
+        stats.network = networkMetrics;
+        stats.disk = diskMetrics;
+        stats.decode = decodeMetrics;
+        stats.cacheTrace = cacheTrace;
+        return stats;
     }
     
     /**
-     * Callback interface for image loading
+     * Start recording memory cache lookups (up to {@code maxLookups}), e.g. over
+     * a scroll session, for replay against other cache policies and sizes; see
+     * {@link ImageLoaderStats#getCacheTrace()}. Replaces any trace in progress.
+     */
+    public void startCacheTrace(int maxLookups) {
+        cacheTrace = new CacheTrace(maxLookups);
+    }
+    
+    /**
+     * Stop recording and return the trace, or null if none was started
+     */
+    public CacheTrace stopCacheTrace() {
+        CacheTrace trace = cacheTrace;
+        cacheTrace = null;
+        return trace;
+    }
+    
+    /**
+     * Zero the cumulative counters and histograms (gauges are unaffected)
+     */
+    public void resetStats() {
+        for (AtomicLong counter : new AtomicLong[] {memoryHits, memoryMisses, downscaleHits, diskHits,
+                diskMisses, networkLoads, networkFailures, decodeFailures, bytesDownloaded, evictions}) {
+            counter.set(0);
+        }
+        networkMetrics.reset();
+        diskMetrics.reset();
+        decodeMetrics.reset();
+    }
+    
+    /**
+     * Smoothed image download throughput in bytes per second, 0 until measured
+     */
+    public double getMeasuredThroughput() {
+        return networkMetrics.getThroughputBytesPerSecond();
+    }
+    
+    /**
+     * Callback interface for image loading. The bitmap passed to onSuccess is
+     * retained for the receiver; pass it to {@link #releaseBitmap} when it is
+     * no longer displayed so its memory can be reused.
      */
     public interface ImageLoadCallback {
         void onSuccess(Bitmap bitmap);
@@ -196,22 +987,144 @@ public class ImageLoader {
     }
     
     /**
-     * Decode bitmap with efficient memory usage
+     * One caller's subscription to a load. After {@link #cancel()} its callback
+     * is never invoked, even if the result is already on its way.
+     */
+    public final class ImageRequest {
+        private final String url;
+        private final ImageLoadCallback callback;
+        private PendingLoad load; // Guarded by activeLoads
+        private Priority priority; // Guarded by activeLoads
+        private volatile boolean cancelled = false;
+        
+        ImageRequest(String url, Priority priority, ImageLoadCallback callback) {
+            this.url = url;
+            this.priority = priority;
+            this.callback = callback;
+        }
+        
+        public String getUrl() {
+            return url;
+        }
+        
+        /**
+         * Change this caller's priority, e.g. when its view scrolls on or off screen
+         */
+        public void setPriority(Priority newPriority) {
+            synchronized (activeLoads) {
+                if (priority == newPriority) {
+                    return;
+                }
+                priority = newPriority;
+                if (load != null && !cancelled) {
+                    updatePriority(load);
+                }
+            }
+        }
+        
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                unsubscribe(this);
+            }
+        }
+        
+        void deliverSuccess(Bitmap bitmap) {
+            if (!cancelled) {
+                callback.onSuccess(bitmap);
+            } else {
+                releaseBitmap(bitmap);
+            }
+        }
+        
+        void deliverError(String error) {
+            if (!cancelled) {
+                callback.onError(error);
+            }
+        }
+    }
+    
+    /**
+     * A single disk read / download shared by all subscribers for a URL and size bucket
      */
-    private Bitmap decodeBitmap(byte[] imageBytes, int reqWidth, int reqHeight) {
+    private static final class PendingLoad {
+        final String url;
+        final String key;
+        final int targetWidth;
+        final int targetHeight;
+        final List<ImageRequest> subscribers = new ArrayList<>(2);
+        // Guarded by activeLoads
+        Priority priority = Priority.VISIBLE;
+        boolean queued = false;
+        boolean holdsSlot = false;
+        long networkQueuedAt;
+        Call call;
+        volatile boolean cancelled = false;
+        
+        PendingLoad(String url, String key, int targetWidth, int targetHeight) {
+            this.url = url;
+            this.key = key;
+            this.targetWidth = targetWidth;
+            this.targetHeight = targetHeight;
+        }
+        
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+    
+    /**
+     * Encoded image that can be read more than once (bounds pass, then pixels)
+     */
+    private interface StreamSource {
+        InputStream open() throws IOException;
+    }
+    
+    /**
+     * Decode bitmap with efficient memory usage, streaming from the source
+     */
+    private Bitmap decodeBitmap(StreamSource source, int reqWidth, int reqHeight) {
         try {
             // First pass - get dimensions without loading full image
             BitmapFactory.Options options = new BitmapFactory.Options();
             options.inJustDecodeBounds = true;
-            BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length, options);
+            decodeStream(source, options);
             
             // Calculate sample size for memory efficiency
             options.inSampleSize = calculateInSampleSize(options, reqWidth, reqHeight);
             options.inJustDecodeBounds = false;
+            if (hardwareBitmaps) {
+                // Pixels live in graphics memory, off the heap and uploaded once;
+                // immutable, so never pooled or used as an inBitmap target
+                options.inPreferredConfig = Bitmap.Config.HARDWARE;
+                return decodeStream(source, options);
+            }
             options.inPreferredConfig = Bitmap.Config.RGB_565; // Use less memory
+            options.inMutable = true; // Required for inBitmap and later reuse
+            
+            // Decode into a pooled bitmap when one is large enough
+            int sampledWidth = (options.outWidth + options.inSampleSize - 1) / options.inSampleSize;
+            int sampledHeight = (options.outHeight + options.inSampleSize - 1) / options.inSampleSize;
+            Bitmap reusable = bitmapPool.get(sampledWidth * sampledHeight * 2); // RGB_565
+            options.inBitmap = reusable;
             
             // Second pass - decode with sampling
-            return BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length, options);
+            try {
+                Bitmap bitmap = decodeStream(source, options);
+                if (bitmap == null && reusable != null) {
+                    bitmapPool.put(reusable);
+                }
+                return bitmap;
+            } catch (IllegalArgumentException e) {
+                // Not reusable for this image (e.g. it needs ARGB_8888); decode fresh
+                bitmapPool.put(reusable);
+                options.inBitmap = null;
+                return decodeStream(source, options);
+            }
             
         } catch (Exception e) {
             Log.e(TAG, "Error decoding bitmap", e);
@@ -219,6 +1132,12 @@ public class ImageLoader {
         }
     }
     
+    private static Bitmap decodeStream(StreamSource source, BitmapFactory.Options options) throws IOException {
+        try (InputStream in = source.open()) {
+            return BitmapFactory.decodeStream(in, null, options);
+        }
+    }
+    
     /**
      * Calculate optimal sample size to reduce memory usage
      */
@@ -0,0 +1,104 @@
+package dev.kadcom.commerce.utils;
+
+import dev.kadcom.cache.CacheTrace;
+import java.util.Locale;
+
+/**
+ * Point-in-time snapshot of {@link ImageLoader} counters, from
+ * {@link ImageLoader#getStats()}. Counts are cumulative since process start
+ * (or the last {@link ImageLoader#resetStats()}); gauges are current values.
+ * Stage metrics, latency histograms and the cache trace are live views, not
+ * copies.
+ */
+public final class ImageLoaderStats {
+
+    // Lookups per tier
+    long memoryHits;
+    long memoryMisses;
+    long downscaleHits;
+    long diskHits;
+    long diskMisses;
+    long networkLoads;
+    long networkFailures;
+    long decodeFailures;
+    long bytesDownloaded;
+    long evictions;
+
+    // Gauges
+    int inFlightLoads;
+    int queuedDownloads;
+    int runningDownloads;
+    int queuedDecodes;
+    long memoryCacheBytes;
+    long memoryCacheMaxBytes;
+    long poolBytes;
+    long displayedBytes;
+
+    StageMetrics network;
+    StageMetrics disk;
+    StageMetrics decode;
+    CacheTrace cacheTrace;
+
+    ImageLoaderStats() {}
+
+    public long getMemoryHits() { return memoryHits; }
+    public long getMemoryMisses() { return memoryMisses; }
+    /** Misses served by scaling down a larger cached copy */
+    public long getDownscaleHits() { return downscaleHits; }
+    public long getDiskHits() { return diskHits; }
+    public long getDiskMisses() { return diskMisses; }
+    public long getNetworkLoads() { return networkLoads; }
+    public long getNetworkFailures() { return networkFailures; }
+    public long getDecodeFailures() { return decodeFailures; }
+    public long getBytesDownloaded() { return bytesDownloaded; }
+    public long getEvictions() { return evictions; }
+
+    public int getInFlightLoads() { return inFlightLoads; }
+    public int getQueuedDownloads() { return queuedDownloads; }
+    public int getRunningDownloads() { return runningDownloads; }
+    public int getQueuedDecodes() { return queuedDecodes; }
+    public long getMemoryCacheBytes() { return memoryCacheBytes; }
+    public long getMemoryCacheMaxBytes() { return memoryCacheMaxBytes; }
+    public long getPoolBytes() { return poolBytes; }
+    /** Bitmaps held by views, whether or not still cached */
+    public long getDisplayedBytes() { return displayedBytes; }
+
+    /** Download latency from slot acquisition to the last byte */
+    public LatencyHistogram getDownloadLatency() { return network.getRunHistogram(); }
+    public LatencyHistogram getDecodeLatency() { return decode.getRunHistogram(); }
+    public LatencyHistogram getDiskReadLatency() { return disk.getRunHistogram(); }
+    public StageMetrics getNetworkMetrics() { return network; }
+    public StageMetrics getDiskMetrics() { return disk; }
+    public StageMetrics getDecodeMetrics() { return decode; }
+    /** Memory cache lookups recorded since {@link ImageLoader#startCacheTrace}, or null */
+    public CacheTrace getCacheTrace() { return cacheTrace; }
+
+    public double getMemoryHitRate() {
+        return ratio(memoryHits, memoryHits + memoryMisses);
+    }
+
+    /**
+     * Disk hits over disk lookups (memory misses that reached the disk tier)
+     */
+    public double getDiskHitRate() {
+        return ratio(diskHits, diskHits + diskMisses);
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole > 0 ? (double) part / whole : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+            "ImageLoaderStats{memory=%.0f%% (%d/%d), downscaled=%d, disk=%.0f%% (%d/%d), network=%d (%d failed, %dKB),"
+                + " decodeFailures=%d, evictions=%d, inFlight=%d, queued=%d, running=%d, decodeQueue=%d,"
+                + " cache=%dKB/%dKB, pool=%dKB, displayed=%dKB, download[%s], decode[%s]}",
+            getMemoryHitRate() * 100, memoryHits, memoryHits + memoryMisses, downscaleHits,
+            getDiskHitRate() * 100, diskHits, diskHits + diskMisses,
+            networkLoads, networkFailures, bytesDownloaded / 1024, decodeFailures, evictions,
+            inFlightLoads, queuedDownloads, runningDownloads, queuedDecodes,
+            memoryCacheBytes / 1024, memoryCacheMaxBytes / 1024, poolBytes / 1024, displayedBytes / 1024,
+            getDownloadLatency(), getDecodeLatency());
+    }
+}
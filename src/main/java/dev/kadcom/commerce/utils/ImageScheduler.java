@@ -0,0 +1,121 @@
+package dev.kadcom.commerce.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Admission control for image downloads. Tasks wait in one queue per
+ * {@link ImageLoader.Priority} and are started highest priority first, newest
+ * first within a priority (LIFO), so the cards the user is looking at now win
+ * over ones requested earlier in a fling. While flinging only
+ * {@link ImageLoader.Priority#VISIBLE} work is started.
+ */
+final class ImageScheduler<T> {
+
+    private final List<ArrayDeque<T>> queues;
+    private final Map<T, ImageLoader.Priority> queued = new IdentityHashMap<>();
+    private final Consumer<T> starter;
+    private final int maxRunning;
+    private int running = 0;
+    private boolean flinging = false;
+
+    ImageScheduler(int maxRunning, Consumer<T> starter) {
+        this.maxRunning = maxRunning;
+        this.starter = starter;
+        int levels = ImageLoader.Priority.values().length;
+        queues = new ArrayList<>(levels);
+        for (int i = 0; i < levels; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    void enqueue(T task, ImageLoader.Priority priority) {
+        synchronized (this) {
+            queues.get(priority.ordinal()).addFirst(task);
+            queued.put(task, priority);
+        }
+        dispatch();
+    }
+
+    /**
+     * Move a waiting task to another priority (as the newest there); no-op once started
+     */
+    void reprioritize(T task, ImageLoader.Priority priority) {
+        synchronized (this) {
+            ImageLoader.Priority current = queued.get(task);
+            if (current == null || current == priority) {
+                return;
+            }
+            queues.get(current.ordinal()).removeFirstOccurrence(task);
+            queues.get(priority.ordinal()).addFirst(task);
+            queued.put(task, priority);
+        }
+        dispatch();
+    }
+
+    /**
+     * Drop a waiting task; returns false if it was not queued (already started)
+     */
+    synchronized boolean remove(T task) {
+        ImageLoader.Priority current = queued.remove(task);
+        if (current == null) {
+            return false;
+        }
+        queues.get(current.ordinal()).removeFirstOccurrence(task);
+        return true;
+    }
+
+    /**
+     * A started task released its slot
+     */
+    void finished() {
+        synchronized (this) {
+            running--;
+        }
+        dispatch();
+    }
+
+    void setFlinging(boolean flinging) {
+        synchronized (this) {
+            this.flinging = flinging;
+        }
+        if (!flinging) {
+            dispatch();
+        }
+    }
+
+    synchronized int getQueuedCount() {
+        return queued.size();
+    }
+
+    synchronized int getRunningCount() {
+        return running;
+    }
+
+    private void dispatch() {
+        List<T> toStart = new ArrayList<>();
+        synchronized (this) {
+            while (running < maxRunning) {
+                T next = null;
+                int levels = flinging ? 1 : queues.size();
+                for (int i = 0; i < levels && next == null; i++) {
+                    next = queues.get(i).pollFirst();
+                }
+                if (next == null) {
+                    break;
+                }
+                queued.remove(next);
+                running++;
+                toStart.add(next);
+            }
+        }
+        // Start outside the lock; starters may re-enter (e.g. finish synchronously)
+        for (T task : toStart) {
+            starter.accept(task);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.kadcom.commerce.utils;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * {@link Trace} helpers for the image pipeline. Sections show up in Perfetto /
+ * systrace under the app's process; async sections and counters need API 29.
+ */
+final class ImageTrace {
+
+    static final String LOAD = "ImageLoader.load";
+    static final String DISK_READ = "ImageLoader.diskRead";
+    static final String DISK_WRITE = "ImageLoader.diskWrite";
+    static final String DOWNLOAD = "ImageLoader.download";
+    static final String DECODE = "ImageLoader.decode";
+    static final String DOWNSCALE = "ImageLoader.downscale";
+
+    private ImageTrace() {}
+
+    /**
+     * Begin a section on the current thread; pair with {@link #end()} on the same thread
+     */
+    static void begin(String name) {
+        Trace.beginSection(name);
+    }
+
+    static void end() {
+        Trace.endSection();
+    }
+
+    /**
+     * Begin a section that may end on another thread
+     */
+    static void beginAsync(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled()) {
+            Trace.beginAsyncSection(name, cookie);
+        }
+    }
+
+    static void endAsync(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled()) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+
+    static void counter(String name, long value) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled()) {
+            Trace.setCounter(name, value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.kadcom.commerce.utils;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.SystemClock;
+
+/**
+ * Chooses between a product's thumbnail and its full-size image for a given
+ * display size. The thumbnail is used unless the image is displayed well
+ * beyond what a thumbnail covers, and always on metered, slow or absent
+ * connections. Speed comes from {@link ImageLoader}'s measured download
+ * throughput, falling back to the platform's link estimate until measured.
+ */
+public class ImageVariantSelector {
+
+    // Longest edge of a product thumbnail
+    private static final int THUMBNAIL_SIZE_PX = 300;
+    // Upscaling a thumbnail this far is acceptable on a good connection
+    private static final float MAX_THUMBNAIL_UPSCALE = 2f;
+    // Below this the full image takes seconds to arrive
+    private static final double SLOW_BYTES_PER_SECOND = 150 * 1024; // ~1.2 Mbit/s
+    private static final long NETWORK_RECHECK_MS = 5000;
+
+    private static ImageVariantSelector instance;
+
+    private final ConnectivityManager connectivity;
+    private long lastNetworkCheck = -NETWORK_RECHECK_MS;
+    private boolean constrainedLink = true;
+
+    private ImageVariantSelector(Context context) {
+        connectivity = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    public static synchronized ImageVariantSelector getInstance(Context context) {
+        if (instance == null) {
+            instance = new ImageVariantSelector(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * URL to load for an image displayed at {@code displayWidth} x {@code displayHeight}
+     * pixels; either variant may be null or empty
+     */
+    public String select(String thumbnailUrl, String fullUrl, int displayWidth, int displayHeight) {
+        boolean hasThumbnail = thumbnailUrl != null && !thumbnailUrl.isEmpty();
+        boolean hasFull = fullUrl != null && !fullUrl.isEmpty();
+        if (!hasFull || !hasThumbnail) {
+            return hasFull ? fullUrl : thumbnailUrl;
+        }
+        if (Math.max(displayWidth, displayHeight) <= THUMBNAIL_SIZE_PX * MAX_THUMBNAIL_UPSCALE) {
+            return thumbnailUrl;
+        }
+        return isConstrained() ? thumbnailUrl : fullUrl;
+    }
+
+    /**
+     * Whether only thumbnails should be fetched: metered, slow or no network
+     */
+    public synchronized boolean isConstrained() {
+        long now = SystemClock.elapsedRealtime();
+        if (now - lastNetworkCheck >= NETWORK_RECHECK_MS) {
+            lastNetworkCheck = now;
+            constrainedLink = checkLinkConstrained();
+        }
+        if (constrainedLink) {
+            return true;
+        }
+        double measured = ImageLoader.getInstance().getMeasuredThroughput();
+        return measured > 0 && measured < SLOW_BYTES_PER_SECOND;
+    }
+
+    private boolean checkLinkConstrained() {
+        if (connectivity == null) {
+            return false;
+        }
+        Network network = connectivity.getActiveNetwork();
+        NetworkCapabilities capabilities = network != null ? connectivity.getNetworkCapabilities(network) : null;
+        if (capabilities == null) {
+            return true; // Offline: thumbnails are the likelier disk hits
+        }
+        if (connectivity.isActiveNetworkMetered()) {
+            return true;
+        }
+        // Platform estimate; only trusted until downloads are measured
+        int linkKbps = capabilities.getLinkDownstreamBandwidthKbps();
+        return ImageLoader.getInstance().getMeasuredThroughput() == 0
+            && linkKbps > 0 && linkKbps * 1000 / 8 < SLOW_BYTES_PER_SECOND;
+    }
+}
@@ -0,0 +1,84 @@
+package dev.kadcom.commerce.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two millisecond buckets
+ * (&le;1ms, &le;2ms, ... &le;4096ms, then overflow). Coarse, but cheap enough to
+ * record every image load.
+ */
+public final class LatencyHistogram {
+
+    private static final int BOUNDED_BUCKETS = 13; // 1ms .. 4096ms
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDED_BUCKETS + 1);
+
+    void record(long elapsedNanos) {
+        long millis = Math.max(0, elapsedNanos) / 1_000_000;
+        int bucket = 0;
+        while (bucket < BOUNDED_BUCKETS && millis > getUpperBoundMillis(bucket)) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+    }
+
+    void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public int getBucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * Inclusive upper bound of bucket {@code index}; {@link Long#MAX_VALUE} for the overflow bucket
+     */
+    public long getUpperBoundMillis(int index) {
+        return index < BOUNDED_BUCKETS ? 1L << index : Long.MAX_VALUE;
+    }
+
+    public long getCount(int index) {
+        return counts.get(index);
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket holding the {@code percentile} (0-100) sample; 0 if empty
+     */
+    public long getPercentileMillis(double percentile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return getUpperBoundMillis(i);
+            }
+        }
+        return getUpperBoundMillis(counts.length() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "p50" + formatBound(getPercentileMillis(50)) + ", p90" + formatBound(getPercentileMillis(90))
+            + ", p99" + formatBound(getPercentileMillis(99)) + " (n=" + getTotalCount() + ")";
+    }
+
+    private String formatBound(long millis) {
+        return millis == Long.MAX_VALUE
+            ? ">" + getUpperBoundMillis(BOUNDED_BUCKETS - 1) + "ms"
+            : "<=" + millis + "ms";
+    }
+}
@@ -0,0 +1,182 @@
+package dev.kadcom.commerce.utils;
+
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scales the app's in-memory caches with system memory pressure. Each cache
+ * registers as a {@link Tier} and is told what fraction of its normal size it
+ * may use: {@code onTrimMemory} levels shrink the budget progressively (down to
+ * 0 on {@code TRIM_MEMORY_COMPLETE} or {@code onLowMemory}), and while the app
+ * is visible and the system is no longer low on memory the budget regrows one
+ * step per interval. All callbacks and tier updates run on the main thread.
+ */
+public class MemoryGovernor implements ComponentCallbacks2 {
+
+    private static final String TAG = "MemoryGovernor";
+    private static final float REGROW_STEP = 0.25f;
+    private static final long REGROW_INTERVAL_MS = 30_000;
+
+    /**
+     * A cache that can shrink to a fraction of its normal size
+     */
+    public interface Tier {
+        /**
+         * @param fraction of the tier's normal size it may use, 0 (release everything) to 1
+         */
+        void setBudget(float fraction);
+    }
+
+    private static MemoryGovernor instance;
+
+    private final ActivityManager activityManager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<String, Tier> tiers = new LinkedHashMap<>();
+    private final Runnable regrowStep = this::regrow;
+    private float budget = 1f;
+    private int startedActivities = 0;
+
+    private MemoryGovernor(Context context) {
+        activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+    }
+
+    /**
+     * Install once per process; later calls return the same governor
+     */
+    public static synchronized MemoryGovernor install(Application application) {
+        if (instance == null) {
+            instance = new MemoryGovernor(application);
+            application.registerComponentCallbacks(instance);
+            application.registerActivityLifecycleCallbacks(instance.visibilityTracker);
+            instance.register("images", ImageLoader.getInstance()::setMemoryBudget);
+        }
+        return instance;
+    }
+
+    /**
+     * Add a tier, replacing any registered under the same name; it is
+     * immediately given the current budget
+     */
+    public void register(String name, Tier tier) {
+        tiers.put(name, tier);
+        tier.setBudget(budget);
+    }
+
+    public void unregister(String name) {
+        tiers.remove(name);
+    }
+
+    public float getBudget() {
+        return budget;
+    }
+
+    // ============ PRESSURE ============
+
+    @Override
+    public void onTrimMemory(int level) {
+        float target;
+        if (level >= TRIM_MEMORY_COMPLETE) {
+            target = 0f; // Next in line to be killed
+        } else if (level >= TRIM_MEMORY_MODERATE) {
+            target = 0.1f;
+        } else if (level >= TRIM_MEMORY_BACKGROUND) {
+            target = 0.25f;
+        } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            target = 0.5f; // Nothing on screen to keep warm
+        } else if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            target = 0.25f;
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            target = 0.5f;
+        } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+            target = 0.75f;
+        } else {
+            return;
+        }
+        shrinkTo(target);
+    }
+
+    @Override
+    public void onLowMemory() {
+        shrinkTo(0f);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {}
+
+    private void shrinkTo(float target) {
+        // Pressure restarts the regrow clock even when the budget is already lower
+        mainHandler.removeCallbacks(regrowStep);
+        if (target < budget) {
+            Log.d(TAG, "Shrinking caches to " + target);
+            applyBudget(target);
+        }
+        scheduleRegrow();
+    }
+
+    private void regrow() {
+        if (budget >= 1f || startedActivities == 0) {
+            return; // Backgrounded: stay small until the UI is back
+        }
+        ActivityManager.MemoryInfo memoryInfo = new ActivityManager.MemoryInfo();
+        activityManager.getMemoryInfo(memoryInfo);
+        if (!memoryInfo.lowMemory) {
+            applyBudget(Math.min(1f, budget + REGROW_STEP));
+        }
+        scheduleRegrow();
+    }
+
+    private void scheduleRegrow() {
+        if (budget < 1f) {
+            mainHandler.postDelayed(regrowStep, REGROW_INTERVAL_MS);
+        }
+    }
+
+    private void applyBudget(float fraction) {
+        budget = fraction;
+        for (Tier tier : tiers.values()) {
+            tier.setBudget(fraction);
+        }
+    }
+
+    // ============ VISIBILITY ============
+
+    private final Application.ActivityLifecycleCallbacks visibilityTracker = new Application.ActivityLifecycleCallbacks() {
+        @Override
+        public void onActivityStarted(Activity activity) {
+            if (startedActivities++ == 0 && budget < 1f) {
+                mainHandler.removeCallbacks(regrowStep);
+                scheduleRegrow();
+            }
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+            startedActivities = Math.max(0, startedActivities - 1);
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+        @Override
+        public void onActivityResumed(Activity activity) {}
+
+        @Override
+        public void onActivityPaused(Activity activity) {}
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {}
+    };
+}
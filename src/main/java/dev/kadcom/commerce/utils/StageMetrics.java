@@ -0,0 +1,131 @@
+package dev.kadcom.commerce.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live queue depth and timing counters for one stage of the image pipeline
+ * (network, disk or decode). Updated lock-free from worker threads.
+ */
+public final class StageMetrics {
+
+    private final String name;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    private final LatencyHistogram runHistogram = new LatencyHistogram();
+    // Smoothed bytes per second as raw double bits; 0 until the first sample
+    private final AtomicLong throughputBits = new AtomicLong(Double.doubleToLongBits(0));
+
+    // Small transfers are dominated by latency and say little about bandwidth
+    private static final long MIN_THROUGHPUT_SAMPLE_BYTES = 16 * 1024;
+    private static final double THROUGHPUT_SMOOTHING = 0.25;
+
+    StageMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Work entered the stage's queue; returns the timestamp to pass to {@link #onStart}
+     */
+    long onQueued() {
+        queued.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Queued work was dropped before it started
+     */
+    void onDropped() {
+        queued.decrementAndGet();
+    }
+
+    /**
+     * Work left the queue and started running; returns the start timestamp
+     */
+    long onStart(long queuedAtNanos) {
+        long now = System.nanoTime();
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        totalWaitNanos.addAndGet(now - queuedAtNanos);
+        return now;
+    }
+
+    void onFinish(long startedAtNanos) {
+        long elapsed = System.nanoTime() - startedAtNanos;
+        active.decrementAndGet();
+        completed.incrementAndGet();
+        totalRunNanos.addAndGet(elapsed);
+        maxRunNanos.accumulateAndGet(elapsed, Math::max);
+        runHistogram.record(elapsed);
+    }
+
+    /**
+     * Record a completed transfer of {@code bytes} taking {@code elapsedNanos}
+     */
+    void onTransferred(long bytes, long elapsedNanos) {
+        if (bytes < MIN_THROUGHPUT_SAMPLE_BYTES || elapsedNanos <= 0) {
+            return;
+        }
+        double sample = bytes * 1e9 / elapsedNanos;
+        long current;
+        double next;
+        do {
+            current = throughputBits.get();
+            double previous = Double.longBitsToDouble(current);
+            next = previous == 0 ? sample : previous + THROUGHPUT_SMOOTHING * (sample - previous);
+        } while (!throughputBits.compareAndSet(current, Double.doubleToLongBits(next)));
+    }
+
+    void reset() {
+        completed.set(0);
+        totalWaitNanos.set(0);
+        totalRunNanos.set(0);
+        maxRunNanos.set(0);
+        runHistogram.reset();
+    }
+
+    public String getName() { return name; }
+    public int getQueueDepth() { return queued.get(); }
+    public int getActiveCount() { return active.get(); }
+    public long getCompletedCount() { return completed.get(); }
+
+    public double getAverageWaitMillis() {
+        long count = completed.get();
+        return count > 0 ? totalWaitNanos.get() / 1e6 / count : 0;
+    }
+
+    public double getAverageRunMillis() {
+        long count = completed.get();
+        return count > 0 ? totalRunNanos.get() / 1e6 / count : 0;
+    }
+
+    public double getMaxRunMillis() {
+        return maxRunNanos.get() / 1e6;
+    }
+
+    /**
+     * Distribution of run times (time spent working, not waiting in the queue)
+     */
+    public LatencyHistogram getRunHistogram() {
+        return runHistogram;
+    }
+
+    /**
+     * Smoothed transfer rate in bytes per second, or 0 if nothing was measured yet
+     */
+    public double getThroughputBytesPerSecond() {
+        return Double.longBitsToDouble(throughputBits.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.US,
+            "%s{queued=%d, active=%d, completed=%d, avgWait=%.1fms, avgRun=%.1fms, maxRun=%.1fms}",
+            name, getQueueDepth(), getActiveCount(), getCompletedCount(),
+            getAverageWaitMillis(), getAverageRunMillis(), getMaxRunMillis());
+    }
+}
@@ -4,12 +4,12 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Rect;
-import android.graphics.RectF;
+import android.os.SystemClock;
 import android.util.Log;
 import android.view.View;
 import dev.kadcom.commerce.utils.ImageLoader;
 import dev.kadcom.commerce.utils.StyleUtils;
+import dev.kadcom.render.ImagePainter;
 
 /**
  * High-performance custom image view that draws directly to Canvas
@@ -21,11 +21,14 @@ public class AsyncImageView extends View {
     
     private Bitmap bitmap;
     private Paint paint;
-    private Paint placeholderPaint;
-    private Paint loadingPaint;
-    private RectF drawRect;
+    
+    // Drawing lives in the JVM-testable painter; the surface maps its inks to these paints
+    private final ImagePainter painter;
+    private final CanvasSurface<ImagePainter.Ink> surface = new CanvasSurface<>(ImagePainter.Ink.class);
     private String currentUrl;
     private boolean isLoading;
+    private ImageLoader.ImageRequest imageRequest;
+    private boolean showingPreview; // Bitmap is a lower-resolution stand-in
     
     // Loading animation - subtle pulse effect
     private float loadingAlpha = 0.3f;
@@ -43,17 +46,28 @@ public class AsyncImageView extends View {
         paint.setFilterBitmap(true);
         paint.setDither(true);
         
-        placeholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint placeholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         placeholderColor = StyleUtils.BACKGROUND_COLOR;
         placeholderPaint.setColor(placeholderColor);
+        surface.setPaint(ImagePainter.Ink.PLACEHOLDER, placeholderPaint);
         
         // Loading indicator paint - very subtle
-        loadingPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint loadingPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         loadingPaint.setColor(StyleUtils.PRIMARY_COLOR);
-        loadingPaint.setStyle(Paint.Style.FILL);
+        loadingPaint.setStyle(Paint.Style.STROKE);
+        loadingPaint.setStrokeWidth(StyleUtils.dpToPx(context, 2));
+        loadingPaint.setAlpha(180);
+        surface.setPaint(ImagePainter.Ink.LOADING, loadingPaint);
+        
+        // Error state icon
+        Paint errorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        errorPaint.setColor(StyleUtils.TEXT_SECONDARY);
+        errorPaint.setTextAlign(Paint.Align.CENTER);
+        errorPaint.setTextSize(StyleUtils.spToPx(context, StyleUtils.Typography.CAPTION_SIZE));
+        surface.setPaint(ImagePainter.Ink.ERROR_ICON, errorPaint);
         
         cornerRadius = StyleUtils.dpToPx(context, StyleUtils.RADIUS_MEDIUM);
-        drawRect = new RectF();
+        painter = new ImagePainter(cornerRadius);
         
         // Loading animation runnable - subtle pulse effect
         loadingAnimator = new Runnable() {
@@ -89,20 +103,29 @@ public class AsyncImageView extends View {
      * Load image from URL asynchronously
      */
     public void loadImage(String url) {
+        loadImage(url, null);
+    }
+    
+    /**
+     * Load image from URL asynchronously, showing a cached copy of
+     * {@code previewUrl} (e.g. the grid's thumbnail variant) while it loads
+     */
+    public void loadImage(String url, String previewUrl) {
         if (url == null || url.isEmpty()) {
             clearImage();
             return;
         }
         
         // If same URL and already have bitmap, don't reload but ensure it's displayed
-        if (url.equals(currentUrl) && bitmap != null && !bitmap.isRecycled()) {
+        if (url.equals(currentUrl) && bitmap != null && !bitmap.isRecycled() && !showingPreview) {
             Log.d(TAG, "Same URL, bitmap exists: " + url.substring(Math.max(0, url.length() - 20)));
             // Still trigger a redraw to make sure image is visible
             invalidate();
             return;
         }
         
-        // Update URL first
+        // Update URL first; a load for the previous URL is no longer wanted
+        cancelImageRequest();
         currentUrl = url;
         
         // Start loading state (but don't clear existing bitmap immediately)
@@ -120,24 +143,38 @@ public class AsyncImageView extends View {
             height = StyleUtils.dpToPx(getContext(), 300);
         }
         
-        ImageLoader.getInstance().loadImage(url, width, height, new ImageLoader.ImageLoadCallback() {
+        // Show a lower-resolution copy (e.g. the grid thumbnail) while this size loads
+        Bitmap preview = ImageLoader.getInstance().getCachedPreview(url, width, height);
+        if (preview == null && previewUrl != null && !previewUrl.equals(url)) {
+            preview = ImageLoader.getInstance().getCachedPreview(previewUrl, width, height);
+        }
+        if (preview != null) {
+            setBitmap(preview);
+            showingPreview = true;
+        }
+        
+        imageRequest = ImageLoader.getInstance().loadImage(url, width, height, new ImageLoader.ImageLoadCallback() {
             @Override
             public void onSuccess(Bitmap loadedBitmap) {
+                imageRequest = null;
                 // Check if URL is still current (prevent outdated images in recycled views)
                 if (url.equals(currentUrl)) {
                     Log.d(TAG, "Image success for: " + url.substring(Math.max(0, url.length() - 20)));
-                    bitmap = loadedBitmap;
+                    setBitmap(loadedBitmap);
+                    showingPreview = false;
                     isLoading = false;
                     stopLoadingAnimation();
                     // Force immediate UI update
                     invalidate();
                 } else {
+                    ImageLoader.getInstance().releaseBitmap(loadedBitmap);
                     Log.d(TAG, "Ignoring outdated image: " + url.substring(Math.max(0, url.length() - 20)));
                 }
             }
             
             @Override
             public void onError(String error) {
+                imageRequest = null;
                 if (url.equals(currentUrl)) {
                     Log.w(TAG, "Image error for: " + url.substring(Math.max(0, url.length() - 20)) + " - " + error);
                     isLoading = false;
@@ -160,114 +197,13 @@ public class AsyncImageView extends View {
             return;
         }
         
-        drawRect.set(0, 0, width, height);
-        
-        if (bitmap != null && !bitmap.isRecycled()) {
-            // Draw the loaded bitmap
-            drawBitmapWithRoundedCorners(canvas, bitmap, drawRect);
-            
-            // Draw subtle loading indicator over image if still loading
-            if (isLoading) {
-                drawLoadingIndicator(canvas, drawRect);
-            }
-        } else {
-            // Draw placeholder
-            drawPlaceholder(canvas, drawRect);
-        }
-    }
-    
-    /**
-     * Draw bitmap with rounded corners for card-like appearance
-     */
-    private void drawBitmapWithRoundedCorners(Canvas canvas, Bitmap bitmap, RectF destRect) {
-        // Calculate source rect to maintain aspect ratio
-        int bitmapWidth = bitmap.getWidth();
-        int bitmapHeight = bitmap.getHeight();
-        
-        float scaleX = destRect.width() / bitmapWidth;
-        float scaleY = destRect.height() / bitmapHeight;
-        float scale = Math.max(scaleX, scaleY); // Scale to fill (crop if needed)
-        
-        float scaledWidth = bitmapWidth * scale;
-        float scaledHeight = bitmapHeight * scale;
-        
-        float dx = (destRect.width() - scaledWidth) * 0.5f;
-        float dy = (destRect.height() - scaledHeight) * 0.5f;
-        
-        RectF sourceRect = new RectF(
-            Math.max(0, -dx / scale),
-            Math.max(0, -dy / scale),
-            Math.min(bitmapWidth, (destRect.width() - dx) / scale),
-            Math.min(bitmapHeight, (destRect.height() - dy) / scale)
-        );
-        
-        // Save canvas state for clipping
-        int saveCount = canvas.save();
-        
-        // Clip to rounded rectangle
-        canvas.clipRect(destRect);
-        
-        // Draw bitmap
-        canvas.drawBitmap(bitmap, 
-            new Rect((int)sourceRect.left, (int)sourceRect.top, (int)sourceRect.right, (int)sourceRect.bottom),
-            new Rect((int)destRect.left, (int)destRect.top, (int)destRect.right, (int)destRect.bottom),
-            paint);
-        
-        // Restore canvas
-        canvas.restoreToCount(saveCount);
-        
-        // Draw rounded corner overlay (optional, for stronger corner effect)
-        drawRoundedCornerOverlay(canvas, destRect);
-    }
-    
-    /**
-     * Draw placeholder with subtle styling
-     */
-    private void drawPlaceholder(Canvas canvas, RectF rect) {
-        // Draw background
-        canvas.drawRoundRect(rect, cornerRadius, cornerRadius, placeholderPaint);
-        
-        // Draw loading indicator or icon
-        if (isLoading) {
-            drawLoadingIndicator(canvas, rect);
-        } else {
-            // Draw error state with icon
-            Paint errorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            errorPaint.setColor(StyleUtils.TEXT_SECONDARY);
-            errorPaint.setTextAlign(Paint.Align.CENTER);
-            errorPaint.setTextSize(StyleUtils.spToPx(getContext(), StyleUtils.Typography.CAPTION_SIZE));
-            
-            canvas.drawText("🖼️", 
-                rect.centerX(), 
-                rect.centerY(), 
-                errorPaint);
-        }
-    }
-    
-    /**
-     * Draw loading indicator - spinning arc
-     */
-    private void drawLoadingIndicator(Canvas canvas, RectF rect) {
-        // Draw spinning arc in center
-        float centerX = rect.centerX();
-        float centerY = rect.centerY();
-        float radius = Math.min(rect.width(), rect.height()) * 0.15f;
-        
-        RectF arcRect = new RectF(
-            centerX - radius, centerY - radius,
-            centerX + radius, centerY + radius
-        );
-        
-        loadingPaint.setStyle(Paint.Style.STROKE);
-        loadingPaint.setStrokeWidth(StyleUtils.dpToPx(getContext(), 2));
-        loadingPaint.setAlpha(180);
-        
-        // Calculate rotation angle based on current time
-        long currentTime = System.currentTimeMillis();
-        float angle = (currentTime / 10) % 360;
+        // Spinner rotation follows the clock
+        float angle = (SystemClock.uptimeMillis() / 10) % 360;
         
-        // Draw arc
-        canvas.drawArc(arcRect, angle, 90, false, loadingPaint);
+        surface.setCanvas(canvas);
+        surface.setImage(bitmap, paint);
+        painter.draw(surface, width, height, isLoading, angle);
+        surface.setCanvas(null);
     }
     
     /**
@@ -288,20 +224,32 @@ public class AsyncImageView extends View {
     }
     
     /**
-     * Draw subtle overlay to enhance rounded corners
+     * Swap the displayed bitmap, handing the previous one back to the loader
      */
-    private void drawRoundedCornerOverlay(Canvas canvas, RectF rect) {
-        // This could add a subtle border or shadow effect
-        // For now, keeping it simple for performance
+    private void setBitmap(Bitmap newBitmap) {
+        // Each delivered bitmap carries its own reference, even if already shown
+        if (bitmap != null) {
+            ImageLoader.getInstance().releaseBitmap(bitmap);
+        }
+        bitmap = newBitmap;
+    }
+    
+    private void cancelImageRequest() {
+        if (imageRequest != null) {
+            imageRequest.cancel();
+            imageRequest = null;
+        }
     }
     
     /**
      * Clear current image (useful for recycling)
      */
     public void clearImage() {
+        cancelImageRequest();
         stopLoadingAnimation();
         currentUrl = null;
-        bitmap = null;
+        setBitmap(null);
+        showingPreview = false;
         isLoading = false;
         invalidate();
     }
@@ -0,0 +1,109 @@
+package dev.kadcom.commerce.views;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.text.Layout;
+import dev.kadcom.commerce.utils.ImageLoader;
+import dev.kadcom.render.DrawSurface;
+
+/**
+ * {@link DrawSurface} over an Android {@link Canvas}: inks map to the paints
+ * the owning view configured, and geometry goes through reused rects. One per
+ * view; main thread only.
+ */
+final class CanvasSurface<I extends Enum<I>> implements DrawSurface<I> {
+
+    private final Paint[] paints;
+    private final RectF rect = new RectF();
+    private final Rect imageSrc = new Rect();
+
+    private Canvas canvas;
+    private Bitmap image;
+    private Paint imagePaint;
+    private Layout textLayout;
+
+    CanvasSurface(Class<I> inks) {
+        paints = new Paint[inks.getEnumConstants().length];
+    }
+
+    void setPaint(I ink, Paint paint) {
+        paints[ink.ordinal()] = paint;
+    }
+
+    /**
+     * Canvas to draw on; cleared (null) after the frame so it isn't kept alive
+     */
+    void setCanvas(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    void setImage(Bitmap image, Paint paint) {
+        this.image = image;
+        this.imagePaint = paint;
+    }
+
+    void setTextLayout(Layout layout) {
+        this.textLayout = layout;
+    }
+
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float radius, I ink) {
+        rect.set(left, top, right, bottom);
+        canvas.drawRoundRect(rect, radius, radius, paints[ink.ordinal()]);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, I ink) {
+        canvas.drawLine(startX, startY, stopX, stopY, paints[ink.ordinal()]);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, I ink) {
+        canvas.drawText(text, x, y, paints[ink.ordinal()]);
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom,
+                        float startAngle, float sweepAngle, I ink) {
+        rect.set(left, top, right, bottom);
+        canvas.drawArc(rect, startAngle, sweepAngle, false, paints[ink.ordinal()]);
+    }
+
+    /**
+     * Software canvases (snapshots, cache rasters) cannot read hardware bitmaps
+     */
+    @Override
+    public boolean hasImage() {
+        return image != null && !image.isRecycled()
+            && (canvas.isHardwareAccelerated() || !ImageLoader.isHardware(image));
+    }
+
+    @Override
+    public int getImageWidth() {
+        return image.getWidth();
+    }
+
+    @Override
+    public int getImageHeight() {
+        return image.getHeight();
+    }
+
+    @Override
+    public void drawImage(float srcLeft, float srcTop, float srcRight, float srcBottom,
+                          float dstLeft, float dstTop, float dstRight, float dstBottom) {
+        imageSrc.set((int) srcLeft, (int) srcTop, (int) srcRight, (int) srcBottom);
+        rect.set(dstLeft, dstTop, dstRight, dstBottom);
+        canvas.drawBitmap(image, imageSrc, rect, imagePaint);
+    }
+
+    @Override
+    public void drawTextLayout(float x, float y) {
+        int saveCount = canvas.save();
+        canvas.translate(x, y);
+        textLayout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+}
@@ -0,0 +1,119 @@
+package dev.kadcom.commerce.views;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.util.LruCache;
+
+/**
+ * Rendered product cards shared by every {@link ProductCardView}, keyed by
+ * product id, content version and size, so a card scrolled back into view is
+ * one bitmap draw. Total raster memory is capped by a byte budget with LRU
+ * eviction, however many card views exist. Main thread only.
+ */
+public class CardRasterCache {
+
+    // Below this memory governor budget rasters are dropped and cards draw directly
+    private static final float MIN_BUDGET = 0.5f;
+
+    private static CardRasterCache instance;
+
+    private final int fullMaxBytes;
+    private final LruCache<String, Bitmap> rasters;
+    // Reused for every render; rasters are only drawn into on the main thread
+    private final Canvas canvas = new Canvas();
+    private boolean enabled = true;
+
+    private CardRasterCache() {
+        // A sixteenth of the heap: ~10 full-width cards on a typical device
+        fullMaxBytes = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 16);
+        rasters = new LruCache<String, Bitmap>(fullMaxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+    }
+
+    public static CardRasterCache getInstance() {
+        if (instance == null) {
+            instance = new CardRasterCache();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Bitmap get(String key) {
+        return enabled ? rasters.get(key) : null;
+    }
+
+    /**
+     * A cleared {@code width} x {@code height} raster to render into. Reuses the
+     * bitmap under {@code replacedKey} (the same card's previous render, now
+     * stale) when it matches, otherwise allocates; null when out of memory.
+     * Evicted rasters are never reused: a card still on screen may show one.
+     */
+    public Bitmap obtain(int width, int height, String replacedKey) {
+        Bitmap replaced = replacedKey != null ? rasters.remove(replacedKey) : null;
+        if (replaced != null && replaced.getWidth() == width && replaced.getHeight() == height) {
+            replaced.eraseColor(0);
+            return replaced;
+        }
+        try {
+            return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } catch (OutOfMemoryError e) {
+            rasters.evictAll();
+            return null;
+        }
+    }
+
+    /**
+     * Canvas drawing into {@code raster}, valid until the next call
+     */
+    public Canvas canvasFor(Bitmap raster) {
+        canvas.setBitmap(raster);
+        return canvas;
+    }
+
+    public void put(String key, Bitmap raster) {
+        canvas.setBitmap(null); // Don't keep the last raster alive through the canvas
+        if (enabled) {
+            rasters.put(key, raster);
+        }
+    }
+
+    /**
+     * Memory governor tier: scales the byte budget; below half every raster is
+     * dropped and cards draw directly until pressure eases
+     */
+    public void setBudget(float fraction) {
+        enabled = fraction >= MIN_BUDGET;
+        if (enabled) {
+            rasters.resize(Math.max(1, (int) (fullMaxBytes * fraction)));
+        } else {
+            rasters.evictAll();
+        }
+    }
+
+    public void clear() {
+        rasters.evictAll();
+    }
+
+    public int getSizeBytes() {
+        return rasters.size();
+    }
+
+    public int getMaxBytes() {
+        return rasters.maxSize();
+    }
+
+    public int getHitCount() {
+        return rasters.hitCount();
+    }
+
+    public int getMissCount() {
+        return rasters.missCount();
+    }
+}
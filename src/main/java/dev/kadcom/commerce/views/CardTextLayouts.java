@@ -0,0 +1,191 @@
+package dev.kadcom.commerce.views;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.LruCache;
+import dev.kadcom.commerce.models.ProductItem;
+import dev.kadcom.commerce.utils.StyleUtils;
+import java.util.List;
+
+/**
+ * Text shaped ahead of time for {@link ProductCardView}: the wrapped title
+ * layout and the measured widths the card positions text with, keyed by
+ * product and text width. Pages are precomputed on the thread that maps them
+ * to {@link ProductItem}s, so binding a card is a lookup; a card bound before
+ * its entry is ready shapes its own on the main thread.
+ */
+public class CardTextLayouts {
+
+    private static final int MAX_ENTRIES = 256; // A few pages around the viewport
+
+    private static CardTextLayouts instance;
+
+    /**
+     * Shaped text for one product at one width; immutable once published
+     */
+    public static final class Entry {
+        final int contentVersion;
+        final int width;
+        final StaticLayout titleLayout;
+        final float originalPriceWidth;
+        final float discountWidth;
+
+        Entry(int contentVersion, int width, StaticLayout titleLayout,
+              float originalPriceWidth, float discountWidth) {
+            this.contentVersion = contentVersion;
+            this.width = width;
+            this.titleLayout = titleLayout;
+            this.originalPriceWidth = originalPriceWidth;
+            this.discountWidth = discountWidth;
+        }
+    }
+
+    // Never mutated after construction; each build works on copies
+    private final TextPaint titlePaint;
+    private final TextPaint originalPricePaint;
+    private final TextPaint badgeTextPaint;
+    private final LruCache<Long, Entry> entries = new LruCache<>(MAX_ENTRIES);
+    // Title width reported by laid-out cards; 0 until the first layout
+    private volatile int textWidth = 0;
+
+    private CardTextLayouts(Context context) {
+        titlePaint = newTitlePaint(context);
+        originalPricePaint = newOriginalPricePaint(context);
+        badgeTextPaint = newBadgeTextPaint(context);
+    }
+
+    public static synchronized CardTextLayouts getInstance(Context context) {
+        if (instance == null) {
+            instance = new CardTextLayouts(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // ============ PAINTS ============
+
+    static TextPaint newTitlePaint(Context context) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(StyleUtils.spToPx(context, 15));
+        paint.setColor(0xFF212121); // Darker text
+        paint.setTypeface(StyleUtils.Typography.getBoldTypeface());
+        paint.setLetterSpacing(-0.01f);
+        return paint;
+    }
+
+    static TextPaint newOriginalPricePaint(Context context) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(StyleUtils.spToPx(context, 14));
+        paint.setColor(0xFF757575);
+        paint.setStrikeThruText(true);
+        return paint;
+    }
+
+    static TextPaint newBadgeTextPaint(Context context) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(StyleUtils.spToPx(context, 10));
+        paint.setColor(0xFFFFFFFF);
+        paint.setTypeface(StyleUtils.Typography.getBoldTypeface());
+        paint.setTextAlign(Paint.Align.CENTER);
+        return paint;
+    }
+
+    // ============ PRECOMPUTE ============
+
+    /**
+     * Shape {@code items} at the current card text width. Blocking: call on
+     * the background thread that produced the page. Does nothing until a card
+     * has been laid out and reported its width.
+     */
+    public void precompute(List<ProductItem> items) {
+        int width = textWidth;
+        if (width <= 0 || items == null) {
+            return;
+        }
+        // The layouts keep this paint for drawing; it is handed over, never reused here
+        Paints paints = new Paints();
+        for (ProductItem item : items) {
+            if (item != null && !item.isPlaceholder() && get(item, width) == null) {
+                entries.put(key(item, width), build(item, width, paints));
+            }
+        }
+    }
+
+    /**
+     * Precomputed text for {@code item} at {@code width}, or null
+     */
+    public Entry get(ProductItem item, int width) {
+        Entry entry = entries.get(key(item, width));
+        return entry != null && entry.contentVersion == item.getContentVersion() ? entry : null;
+    }
+
+    /**
+     * Precomputed text, shaping it on the calling thread on a miss
+     */
+    Entry obtain(ProductItem item, int width) {
+        Entry entry = get(item, width);
+        if (entry == null) {
+            entry = build(item, width, new Paints());
+            entries.put(key(item, width), entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Card title width in px; pages arriving later are shaped at this width
+     */
+    void setTextWidth(int width) {
+        textWidth = width;
+    }
+
+    public int getTextWidth() {
+        return textWidth;
+    }
+
+    public void clear() {
+        entries.evictAll();
+    }
+
+    private Entry build(ProductItem item, int width, Paints paints) {
+        StaticLayout title = titleLayout(item.getTitle(), paints.title, width);
+        String discount = item.getFormattedDiscount();
+        return new Entry(item.getContentVersion(), width, title,
+            paints.originalPrice.measureText(item.getFormattedPrice()),
+            discount != null ? paints.badgeText.measureText(discount) : 0f);
+    }
+
+    private static StaticLayout titleLayout(CharSequence title, TextPaint paint, int width) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder.obtain(title, 0, title.length(), paint, width)
+                .setAlignment(Layout.Alignment.ALIGN_NORMAL)
+                .setLineSpacing(0f, 1.0f)
+                .setIncludePad(false)
+                .build();
+        }
+        return legacyLayout(title, paint, width);
+    }
+
+    /**
+     * Pre-M only: the constructor is deprecated from API 28
+     */
+    @SuppressWarnings("deprecation")
+    private static StaticLayout legacyLayout(CharSequence title, TextPaint paint, int width) {
+        return new StaticLayout(title, paint, width, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0f, false);
+    }
+
+    private static long key(ProductItem item, int width) {
+        return ((long) item.getId() << 32) | (width & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Per-build copies, so no paint is ever shared between threads
+     */
+    private final class Paints {
+        final TextPaint title = new TextPaint(titlePaint);
+        final TextPaint originalPrice = new TextPaint(originalPricePaint);
+        final TextPaint badgeText = new TextPaint(badgeTextPaint);
+    }
+}
@@ -4,16 +4,16 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.RectF;
 import android.graphics.Typeface;
-import android.text.Layout;
-import android.text.StaticLayout;
 import android.text.TextPaint;
-import android.text.TextUtils;
 import android.view.View;
 import dev.kadcom.commerce.models.ProductItem;
 import dev.kadcom.commerce.utils.ImageLoader;
+import dev.kadcom.commerce.utils.ImageVariantSelector;
 import dev.kadcom.commerce.utils.StyleUtils;
+import dev.kadcom.render.CardContent;
+import dev.kadcom.render.CardPainter;
+import dev.kadcom.render.CardRasterKey;
 
 /**
  * High-performance product card with pure Canvas drawing
@@ -23,42 +23,27 @@ public class ProductCardView extends View {
     
     private ProductItem currentProduct;
     private Bitmap productImage;
+    private ImageLoader.ImageRequest imageRequest; // Pending load for the bound product
     private boolean imageLoading;
     
-    // Card drawing cache
-    private Bitmap cachedCardBitmap;
-    private Canvas cachedCardCanvas;
-    private boolean cardCacheDirty = true;
-    private String cachedProductId;
+    private String productImageUrl;
     
-    // Paint objects for different elements
-    private Paint backgroundPaint;
-    private Paint shadowPaint;
+    // Key of this card's render in the shared CardRasterCache, kept current on
+    // bind, image load and resize so drawing never builds it; and the key of its
+    // previous render of the same product, whose bitmap can be reused
+    private final CardRasterKey rasterKey = new CardRasterKey();
+    private String staleRasterKey;
+    
+    // Drawing lives in the JVM-testable painter; the surface maps its inks to
+    // this card's paints and draws onto whichever canvas is current
+    private final CardPainter painter;
+    private final CanvasSurface<CardPainter.Ink> surface = new CanvasSurface<>(CardPainter.Ink.class);
+    private final CardContent content = new ItemContent();
     private Paint imagePaint;
-    private Paint loadingPaint;
-    private Paint dividerPaint;
-    private Paint badgePaint;
-    private TextPaint brandPaint;
-    private TextPaint titlePaint;
-    private TextPaint pricePaint;
-    private TextPaint originalPricePaint;
-    private TextPaint discountPaint;
-    private TextPaint ratingPaint;
-    private TextPaint badgeTextPaint;
-    
-    // Layout measurements
-    private RectF cardRect;
-    private RectF shadowRect;
-    private RectF imageRect;
-    private RectF badgeRect;
-    private float textStartY;
-    private float lineHeight;
-    private float sectionSpacing;
-    private float itemSpacing;
-    
-    // Cached text layouts
-    private StaticLayout titleLayout;
-    private String cachedTitle;
+    
+    // Title layout and text widths, usually shaped off the main thread
+    private final CardTextLayouts textLayouts;
+    private CardTextLayouts.Entry cardText;
     
     // Loading animation
     private float loadingRotation = 0f;
@@ -70,17 +55,42 @@ public class ProductCardView extends View {
     private final int imageHeight;
     private final int cornerRadius;
     
+    // Fixed offsets in px, resolved once so drawing and measuring never convert units
+    private final int shadowOffset;
+    private final int contentHeight;
+    
+    // Thumbnail vs full image, by displayed size and network
+    private final ImageVariantSelector imageVariants;
+    
     public ProductCardView(Context context) {
         super(context);
         
+        imageVariants = ImageVariantSelector.getInstance(context);
+        textLayouts = CardTextLayouts.getInstance(context);
         cardPadding = StyleUtils.dpToPx(context, 16); // Larger padding
         imageHeight = StyleUtils.dpToPx(context, 200); // Taller image
         cornerRadius = StyleUtils.dpToPx(context, 12); // Larger radius
-        sectionSpacing = StyleUtils.dpToPx(context, 16); // Space between sections
-        itemSpacing = StyleUtils.dpToPx(context, 6); // Space between items
-        
-        initializePaints();
-        setupRects();
+        shadowOffset = StyleUtils.dpToPx(context, 2);
+        contentHeight = StyleUtils.dpToPx(context, 160); // Even more space for better spacing
+        
+        CardPainter.Metrics metrics = new CardPainter.Metrics();
+        metrics.cardPadding = cardPadding;
+        metrics.imageHeight = imageHeight;
+        metrics.cornerRadius = cornerRadius;
+        metrics.shadowOffset = shadowOffset;
+        metrics.sectionSpacing = StyleUtils.dpToPx(context, 16); // Space between sections
+        metrics.itemSpacing = StyleUtils.dpToPx(context, 6); // Space between items
+        metrics.textGap = StyleUtils.dpToPx(context, StyleUtils.SPACING_SMALL);
+        metrics.dividerGap = StyleUtils.dpToPx(context, 8);
+        metrics.dividerMargin = StyleUtils.dpToPx(context, 12);
+        metrics.badgeInset = StyleUtils.dpToPx(context, 8);
+        metrics.badgePaddingX = StyleUtils.dpToPx(context, 12);
+        metrics.badgeHeight = StyleUtils.dpToPx(context, 20);
+        metrics.priceGap = StyleUtils.dpToPx(context, 12);
+        metrics.lineHeight = StyleUtils.spToPx(context, 16) * 1.4f; // Better line height
+        
+        initializePaints(metrics);
+        painter = new CardPainter(metrics);
         setupLoadingAnimation();
         
         // Set click handling
@@ -88,16 +98,18 @@ public class ProductCardView extends View {
         setFocusable(true);
     }
     
-    private void initializePaints() {
+    private void initializePaints(CardPainter.Metrics metrics) {
         // Background paint for card
-        backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         backgroundPaint.setColor(0xFFFFFFFF); // Pure white
         backgroundPaint.setStyle(Paint.Style.FILL);
+        surface.setPaint(CardPainter.Ink.BACKGROUND, backgroundPaint);
         
         // Shadow paint for elevation effect
-        shadowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint shadowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         shadowPaint.setColor(0x10000000); // Light shadow
         shadowPaint.setStyle(Paint.Style.FILL);
+        surface.setPaint(CardPainter.Ink.SHADOW, shadowPaint);
         
         // Image paint
         imagePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -105,66 +117,69 @@ public class ProductCardView extends View {
         imagePaint.setDither(true);
         
         // Loading indicator paint
-        loadingPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint loadingPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         loadingPaint.setColor(StyleUtils.PRIMARY_COLOR);
         loadingPaint.setStyle(Paint.Style.STROKE);
         loadingPaint.setStrokeWidth(StyleUtils.dpToPx(getContext(), 3));
+        loadingPaint.setAlpha(180);
+        surface.setPaint(CardPainter.Ink.LOADING, loadingPaint);
         
         // Divider paint for subtle separation
-        dividerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint dividerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         dividerPaint.setColor(0xFFE0E0E0);
         dividerPaint.setStrokeWidth(StyleUtils.dpToPx(getContext(), 1));
+        surface.setPaint(CardPainter.Ink.DIVIDER, dividerPaint);
         
         // Badge paint for discount/special offers
-        badgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint badgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         badgePaint.setColor(StyleUtils.ACCENT_COLOR);
         badgePaint.setStyle(Paint.Style.FILL);
+        surface.setPaint(CardPainter.Ink.BADGE, badgePaint);
         
         // Text paints with improved typography
-        brandPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        TextPaint brandPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
         brandPaint.setTextSize(StyleUtils.spToPx(getContext(), 11));
         brandPaint.setColor(0xFF9E9E9E); // Lighter gray
         brandPaint.setTypeface(Typeface.DEFAULT);
         brandPaint.setLetterSpacing(0.05f); // Slight letter spacing
+        surface.setPaint(CardPainter.Ink.BRAND, brandPaint);
         
-        titlePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
-        titlePaint.setTextSize(StyleUtils.spToPx(getContext(), 15));
-        titlePaint.setColor(0xFF212121); // Darker text
-        titlePaint.setTypeface(StyleUtils.Typography.getBoldTypeface());
-        titlePaint.setLetterSpacing(-0.01f);
-        
-        pricePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        TextPaint pricePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
         pricePaint.setTextSize(StyleUtils.spToPx(getContext(), 18));
         pricePaint.setColor(0xFF2E7D32); // Rich green
         pricePaint.setTypeface(StyleUtils.Typography.getBoldTypeface());
+        surface.setPaint(CardPainter.Ink.PRICE, pricePaint);
         
-        originalPricePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
-        originalPricePaint.setTextSize(StyleUtils.spToPx(getContext(), 14));
-        originalPricePaint.setColor(0xFF757575);
-        originalPricePaint.setStrikeThruText(true);
+        // Shared with CardTextLayouts, which measures with the same styles
+        surface.setPaint(CardPainter.Ink.ORIGINAL_PRICE, CardTextLayouts.newOriginalPricePaint(getContext()));
+        surface.setPaint(CardPainter.Ink.BADGE_TEXT, CardTextLayouts.newBadgeTextPaint(getContext()));
         
-        discountPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        TextPaint discountPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
         discountPaint.setTextSize(StyleUtils.spToPx(getContext(), 11));
         discountPaint.setColor(0xFFFF5722); // Orange-red
         discountPaint.setTypeface(StyleUtils.Typography.getBoldTypeface());
+        surface.setPaint(CardPainter.Ink.DISCOUNT, discountPaint);
         
-        ratingPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        TextPaint ratingPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
         ratingPaint.setTextSize(StyleUtils.spToPx(getContext(), 12));
         ratingPaint.setColor(0xFF757575);
+        surface.setPaint(CardPainter.Ink.RATING, ratingPaint);
         
-        badgeTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
-        badgeTextPaint.setTextSize(StyleUtils.spToPx(getContext(), 10));
-        badgeTextPaint.setColor(0xFFFFFFFF);
-        badgeTextPaint.setTypeface(StyleUtils.Typography.getBoldTypeface());
-        badgeTextPaint.setTextAlign(Paint.Align.CENTER);
-    }
-    
-    private void setupRects() {
-        cardRect = new RectF();
-        shadowRect = new RectF();
-        imageRect = new RectF();
-        badgeRect = new RectF();
-        lineHeight = StyleUtils.spToPx(getContext(), 16) * 1.4f; // Better line height
+        // Image placeholder: light gray fill with a camera glyph
+        Paint placeholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        placeholderPaint.setColor(0xFFF5F5F5);
+        surface.setPaint(CardPainter.Ink.PLACEHOLDER, placeholderPaint);
+        Paint placeholderIconPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        placeholderIconPaint.setColor(0xFFE0E0E0);
+        placeholderIconPaint.setTextSize(StyleUtils.spToPx(getContext(), 24));
+        placeholderIconPaint.setTextAlign(Paint.Align.CENTER);
+        surface.setPaint(CardPainter.Ink.PLACEHOLDER_ICON, placeholderIconPaint);
+        
+        TextPaint starPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        starPaint.setTextSize(StyleUtils.spToPx(getContext(), 12));
+        starPaint.setColor(0xFFFFB300); // Amber color
+        surface.setPaint(CardPainter.Ink.STAR, starPaint);
+        metrics.starWidth = starPaint.measureText("⭐ ");
     }
     
     private void setupLoadingAnimation() {
@@ -186,12 +201,8 @@ public class ProductCardView extends View {
     
     private void invalidateLoadingRegion() {
         // Only invalidate the image area to reduce overdraw
-        if (imageRect != null) {
-            invalidate((int)imageRect.left, (int)imageRect.top, 
-                      (int)imageRect.right, (int)imageRect.bottom);
-        } else {
-            invalidate();
-        }
+        invalidate((int) painter.getImageLeft(), (int) painter.getImageTop(),
+                  (int) painter.getImageRight(), (int) painter.getImageBottom());
     }
     
     
@@ -210,334 +221,165 @@ public class ProductCardView extends View {
             return;
         }
         
-        // Check if we can use cached card
-        String productId = String.valueOf(currentProduct.getId());
-        if (!cardCacheDirty && productId.equals(cachedProductId) && 
-            cachedCardBitmap != null && !cachedCardBitmap.isRecycled() &&
-            cachedCardBitmap.getWidth() == width && cachedCardBitmap.getHeight() == height) {
-            
-            // Draw cached card (static content)
-            canvas.drawBitmap(cachedCardBitmap, 0, 0, null);
-            
-            // Draw loading indicator on top if still loading (dynamic content)
-            if (imageLoading && !isScrolling) {
-                calculateLayout(width, height);
-                drawLoadingIndicator(canvas, imageRect);
-            }
+        calculateLayout(width, height);
+        surface.setCanvas(canvas);
+        
+        if (currentProduct.isPlaceholder()) {
+            painter.drawPlaceholderCard(surface);
+            surface.setCanvas(null);
             return;
         }
         
-        // Need to redraw card - prepare cache
-        prepareCachedCard(width, height);
+        // Static content comes from the shared raster cache; the image is drawn
+        // on top when it is a hardware bitmap, which cannot go into a raster
+        boolean hardwareImage = hasHardwareImage();
+        Bitmap raster = null;
+        CardRasterCache rasters = CardRasterCache.getInstance();
+        String key = rasterKey.get();
+        if (rasters.isEnabled() && key != null) {
+            raster = rasters.get(key);
+            if (raster == null) {
+                raster = renderRaster(rasters, key, width, height, hardwareImage);
+                surface.setCanvas(canvas);
+            }
+        }
         
-        // Draw to cache first, then copy to screen (single screen draw)
-        if (cachedCardCanvas != null) {
-            drawCardContent(cachedCardCanvas, width, height);
-            // Now draw the completed cache to screen in one operation
-            canvas.drawBitmap(cachedCardBitmap, 0, 0, null);
-            
-            // Draw loading indicator on top if still loading (not cached)
-            if (imageLoading && !isScrolling) {
-                calculateLayout(width, height);
-                drawLoadingIndicator(canvas, imageRect);
+        if (raster != null) {
+            canvas.drawBitmap(raster, 0, 0, null);
+            if (hardwareImage) {
+                painter.drawImageLayer(surface, content);
             }
         } else {
-            // Fallback: draw directly if no cache available
-            drawCardContent(canvas, width, height);
-            
-            // Draw loading indicator directly
-            if (imageLoading && !isScrolling) {
-                drawLoadingIndicator(canvas, imageRect);
-            }
+            // Fallback: draw directly if no raster available
+            painter.drawCard(surface, content, true);
         }
         
-        // Mark cache as clean
-        cardCacheDirty = false;
-        cachedProductId = productId;
-    }
-    
-    private void prepareCachedCard(int width, int height) {
-        // Create or recreate cached bitmap if needed
-        if (cachedCardBitmap == null || cachedCardBitmap.isRecycled() ||
-            cachedCardBitmap.getWidth() != width || cachedCardBitmap.getHeight() != height) {
-            
-            if (cachedCardBitmap != null && !cachedCardBitmap.isRecycled()) {
-                cachedCardBitmap.recycle();
-            }
-            
-            try {
-                cachedCardBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-                cachedCardCanvas = new Canvas(cachedCardBitmap);
-            } catch (OutOfMemoryError e) {
-                // If we can't create cache, continue without it
-                cachedCardBitmap = null;
-                cachedCardCanvas = null;
-            }
-        } else if (cachedCardCanvas != null) {
-            // Clear existing cache
-            cachedCardCanvas.drawColor(0, android.graphics.PorterDuff.Mode.CLEAR);
+        // Draw loading indicator on top if still loading (never rasterized)
+        if (imageLoading && !isScrolling) {
+            painter.drawLoadingIndicator(surface, loadingRotation);
         }
+        surface.setCanvas(null);
     }
     
-    private void drawCardContent(Canvas canvas, int width, int height) {
-        // Update card rect with padding for shadow
-        int shadowOffset = StyleUtils.dpToPx(getContext(), 2);
-        cardRect.set(shadowOffset, shadowOffset, width - shadowOffset, height - shadowOffset);
-        shadowRect.set(shadowOffset + 2, shadowOffset + 2, width, height);
-        
-        // Draw shadow first
-        canvas.drawRoundRect(shadowRect, cornerRadius, cornerRadius, shadowPaint);
-        
-        // Draw card background with rounded corners
-        canvas.drawRoundRect(cardRect, cornerRadius, cornerRadius, backgroundPaint);
-        
-        // Calculate layout
-        calculateLayout(width, height);
-        
-        // Always draw image with loading state included in cache
-        drawImageWithLoadingState(canvas);
-        
-        // Draw discount badge if applicable
-        if (currentProduct.hasDiscount()) {
-            drawDiscountBadge(canvas);
+    /**
+     * Render the static card into a cached raster, reusing this card's stale
+     * render of the same product when there is one
+     */
+    private Bitmap renderRaster(CardRasterCache rasters, String key, int width, int height, boolean hardwareImage) {
+        Bitmap raster = rasters.obtain(width, height, staleRasterKey);
+        staleRasterKey = null;
+        if (raster == null) {
+            return null;
         }
-        
-        // Draw subtle divider between image and content
-        drawContentDivider(canvas);
-        
-        // Draw text content with better spacing
-        drawTextContent(canvas);
+        surface.setCanvas(rasters.canvasFor(raster));
+        painter.drawCard(surface, content, !hardwareImage);
+        rasters.put(key, raster);
+        return raster;
     }
     
-    private void drawImageWithLoadingState(Canvas canvas) {
-        if (productImage != null && !productImage.isRecycled()) {
-            // Draw product image with proper scaling
-            drawImageWithRoundedCorners(canvas, productImage, imageRect);
+    /**
+     * Key the raster by everything it depends on: product, its content, image
+     * state and size. Called when one of those changes, never from onDraw.
+     */
+    private void updateRasterKey(int width, int height) {
+        if (currentProduct == null || currentProduct.isPlaceholder() || width <= 0 || height <= 0) {
+            rasterKey.clear();
+            return;
+        }
+        String imageState;
+        if (hasHardwareImage()) {
+            imageState = CardRasterKey.IMAGE_SEPARATE;
+        } else if (productImage != null && !productImage.isRecycled() && productImageUrl != null) {
+            imageState = productImageUrl;
         } else {
-            // Draw elegant placeholder (static content only for cache)
-            drawImagePlaceholder(canvas, imageRect);
-            // Loading indicator will be drawn separately to allow animation
+            imageState = CardRasterKey.IMAGE_PLACEHOLDER;
         }
+        rasterKey.set(currentProduct.getId(), currentProduct.getContentVersion(), width, height, imageState);
     }
     
-    private void drawImagePlaceholder(Canvas canvas, RectF rect) {
-        // Gradient placeholder background
-        Paint placeholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        placeholderPaint.setColor(0xFFF5F5F5); // Light gray
-        canvas.drawRoundRect(rect, cornerRadius, cornerRadius, placeholderPaint);
-        
-        // Draw placeholder icon/text
-        Paint iconPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        iconPaint.setColor(0xFFE0E0E0);
-        iconPaint.setTextSize(StyleUtils.spToPx(getContext(), 24));
-        iconPaint.setTextAlign(Paint.Align.CENTER);
-        
-        float centerX = rect.centerX();
-        float centerY = rect.centerY();
-        
-        // Draw image icon
-        canvas.drawText("📷", centerX, centerY + 8, iconPaint);
-    }
-    
-    private void calculateLayout(int width, int height) {
-        // Image rect (top portion of card)
-        imageRect.set(
-            cardPadding, 
-            cardPadding,
-            width - cardPadding, 
-            cardPadding + imageHeight
-        );
-        
-        // Text starts below image with some spacing
-        textStartY = imageRect.bottom + StyleUtils.dpToPx(getContext(), StyleUtils.SPACING_SMALL);
-        
-        // Pre-calculate title layout if text changed
-        String title = currentProduct.getTitle();
-        if (!title.equals(cachedTitle)) {
-            cachedTitle = title;
-            int titleWidth = (int) (width - 2 * cardPadding);
-            titleLayout = new StaticLayout(
-                title,
-                titlePaint,
-                titleWidth,
-                Layout.Alignment.ALIGN_NORMAL,
-                1.0f,
-                0f,
-                false
-            );
+    /**
+     * The image changed; keep the old key so its bitmap is reused
+     */
+    private void invalidateRaster() {
+        String previous = rasterKey.get();
+        updateRasterKey(getWidth(), getHeight());
+        if (previous != null && !previous.equals(rasterKey.get())) {
+            staleRasterKey = previous;
         }
     }
     
-    
-    private void drawDiscountBadge(Canvas canvas) {
-        if (!currentProduct.hasDiscount()) return;
-        
-        String discountText = currentProduct.getFormattedDiscount();
-        float badgeWidth = badgeTextPaint.measureText(discountText) + StyleUtils.dpToPx(getContext(), 12);
-        float badgeHeight = StyleUtils.dpToPx(getContext(), 20);
-        
-        // Position badge in top-right corner of image
-        badgeRect.set(
-            imageRect.right - badgeWidth - StyleUtils.dpToPx(getContext(), 8),
-            imageRect.top + StyleUtils.dpToPx(getContext(), 8),
-            imageRect.right - StyleUtils.dpToPx(getContext(), 8),
-            imageRect.top + StyleUtils.dpToPx(getContext(), 8) + badgeHeight
-        );
-        
-        // Draw badge background with rounded corners
-        canvas.drawRoundRect(badgeRect, badgeHeight / 2, badgeHeight / 2, badgePaint);
-        
-        // Draw badge text
-        canvas.drawText(
-            discountText, 
-            badgeRect.centerX(), 
-            badgeRect.centerY() + 4, 
-            badgeTextPaint
-        );
-    }
-    
-    private void drawContentDivider(Canvas canvas) {
-        float dividerY = imageRect.bottom + StyleUtils.dpToPx(getContext(), 8);
-        float margin = StyleUtils.dpToPx(getContext(), 12);
-        
-        canvas.drawLine(
-            cardRect.left + margin,
-            dividerY,
-            cardRect.right - margin,
-            dividerY,
-            dividerPaint
-        );
-    }
-    
-    private void drawImageWithRoundedCorners(Canvas canvas, Bitmap bitmap, RectF destRect) {
-        // Calculate source rect to maintain aspect ratio (center crop)
-        int bitmapWidth = bitmap.getWidth();
-        int bitmapHeight = bitmap.getHeight();
-        
-        float scaleX = destRect.width() / bitmapWidth;
-        float scaleY = destRect.height() / bitmapHeight;
-        float scale = Math.max(scaleX, scaleY);
-        
-        float scaledWidth = bitmapWidth * scale;
-        float scaledHeight = bitmapHeight * scale;
-        
-        float dx = (destRect.width() - scaledWidth) * 0.5f;
-        float dy = (destRect.height() - scaledHeight) * 0.5f;
-        
-        // Save canvas and clip to rounded rect
-        int saveCount = canvas.save();
-        canvas.clipRect(destRect);
-        
-        // Draw bitmap centered
-        canvas.drawBitmap(bitmap,
-            null,
-            new RectF(
-                destRect.left + dx,
-                destRect.top + dy,
-                destRect.left + dx + scaledWidth,
-                destRect.top + dy + scaledHeight
-            ),
-            imagePaint);
-        
-        canvas.restoreToCount(saveCount);
+    /**
+     * Hardware bitmaps stay out of the card cache and are drawn straight onto
+     * the (accelerated) view canvas each frame, which costs no upload
+     */
+    private boolean hasHardwareImage() {
+        return productImage != null && !productImage.isRecycled() && ImageLoader.isHardware(productImage);
     }
     
-    private void drawLoadingIndicator(Canvas canvas, RectF rect) {
-        float centerX = rect.centerX();
-        float centerY = rect.centerY();
-        float radius = Math.min(rect.width(), rect.height()) * 0.15f;
-        
-        RectF arcRect = new RectF(
-            centerX - radius, centerY - radius,
-            centerX + radius, centerY + radius
-        );
+    private void calculateLayout(int width, int height) {
+        painter.layout(width, height);
         
-        loadingPaint.setAlpha(180);
-        canvas.drawArc(arcRect, loadingRotation, 90, false, loadingPaint);
+        // Usually precomputed with the page; shaped here only on a miss
+        int titleWidth = width - 2 * cardPadding;
+        if (!currentProduct.isPlaceholder() && (cardText == null || cardText.width != titleWidth)) {
+            cardText = textLayouts.obtain(currentProduct, titleWidth);
+        }
+        surface.setTextLayout(cardText != null ? cardText.titleLayout : null);
+        surface.setImage(productImage, imagePaint);
     }
     
-    private void drawTextContent(Canvas canvas) {
-        float currentY = textStartY;
-        float leftX = cardPadding;
-        float rightX = getWidth() - cardPadding;
+    /**
+     * The bound product and its shaped text, as the painter reads them
+     */
+    private final class ItemContent implements CardContent {
+        @Override
+        public String getBrandLabel() {
+            return currentProduct.getBrandLabel();
+        }
         
-        // Draw brand name with better positioning
-        String brand = currentProduct.getBrand();
-        if (brand != null && !brand.isEmpty()) {
-            canvas.drawText(brand.toUpperCase(), leftX, currentY, brandPaint);
-            currentY += itemSpacing * 2; // More space after brand
+        @Override
+        public String getFormattedRating() {
+            return currentProduct.getFormattedRating();
         }
         
-        // Draw title (multi-line support) with proper spacing
-        if (titleLayout != null) {
-            canvas.save();
-            canvas.translate(leftX, currentY);
-            titleLayout.draw(canvas);
-            canvas.restore();
-            currentY += titleLayout.getHeight() + sectionSpacing; // Much more space before price
+        @Override
+        public String getFormattedPrice() {
+            return currentProduct.getFormattedPrice();
         }
         
-        // Visual separator removed per user request
+        @Override
+        public boolean hasDiscount() {
+            return currentProduct.hasDiscount();
+        }
         
-        // Draw rating first (before price) with stars
-        String rating = currentProduct.getFormattedRating();
-        if (rating != null && !rating.isEmpty()) {
-            drawRatingWithStars(canvas, leftX, currentY, rating);
-            currentY += itemSpacing * 3; // More space after rating
+        @Override
+        public String getFormattedDiscountedPrice() {
+            return currentProduct.getFormattedDiscountedPrice();
         }
         
-        // Add even more space before price section
-        currentY += itemSpacing * 2;
+        @Override
+        public String getFormattedDiscount() {
+            return currentProduct.getFormattedDiscount();
+        }
         
-        // Draw price information with better alignment
-        drawPriceSection(canvas, leftX, rightX, currentY);
-    }
-    
-    private void drawPriceSeparator(Canvas canvas, float leftX, float rightX, float y) {
-        // Draw a very subtle separator line
-        Paint separatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        separatorPaint.setColor(0xFFF0F0F0);
-        separatorPaint.setStrokeWidth(1);
+        @Override
+        public boolean hasTitle() {
+            return cardText != null;
+        }
         
-        float margin = StyleUtils.dpToPx(getContext(), 16);
-        canvas.drawLine(leftX + margin, y, rightX - margin, y, separatorPaint);
-    }
-    
-    private void drawRatingWithStars(Canvas canvas, float x, float y, String rating) {
-        // Draw star emoji
-        TextPaint starPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
-        starPaint.setTextSize(StyleUtils.spToPx(getContext(), 12));
-        starPaint.setColor(0xFFFFB300); // Amber color
+        @Override
+        public float getTitleHeight() {
+            return cardText.titleLayout.getHeight();
+        }
         
-        canvas.drawText("⭐", x, y, starPaint);
+        @Override
+        public float getOriginalPriceWidth() {
+            return cardText.originalPriceWidth;
+        }
         
-        // Draw rating text next to star
-        float starWidth = starPaint.measureText("⭐ ");
-        canvas.drawText(rating, x + starWidth, y, ratingPaint);
-    }
-    
-    private void drawPriceSection(Canvas canvas, float leftX, float rightX, float currentY) {
-        if (currentProduct.hasDiscount()) {
-            // Draw discounted price prominently
-            String discountedPrice = currentProduct.getFormattedDiscountedPrice();
-            canvas.drawText(discountedPrice, leftX, currentY, pricePaint);
-            
-            // Add more space between main price and original price/discount
-            float nextLineY = currentY + (lineHeight * 1.2f); // Increased spacing
-            float currentX = leftX;
-            
-            // Original price (crossed out)
-            String originalPrice = currentProduct.getFormattedPrice();
-            canvas.drawText(originalPrice, currentX, nextLineY, originalPricePaint);
-            currentX += originalPricePaint.measureText(originalPrice) + StyleUtils.dpToPx(getContext(), 12); // More space
-            
-            // Discount percentage with better spacing
-            String discount = currentProduct.getFormattedDiscount();
-            canvas.drawText(discount, currentX, nextLineY, discountPaint);
-        } else {
-            // Draw regular price
-            String price = currentProduct.getFormattedPrice();
-            canvas.drawText(price, leftX, currentY, pricePaint);
+        @Override
+        public float getDiscountWidth() {
+            return cardText.discountWidth;
         }
     }
     
@@ -546,30 +388,85 @@ public class ProductCardView extends View {
      */
     public void bindProduct(ProductItem product) {
         // Check if this is the same product to avoid unnecessary work
-        if (this.currentProduct != null && product != null && 
-            this.currentProduct.getId() == product.getId()) {
+        if (this.currentProduct != null && this.currentProduct.hasSameContent(product)) {
+            this.currentProduct = product;
             return; // Same product, use cached drawing
         }
         
         this.currentProduct = product;
-        cachedTitle = null; // Force title layout recalculation
-        cardCacheDirty = true; // Mark cache as dirty for new product
+        cardText = null; // Looked up again for the new product
+        // A different product: its render (if cached) is looked up by its own key
+        rasterKey.clear();
+        staleRasterKey = null;
         
         if (product == null) {
             clearContent();
             return;
         }
         
+        if (product.isPlaceholder()) {
+            // Nothing to load; drop image references so paged-out items stay light
+            cancelImageRequest();
+            releaseProductImage();
+            imageLoading = false;
+            stopLoadingAnimation();
+            requestLayout();
+            invalidate();
+            return;
+        }
+        
         // Load product image
-        loadProductImage(product.getPrimaryImageUrl());
+        loadProductImage(resolveImageUrl(product));
+        updateRasterKey(getWidth(), getHeight());
         
         // Trigger redraw
         invalidate();
     }
     
+    /**
+     * Hand the displayed bitmap back to the loader for reuse
+     */
+    private void releaseProductImage() {
+        if (productImage != null) {
+            ImageLoader.getInstance().releaseBitmap(productImage);
+            productImage = null;
+            productImageUrl = null;
+        }
+    }
+    
+    private void cancelImageRequest() {
+        if (imageRequest != null) {
+            imageRequest.cancel();
+            imageRequest = null;
+        }
+    }
+    
+    /**
+     * Image variant this card loads for {@code product} at its current size
+     */
+    public String resolveImageUrl(ProductItem product) {
+        return product.getImageUrl(imageVariants, getImageTargetWidth(), getImageTargetHeight());
+    }
+    
+    /**
+     * Size the product image is decoded at; square until the card is laid out
+     */
+    public int getImageTargetWidth() {
+        int width = (int) (painter.getImageRight() - painter.getImageLeft());
+        return width > 0 && painter.getImageBottom() > painter.getImageTop() ? width : imageHeight;
+    }
+    
+    public int getImageTargetHeight() {
+        int height = (int) (painter.getImageBottom() - painter.getImageTop());
+        return height > 0 && painter.getImageRight() > painter.getImageLeft() ? height : imageHeight;
+    }
+    
     private void loadProductImage(String imageUrl) {
+        // The previous product's image is no longer wanted by this card
+        cancelImageRequest();
+        
         if (imageUrl == null || imageUrl.isEmpty()) {
-            productImage = null;
+            releaseProductImage();
             imageLoading = false;
             return;
         }
@@ -577,33 +474,33 @@ public class ProductCardView extends View {
         imageLoading = true;
         startLoadingAnimation();
         
-        // Calculate target size
-        int targetWidth = (int) imageRect.width();
-        int targetHeight = (int) imageRect.height();
-        
-        if (targetWidth <= 0 || targetHeight <= 0) {
-            targetWidth = imageHeight;
-            targetHeight = imageHeight;
-        }
+        int targetWidth = getImageTargetWidth();
+        int targetHeight = getImageTargetHeight();
         
-        ImageLoader.getInstance().loadImage(imageUrl, targetWidth, targetHeight, new ImageLoader.ImageLoadCallback() {
+        // Cards bound ahead of the viewport (RecyclerView prefetch) are not attached yet
+        ImageLoader.Priority priority = isAttachedToWindow()
+            ? ImageLoader.Priority.VISIBLE
+            : ImageLoader.Priority.NEAR;
+        imageRequest = ImageLoader.getInstance().loadImage(imageUrl, targetWidth, targetHeight, priority, new ImageLoader.ImageLoadCallback() {
             @Override
             public void onSuccess(Bitmap bitmap) {
+                imageRequest = null;
+                releaseProductImage();
                 productImage = bitmap;
+                productImageUrl = imageUrl;
                 imageLoading = false;
                 stopLoadingAnimation();
-                // Mark cache dirty since image changed
-                cardCacheDirty = true;
+                invalidateRaster();
                 invalidate();
             }
             
             @Override
             public void onError(String error) {
-                productImage = null;
+                imageRequest = null;
+                releaseProductImage();
                 imageLoading = false;
                 stopLoadingAnimation();
-                // Mark cache dirty since image changed
-                cardCacheDirty = true;
+                invalidateRaster();
                 invalidate();
             }
         });
@@ -623,12 +520,12 @@ public class ProductCardView extends View {
      * Clear all content (for view recycling)
      */
     public void clearContent() {
+        cancelImageRequest();
         currentProduct = null;
-        cachedTitle = null;
-        titleLayout = null;
-        cardCacheDirty = true;
-        cachedProductId = null;
-        // Keep productImage and cached bitmap for potential reuse
+        cardText = null;
+        rasterKey.clear();
+        staleRasterKey = null;
+        // Keep productImage for potential reuse; the raster stays in the shared cache
         invalidate();
     }
     
@@ -644,7 +541,7 @@ public class ProductCardView extends View {
      */
     public void setOnProductClickListener(OnProductClickListener listener) {
         setOnClickListener(v -> {
-            if (currentProduct != null && listener != null) {
+            if (currentProduct != null && !currentProduct.isPlaceholder() && listener != null) {
                 listener.onProductClick(currentProduct);
             }
         });
@@ -679,16 +576,41 @@ public class ProductCardView extends View {
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         // Calculate desired height based on content with better spacing
         int width = MeasureSpec.getSize(widthMeasureSpec);
-        int shadowOffset = StyleUtils.dpToPx(getContext(), 2);
-        int desiredHeight = shadowOffset + cardPadding * 2 + imageHeight + 
-            StyleUtils.dpToPx(getContext(), 160); // Even more space for better spacing
+        int desiredHeight = shadowOffset + cardPadding * 2 + imageHeight + contentHeight;
+        
+        // Placeholders keep the height the real card had, so offsets don't shift
+        if (currentProduct != null && currentProduct.getPlaceholderHeight() > 0) {
+            desiredHeight = currentProduct.getPlaceholderHeight();
+        }
         
         setMeasuredDimension(width, desiredHeight);
     }
     
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        // A render at the old size is neither valid nor reusable
+        staleRasterKey = null;
+        updateRasterKey(w, h);
+        // Pages that arrive from now on are shaped at this card's text width
+        textLayouts.setTextWidth(w - 2 * cardPadding);
+    }
+    
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (imageRequest != null) {
+            imageRequest.setPriority(ImageLoader.Priority.VISIBLE);
+        }
+    }
+    
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
+        // Scrolled off: keep loading, but behind on-screen cards
+        if (imageRequest != null) {
+            imageRequest.setPriority(ImageLoader.Priority.NEAR);
+        }
         stopLoadingAnimation();
         // Keep images for performance during recycling
         // Cache cleanup handled by RecyclerView pool
@@ -714,12 +636,8 @@ public class ProductCardView extends View {
      * Clean up resources (called when view is truly discarded)
      */
     public void cleanup() {
-        if (cachedCardBitmap != null && !cachedCardBitmap.isRecycled()) {
-            cachedCardBitmap.recycle();
-            cachedCardBitmap = null;
-        }
-        cachedCardCanvas = null;
-        productImage = null;
+        cancelImageRequest();
+        releaseProductImage();
         stopLoadingAnimation();
     }
     
@@ -0,0 +1,311 @@
+package dev.kadcom.dummyjson.analytics;
+
+import dev.kadcom.dummyjson.models.Cart;
+import dev.kadcom.dummyjson.models.CartsResponse;
+import dev.kadcom.dummyjson.models.Money;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Incremental cart analytics. Cart pages are ingested into columnar primitive
+ * arrays and only the newly appended lines are aggregated, then merged into
+ * running totals. Ranges longer than {@value #SEQUENTIAL_THRESHOLD} lines are
+ * split in parallel on a {@link ForkJoinPool}; a DummyJSON page (about 150
+ * lines) is below that and is aggregated on the calling thread, so in practice
+ * only {@link #recompute()} over a large table runs in parallel. Amounts are summed
+ * exactly as {@code long} minor units. Re-ingesting a cart that was already
+ * seen retracts its previous lines before adding the new ones; the retracted
+ * lines are compacted away once they make up most of the table.
+ */
+public class CartAnalytics {
+    /** Width of a discount band in percentage points. */
+    public static final int DISCOUNT_BAND_WIDTH = 5;
+    /** Lines with a discount above this many bands share the last band. */
+    public static final int DISCOUNT_BANDS = 6;
+    
+    // Below this, forking costs more than it saves: every task merges its own maps
+    private static final int SEQUENTIAL_THRESHOLD = 2048;
+    
+    private final ForkJoinPool pool;
+    private final CartTable table = new CartTable(1024);
+    private final Map<Integer, int[]> cartLines = new HashMap<>();
+    private final Map<Integer, Integer> cartUsers = new HashMap<>();
+    private final Map<Integer, Integer> cartsPerUser = new HashMap<>();
+    private Partial totals = new Partial();
+    
+    public CartAnalytics() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    public CartAnalytics(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * Add a page of carts. Only the page's own lines are aggregated.
+     */
+    public synchronized void ingest(CartsResponse page) {
+        if (page == null || page.getCarts() == null || page.getCarts().isEmpty()) {
+            return;
+        }
+        
+        Partial retracted = null;
+        int start = table.size;
+        for (Cart cart : page.getCarts()) {
+            int[] previous = cartLines.get(cart.getId());
+            if (previous != null) {
+                if (retracted == null && previous[0] < start) {
+                    retracted = new Partial();
+                }
+                retract(cart.getId(), previous, start, retracted);
+            }
+            int first = table.append(cart);
+            cartLines.put(cart.getId(), new int[] {first, table.size});
+            cartUsers.put(cart.getId(), cart.getUserId());
+            cartsPerUser.merge(cart.getUserId(), 1, Integer::sum);
+        }
+        
+        Partial added = aggregate(start, table.size);
+        totals.merge(added, 1);
+        if (retracted != null) {
+            totals.merge(retracted, -1);
+        }
+        if (table.needsCompaction()) {
+            compact();
+        }
+    }
+    
+    /**
+     * Mark a cart's lines dead. Only lines below {@code start} are already in
+     * the running totals and go into {@code retracted}; later ones were
+     * appended by this same page (a cart repeated within it) and are dropped
+     * before being aggregated.
+     */
+    private void retract(int cartId, int[] range, int start, Partial retracted) {
+        for (int row = range[0]; row < range[1]; row++) {
+            if (table.alive[row]) {
+                if (row < start) {
+                    retracted.accumulate(table, row);
+                }
+                table.retire(row);
+            }
+        }
+        Integer userId = cartUsers.remove(cartId);
+        if (userId != null) {
+            cartsPerUser.merge(userId, -1, Integer::sum);
+            cartsPerUser.remove(userId, 0);
+        }
+    }
+    
+    private void compact() {
+        int[] newIndex = table.compact();
+        for (int[] range : cartLines.values()) {
+            range[0] = newIndex[range[0]];
+            range[1] = newIndex[range[1]];
+        }
+    }
+    
+    /**
+     * Recompute everything from the stored lines. Normally unnecessary; useful
+     * to verify incremental totals.
+     */
+    public synchronized Report recompute() {
+        return toReport(aggregate(0, table.size));
+    }
+    
+    private Partial aggregate(int from, int to) {
+        AggregateTask task = new AggregateTask(table, from, to);
+        // A range that won't be split gains nothing from a hop to the pool
+        return to - from <= SEQUENTIAL_THRESHOLD ? task.compute() : pool.invoke(task);
+    }
+    
+    public synchronized Report getReport() {
+        return toReport(totals);
+    }
+    
+    public synchronized int getCartCount() {
+        return cartLines.size();
+    }
+    
+    synchronized int getStoredLines() {
+        return table.size;
+    }
+    
+    public synchronized void clear() {
+        table.clear();
+        cartLines.clear();
+        cartUsers.clear();
+        cartsPerUser.clear();
+        totals = new Partial();
+    }
+    
+    private Report toReport(Partial partial) {
+        GroupTotals[] bands = new GroupTotals[DISCOUNT_BANDS];
+        for (int i = 0; i < DISCOUNT_BANDS; i++) {
+            bands[i] = new GroupTotals(partial.bandUnits[i], partial.bandLines[i],
+                partial.bandGross[i], partial.bandNet[i]);
+        }
+        return new Report(
+            cartLines.size(),
+            new GroupTotals(partial.units, partial.lines, partial.gross, partial.net),
+            partial.byProduct.toMap(),
+            partial.byUser.toMap(),
+            bands,
+            new HashMap<>(cartsPerUser));
+    }
+    
+    static int discountBand(double discountPercentage) {
+        if (discountPercentage <= 0) {
+            return 0;
+        }
+        int band = (int) Math.ceil(discountPercentage / DISCOUNT_BAND_WIDTH);
+        return Math.min(band, DISCOUNT_BANDS - 1);
+    }
+    
+    /**
+     * Mergeable partial aggregate over a set of cart lines.
+     */
+    static final class Partial {
+        long units;
+        long lines;
+        long gross;
+        long net;
+        final IntAccumulator byProduct = new IntAccumulator(64);
+        final IntAccumulator byUser = new IntAccumulator(64);
+        final long[] bandUnits = new long[DISCOUNT_BANDS];
+        final long[] bandLines = new long[DISCOUNT_BANDS];
+        final long[] bandGross = new long[DISCOUNT_BANDS];
+        final long[] bandNet = new long[DISCOUNT_BANDS];
+        
+        void accumulate(CartTable table, int row) {
+            int quantity = table.quantity[row];
+            long gross = table.gross[row];
+            long net = table.net[row];
+            this.units += quantity;
+            this.lines++;
+            this.gross += gross;
+            this.net += net;
+            byProduct.add(table.productId[row], quantity, 1, gross, net);
+            byUser.add(table.userId[row], quantity, 1, gross, net);
+            int band = discountBand(table.discountPercentage[row]);
+            bandUnits[band] += quantity;
+            bandLines[band]++;
+            bandGross[band] += gross;
+            bandNet[band] += net;
+        }
+        
+        void merge(Partial other, int sign) {
+            units += sign * other.units;
+            lines += sign * other.lines;
+            gross += sign * other.gross;
+            net += sign * other.net;
+            byProduct.merge(other.byProduct, sign);
+            byUser.merge(other.byUser, sign);
+            for (int i = 0; i < DISCOUNT_BANDS; i++) {
+                bandUnits[i] += sign * other.bandUnits[i];
+                bandLines[i] += sign * other.bandLines[i];
+                bandGross[i] += sign * other.bandGross[i];
+                bandNet[i] += sign * other.bandNet[i];
+            }
+        }
+    }
+    
+    private static final class AggregateTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+        
+        private final CartTable table;
+        private final int from;
+        private final int to;
+        
+        AggregateTask(CartTable table, int from, int to) {
+            this.table = table;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Partial compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Partial partial = new Partial();
+                for (int row = from; row < to; row++) {
+                    if (table.alive[row]) {
+                        partial.accumulate(table, row);
+                    }
+                }
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(table, from, mid);
+            AggregateTask right = new AggregateTask(table, mid, to);
+            left.fork();
+            Partial result = right.compute();
+            result.merge(left.join(), 1);
+            return result;
+        }
+    }
+    
+    /**
+     * Immutable snapshot of the aggregates.
+     */
+    public static final class Report {
+        private final int carts;
+        private final GroupTotals overall;
+        private final Map<Integer, GroupTotals> byProduct;
+        private final Map<Integer, GroupTotals> byUser;
+        private final GroupTotals[] byDiscountBand;
+        private final Map<Integer, Integer> cartsPerUser;
+        
+        Report(int carts, GroupTotals overall, Map<Integer, GroupTotals> byProduct,
+               Map<Integer, GroupTotals> byUser, GroupTotals[] byDiscountBand,
+               Map<Integer, Integer> cartsPerUser) {
+            this.carts = carts;
+            this.overall = overall;
+            this.byProduct = Collections.unmodifiableMap(byProduct);
+            this.byUser = Collections.unmodifiableMap(byUser);
+            this.byDiscountBand = byDiscountBand;
+            this.cartsPerUser = Collections.unmodifiableMap(cartsPerUser);
+        }
+        
+        public int getCartCount() { return carts; }
+        public GroupTotals getOverall() { return overall; }
+        public Money getRevenue() { return overall.getRevenue(); }
+        public Money getDiscountTotal() { return overall.getDiscount(); }
+        public long getUnits() { return overall.getUnits(); }
+        public Map<Integer, GroupTotals> getByProduct() { return byProduct; }
+        public Map<Integer, GroupTotals> getByUser() { return byUser; }
+        public Map<Integer, Integer> getCartsPerUser() { return cartsPerUser; }
+        
+        /**
+         * Totals for lines whose discount falls in
+         * ({@code (band - 1) * DISCOUNT_BAND_WIDTH}, {@code band * DISCOUNT_BAND_WIDTH}];
+         * band 0 holds undiscounted lines.
+         */
+        public GroupTotals getDiscountBand(int band) {
+            return byDiscountBand[band];
+        }
+        
+        public double getAverageBasketUnits() {
+            return carts > 0 ? (double) overall.getUnits() / carts : 0;
+        }
+        
+        public Money getAverageBasketValue() {
+            return carts > 0 ? overall.getRevenue().dividedBy(carts) : Money.ZERO;
+        }
+        
+        @Override
+        public String toString() {
+            return "CartAnalytics.Report{" +
+                    "carts=" + carts +
+                    ", revenue=" + overall.getRevenue() +
+                    ", discount=" + overall.getDiscount() +
+                    ", units=" + overall.getUnits() +
+                    ", products=" + byProduct.size() +
+                    ", users=" + byUser.size() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.kadcom.dummyjson.analytics;
+
+import dev.kadcom.dummyjson.models.Cart;
+import dev.kadcom.dummyjson.models.CartProduct;
+
+import java.util.Arrays;
+
+/**
+ * Columnar storage of cart lines in primitive arrays; amounts are in minor
+ * units. Lines of a cart that has been re-ingested are marked dead, and the
+ * table is compacted once dead lines outnumber live ones.
+ */
+class CartTable {
+    // Smaller tables aren't worth compacting
+    private static final int MIN_COMPACT_SIZE = 64;
+
+    int size;
+    int dead;
+    int[] cartId;
+    int[] userId;
+    int[] productId;
+    int[] quantity;
+    long[] gross;
+    long[] net;
+    double[] discountPercentage;
+    boolean[] alive;
+
+    CartTable(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        cartId = new int[capacity];
+        userId = new int[capacity];
+        productId = new int[capacity];
+        quantity = new int[capacity];
+        gross = new long[capacity];
+        net = new long[capacity];
+        discountPercentage = new double[capacity];
+        alive = new boolean[capacity];
+    }
+
+    /**
+     * Appends every line of {@code cart}, returning the index of the first one.
+     */
+    int append(Cart cart) {
+        int start = size;
+        if (cart.isEmpty()) {
+            return start;
+        }
+        ensureCapacity(size + cart.getProducts().size());
+        for (CartProduct line : cart.getProducts()) {
+            cartId[size] = cart.getId();
+            userId[size] = cart.getUserId();
+            productId[size] = line.getId();
+            quantity[size] = line.getQuantity();
+            gross[size] = line.getTotalMoney().getMinorUnits();
+            net[size] = line.getDiscountedTotalMoney().getMinorUnits();
+            discountPercentage[size] = line.getDiscountPercentage();
+            alive[size] = true;
+            size++;
+        }
+        return start;
+    }
+
+    void retire(int row) {
+        alive[row] = false;
+        dead++;
+    }
+
+    boolean needsCompaction() {
+        return size >= MIN_COMPACT_SIZE && dead > size / 2;
+    }
+
+    /**
+     * Drops dead lines, keeping live ones in order. Returns, for each old index
+     * {@code 0..size} inclusive, the number of live lines before it: a live
+     * line's new index, and the new bound of any range ending there.
+     */
+    int[] compact() {
+        int[] newIndex = new int[size + 1];
+        int write = 0;
+        for (int row = 0; row < size; row++) {
+            newIndex[row] = write;
+            if (!alive[row]) {
+                continue;
+            }
+            if (write != row) {
+                cartId[write] = cartId[row];
+                userId[write] = userId[row];
+                productId[write] = productId[row];
+                quantity[write] = quantity[row];
+                gross[write] = gross[row];
+                net[write] = net[row];
+                discountPercentage[write] = discountPercentage[row];
+                alive[write] = true;
+            }
+            write++;
+        }
+        newIndex[size] = write;
+        size = write;
+        dead = 0;
+        return newIndex;
+    }
+
+    void clear() {
+        size = 0;
+        dead = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= cartId.length) {
+            return;
+        }
+        int capacity = Math.max(required, cartId.length * 2);
+        cartId = Arrays.copyOf(cartId, capacity);
+        userId = Arrays.copyOf(userId, capacity);
+        productId = Arrays.copyOf(productId, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+        gross = Arrays.copyOf(gross, capacity);
+        net = Arrays.copyOf(net, capacity);
+        discountPercentage = Arrays.copyOf(discountPercentage, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+    }
+}
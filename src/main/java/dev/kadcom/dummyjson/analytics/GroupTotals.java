@@ -0,0 +1,39 @@
+package dev.kadcom.dummyjson.analytics;
+
+import dev.kadcom.dummyjson.models.Money;
+
+/**
+ * Aggregated cart-line totals for one group (product, user or discount band).
+ */
+public class GroupTotals {
+    private final long units;
+    private final long lines;
+    private final long grossMinor;
+    private final long revenueMinor;
+    
+    GroupTotals(long units, long lines, long grossMinor, long revenueMinor) {
+        this.units = units;
+        this.lines = lines;
+        this.grossMinor = grossMinor;
+        this.revenueMinor = revenueMinor;
+    }
+    
+    public long getUnits() { return units; }
+    public long getLines() { return lines; }
+    public Money getGross() { return Money.ofMinorUnits(grossMinor); }
+    public Money getRevenue() { return Money.ofMinorUnits(revenueMinor); }
+    
+    public Money getDiscount() {
+        return Money.ofMinorUnits(grossMinor - revenueMinor);
+    }
+    
+    @Override
+    public String toString() {
+        return "GroupTotals{" +
+                "units=" + units +
+                ", lines=" + lines +
+                ", gross=" + getGross() +
+                ", revenue=" + getRevenue() +
+                '}';
+    }
+}
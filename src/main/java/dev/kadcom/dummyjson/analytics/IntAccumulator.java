@@ -0,0 +1,102 @@
+package dev.kadcom.dummyjson.analytics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Open-addressing map from an int key to running totals, kept in parallel
+ * primitive arrays so per-row accumulation does not box.
+ */
+class IntAccumulator {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private long[] units;
+    private long[] lines;
+    private long[] gross;
+    private long[] net;
+    private int size;
+
+    IntAccumulator(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedKeys * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        units = new long[capacity];
+        lines = new long[capacity];
+        gross = new long[capacity];
+        net = new long[capacity];
+        size = 0;
+    }
+
+    void add(int key, long unitCount, long lineCount, long grossAmount, long netAmount) {
+        int slot = slotFor(key);
+        units[slot] += unitCount;
+        lines[slot] += lineCount;
+        gross[slot] += grossAmount;
+        net[slot] += netAmount;
+    }
+
+    void merge(IntAccumulator other, int sign) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                add(other.keys[i], sign * other.units[i], sign * other.lines[i],
+                    sign * other.gross[i], sign * other.net[i]);
+            }
+        }
+    }
+
+    private int slotFor(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash();
+            return slotFor(key);
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        long[] oldUnits = units;
+        long[] oldLines = lines;
+        long[] oldGross = gross;
+        long[] oldNet = net;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldUnits[i], oldLines[i], oldGross[i], oldNet[i]);
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Materializes non-empty groups; groups whose lines were all retracted are dropped.
+     */
+    Map<Integer, GroupTotals> toMap() {
+        Map<Integer, GroupTotals> result = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && lines[i] != 0) {
+                result.put(keys[i], new GroupTotals(units[i], lines[i], gross[i], net[i]));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package dev.kadcom.dummyjson.client;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Starts at most {@code maxConcurrency} asynchronous tasks at a time; the rest
+ * are queued and started as earlier tasks complete. Never blocks a thread.
+ * Queued tasks are started by a single draining loop, so tasks that complete
+ * synchronously don't recurse through each other's completions.
+ */
+class BoundedFanOut {
+    private final int maxConcurrency;
+    private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+    private int running;
+    private boolean draining;
+
+    BoundedFanOut(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = task.get();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        synchronized (this) {
+            pending.add(start);
+        }
+        drain();
+        return result;
+    }
+
+    private void release() {
+        synchronized (this) {
+            running--;
+        }
+        drain();
+    }
+
+    /**
+     * Start queued tasks while there is capacity. A call made while another
+     * drain is in progress (including from a task it just started) returns at
+     * once; the running loop picks up the freed slot.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (running >= maxConcurrency || pending.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                next = pending.poll();
+                running++;
+            }
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.kadcom.dummyjson.client;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonWriter;
+import dev.kadcom.dummyjson.models.*;
+import okio.BufferedSink;
+import okio.HashingSink;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Incremental catalog refresh. Keeps a 64-bit content hash per product from
+ * the last snapshot; each refresh re-fetches the catalog page by page and
+ * reports only inserted, updated and removed products. A failed refresh
+ * leaves the previous snapshot untouched.
+ */
+public class CatalogRefresher {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    
+    private final DummyJsonClient client;
+    private final JsonAdapter<Product> productAdapter;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private Map<Integer, Long> hashes = new HashMap<>();
+    
+    public CatalogRefresher(DummyJsonClient client) {
+        this.client = client;
+        this.productAdapter = client.getMoshi().adapter(Product.class);
+    }
+    
+    public CatalogRefresher setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+    
+    /**
+     * Fetch the full catalog and compute the delta against the last snapshot.
+     * The first refresh reports every product as inserted.
+     */
+    public synchronized CatalogDelta refresh() throws IOException {
+        Map<Integer, Long> previous = hashes;
+        Map<Integer, Long> current = new HashMap<>(Math.max(16, previous.size() * 2));
+        List<Product> inserted = new ArrayList<>();
+        List<Integer> insertedPositions = new ArrayList<>();
+        List<Product> updated = new ArrayList<>();
+        
+        int skip = 0;
+        int position = 0;
+        ProductsResponse page;
+        do {
+            page = client.getProducts(pageSize, skip);
+            if (page == null || page.getProducts() == null || page.getProducts().isEmpty()) {
+                break;
+            }
+            for (Product product : page.getProducts()) {
+                long hash = contentHash(product);
+                if (current.put(product.getId(), hash) != null) {
+                    continue; // Duplicate across pages shifted by a concurrent insert
+                }
+                Long before = previous.get(product.getId());
+                if (before == null) {
+                    inserted.add(product);
+                    insertedPositions.add(position);
+                } else if (before != hash) {
+                    updated.add(product);
+                }
+                position++;
+            }
+            skip += page.getProducts().size();
+        } while (page.hasMore());
+        
+        Set<Integer> removed = new LinkedHashSet<>(previous.keySet());
+        removed.removeAll(current.keySet());
+        
+        hashes = current;
+        return new CatalogDelta(inserted, insertedPositions, updated, new ArrayList<>(removed), current.size());
+    }
+    
+    public CompletableFuture<CatalogDelta> refreshAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return refresh();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, client.getExecutor());
+    }
+    
+    public synchronized int getSnapshotSize() {
+        return hashes.size();
+    }
+    
+    public synchronized void reset() {
+        hashes = new HashMap<>();
+    }
+    
+    /**
+     * Hash of the product's canonical JSON encoding, streamed through MD5
+     * without materializing the encoded bytes. The encoding is the same for
+     * lazily and eagerly decoded products (see {@code LazyDecoding}).
+     */
+    long contentHash(Product product) throws IOException {
+        HashingSink hashingSink = HashingSink.md5(Okio.blackhole());
+        try (BufferedSink sink = Okio.buffer(hashingSink)) {
+            JsonWriter writer = JsonWriter.of(sink);
+            productAdapter.toJson(writer, product);
+            writer.flush();
+        }
+        return hashingSink.hash().asByteBuffer().getLong();
+    }
+}
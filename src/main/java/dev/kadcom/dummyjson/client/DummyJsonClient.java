@@ -1,5 +1,8 @@
 package dev.kadcom.dummyjson.client;
 
+import dev.kadcom.dummyjson.json.LazyDecoding;
+import dev.kadcom.dummyjson.json.ModelAdapters;
+import dev.kadcom.dummyjson.json.StringPool;
 import dev.kadcom.dummyjson.models.*;
 import com.squareup.moshi.JsonAdapter;
 import com.squareup.moshi.Moshi;
@@ -8,7 +11,9 @@ import okhttp3.*;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLEncoder;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -17,14 +22,18 @@ import java.util.concurrent.Executors;
 
 public class DummyJsonClient {
     private static final String DEFAULT_BASE_URL = "https://dummyjson.com";
+    private static final int DEFAULT_PRODUCT_CACHE_SIZE = 500;
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
     
     private final String baseUrl;
     private final OkHttpClient okHttpClient;
     private final boolean useOkHttp;
+    private final StringPool stringPool;
+    private final LazyDecoding lazyDecoding;
     private final Moshi moshi;
     private final Executor executor;
     private final Map<String, String> defaultHeaders;
+    private final EntityCache<Integer, Product> productCache;
     private int timeoutMs = 30000;
 
     public DummyJsonClient() {
@@ -43,9 +52,14 @@ public class DummyJsonClient {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         this.okHttpClient = okHttpClient;
         this.useOkHttp = okHttpClient != null;
-        this.moshi = new Moshi.Builder().build();
+        // Per-client pool so repeated catalog values share one String instance
+        this.stringPool = new StringPool();
+        // Heavy nested objects are decoded eagerly unless lazy decoding is enabled
+        this.lazyDecoding = new LazyDecoding(false);
+        this.moshi = ModelAdapters.newBuilder(stringPool, lazyDecoding).build();
         this.executor = Executors.newCachedThreadPool();
         this.defaultHeaders = new HashMap<>();
+        this.productCache = new EntityCache<>(DEFAULT_PRODUCT_CACHE_SIZE);
         // Always request JSON responses
         this.defaultHeaders.put("Accept", "application/json");
         this.defaultHeaders.put("Content-Type", "application/json");
@@ -69,6 +83,26 @@ public class DummyJsonClient {
         this.defaultHeaders.put(key, value);
         return this;
     }
+    
+    /**
+     * Keep product reviews/dimensions and user address/bank/company/crypto as
+     * raw JSON until their getters are first called.
+     */
+    public DummyJsonClient setLazyDecoding(boolean enabled) {
+        this.lazyDecoding.setEnabled(enabled);
+        return this;
+    }
+    
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+    
+    /**
+     * Products decoded by this client, most recently used last.
+     */
+    public EntityCache<Integer, Product> getProductCache() {
+        return productCache;
+    }
 
     // ============ PRODUCTS API ============
     
@@ -80,13 +114,13 @@ public class DummyJsonClient {
         String endpoint = String.format("/products?limit=%d&skip=%d", limit, skip);
         String response = executeRawRequest("GET", endpoint, null);
         JsonAdapter<ProductsResponse> adapter = moshi.adapter(ProductsResponse.class);
-        return adapter.fromJson(response);
+        return cacheProducts(adapter.fromJson(response));
     }
     
     public Product getProduct(int id) throws IOException {
         String response = executeRawRequest("GET", "/products/" + id, null);
         JsonAdapter<Product> adapter = moshi.adapter(Product.class);
-        return adapter.fromJson(response);
+        return cacheProduct(adapter.fromJson(response));
     }
     
     public ProductsResponse searchProducts(String query) throws IOException {
@@ -94,10 +128,9 @@ public class DummyJsonClient {
     }
     
     public ProductsResponse searchProducts(String query, int limit, int skip) throws IOException {
-        String endpoint = String.format("/products/search?q=%s&limit=%d&skip=%d", query, limit, skip);
-        String response = executeRawRequest("GET", endpoint, null);
+        String response = executeRawRequest("GET", searchEndpoint(query, limit, skip), null);
         JsonAdapter<ProductsResponse> adapter = moshi.adapter(ProductsResponse.class);
-        return adapter.fromJson(response);
+        return cacheProducts(adapter.fromJson(response));
     }
     
     public ProductsResponse getProductsByCategory(String category) throws IOException {
@@ -108,7 +141,7 @@ public class DummyJsonClient {
         String endpoint = String.format("/products/category/%s?limit=%d&skip=%d", category, limit, skip);
         String response = executeRawRequest("GET", endpoint, null);
         JsonAdapter<ProductsResponse> adapter = moshi.adapter(ProductsResponse.class);
-        return adapter.fromJson(response);
+        return cacheProducts(adapter.fromJson(response));
     }
 
     // ============ USERS API ============
@@ -178,6 +211,59 @@ public class DummyJsonClient {
         }, executor);
     }
     
+    public CompletableFuture<ProductsResponse> getProductsAsync(int limit, int skip) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getProducts(limit, skip);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, executor);
+    }
+    
+    /**
+     * Search asynchronously. With OkHttp, cancelling the returned future also
+     * cancels the underlying HTTP call.
+     */
+    public CompletableFuture<ProductsResponse> searchProductsAsync(String query, int limit, int skip) {
+        if (!useOkHttp) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return searchProducts(query, limit, skip);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }, executor);
+        }
+        
+        CompletableFuture<ProductsResponse> future = new CompletableFuture<>();
+        Call call = okHttpClient.newCall(buildOkHttpRequest("GET", searchEndpoint(query, limit, skip), null));
+        future.whenComplete((response, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new RuntimeException(e));
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) {
+                // Closing the body closes the response
+                try (ResponseBody body = response.body()) {
+                    String json = body != null ? body.string() : "";
+                    JsonAdapter<ProductsResponse> adapter = moshi.adapter(ProductsResponse.class);
+                    future.complete(cacheProducts(adapter.fromJson(json)));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(new RuntimeException(e));
+                }
+            }
+        });
+        return future;
+    }
+    
     public CompletableFuture<Product> getProductAsync(int id) {
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -198,6 +284,16 @@ public class DummyJsonClient {
         }, executor);
     }
     
+    public CompletableFuture<UsersResponse> getUsersAsync(int limit, int skip) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getUsers(limit, skip);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, executor);
+    }
+    
     public CompletableFuture<User> getUserAsync(int id) {
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -208,8 +304,61 @@ public class DummyJsonClient {
         }, executor);
     }
 
+    public CompletableFuture<CartsResponse> getUserCartsAsync(int userId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getUserCarts(userId);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, executor);
+    }
+    
+    /**
+     * Fetch a page of users and join each with their carts concurrently.
+     * See {@link UserCartsJoin} for fan-out and hydration options.
+     */
+    public CompletableFuture<List<UserWithCarts>> getUsersWithCartsAsync(int limit, int skip, boolean hydrateProducts) {
+        return new UserCartsJoin(this)
+            .setHydrateProducts(hydrateProducts)
+            .joinAsync(limit, skip);
+    }
+
+    Moshi getMoshi() {
+        return moshi;
+    }
+    
+    Executor getExecutor() {
+        return executor;
+    }
+
     // ============ PRIVATE HELPER METHODS ============
     
+    private Product cacheProduct(Product product) {
+        if (product != null) {
+            productCache.put(product.getId(), product);
+        }
+        return product;
+    }
+    
+    private ProductsResponse cacheProducts(ProductsResponse response) {
+        if (response != null && response.getProducts() != null) {
+            for (Product product : response.getProducts()) {
+                cacheProduct(product);
+            }
+        }
+        return response;
+    }
+    
+    private static String searchEndpoint(String query, int limit, int skip) {
+        try {
+            return String.format("/products/search?q=%s&limit=%d&skip=%d",
+                URLEncoder.encode(query, "UTF-8"), limit, skip);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
     private String executeRawRequest(String method, String endpoint, String body) throws IOException {
         if (useOkHttp) {
             return executeOkHttpRequest(method, endpoint, body);
@@ -219,6 +368,16 @@ public class DummyJsonClient {
     }
     
     private String executeOkHttpRequest(String method, String endpoint, String body) throws IOException {
+        Request request = buildOkHttpRequest(method, endpoint, body);
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            if (response.body() == null) {
+                return "";
+            }
+            return response.body().string();
+        }
+    }
+    
+    private Request buildOkHttpRequest(String method, String endpoint, String body) {
         String url = baseUrl + (endpoint.startsWith("/") ? endpoint : "/" + endpoint);
         
         Request.Builder requestBuilder = new Request.Builder().url(url);
@@ -253,13 +412,7 @@ public class DummyJsonClient {
                 throw new IllegalArgumentException("Unsupported HTTP method: " + method);
         }
         
-        Request request = requestBuilder.build();
-        try (Response response = okHttpClient.newCall(request).execute()) {
-            if (response.body() == null) {
-                return "";
-            }
-            return response.body().string();
-        }
+        return requestBuilder.build();
     }
     
     private String executeHttpUrlConnectionRequest(String method, String endpoint, String body) throws IOException {
@@ -0,0 +1,87 @@
+package dev.kadcom.dummyjson.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small thread-safe LRU cache for decoded entities, keyed by id.
+ */
+public class EntityCache<K, V> {
+    private final LinkedHashMap<K, V> entries;
+    private int maxSize;
+
+    public EntityCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        if (key == null || value == null || maxSize == 0) {
+            return;
+        }
+        entries.put(key, value);
+        trimToSize(maxSize);
+    }
+
+    public synchronized void putAll(Map<K, V> values) {
+        for (Map.Entry<K, V> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns cached values for the given keys, skipping misses.
+     */
+    public synchronized Map<K, V> getAll(Iterable<K> keys) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = entries.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void trimToSize(int size) {
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while (entries.size() > size && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.maxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized List<V> values() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,212 @@
+package dev.kadcom.dummyjson.client;
+
+import dev.kadcom.dummyjson.models.Product;
+import dev.kadcom.dummyjson.models.ProductsResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search-as-you-type over {@link DummyJsonClient#searchProductsAsync}. Each
+ * {@link #query} supersedes the previous one: its debounce timer is dropped,
+ * its HTTP call cancelled and its future cancelled. Queries that extend a
+ * previous query whose results were complete are answered locally by
+ * filtering those results, without touching the network.
+ * <p>
+ * Local filtering matches the query as a case-insensitive substring of the
+ * title or description, mirroring the server-side search.
+ */
+public class SearchSession {
+    public static final long DEFAULT_DEBOUNCE_MS = 250;
+    public static final int DEFAULT_LIMIT = 100;
+
+    private static final int MAX_CACHED_QUERIES = 32;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DummyJson-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DummyJsonClient client;
+    private final EntityCache<String, ProductsResponse> results = new EntityCache<>(MAX_CACHED_QUERIES);
+    private long debounceMs = DEFAULT_DEBOUNCE_MS;
+    private int limit = DEFAULT_LIMIT;
+    private Pending current;
+
+    public SearchSession(DummyJsonClient client) {
+        this.client = client;
+    }
+
+    public SearchSession setDebounceMs(long debounceMs) {
+        if (debounceMs < 0) {
+            throw new IllegalArgumentException("debounceMs must not be negative");
+        }
+        this.debounceMs = debounceMs;
+        return this;
+    }
+
+    public SearchSession setLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Submit the current text of the search box. The returned future completes
+     * with the results, or is cancelled if a newer query arrives first. Blank
+     * text completes immediately with no results.
+     */
+    public synchronized CompletableFuture<Result> query(String text) {
+        cancelCurrent();
+        String query = normalize(text);
+        CompletableFuture<Result> result = new CompletableFuture<>();
+
+        if (query.isEmpty()) {
+            result.complete(new Result(query, Collections.<Product>emptyList(), true));
+            return result;
+        }
+        Result local = fromCache(query);
+        if (local != null) {
+            result.complete(local);
+            return result;
+        }
+
+        Pending pending = new Pending(query, result);
+        current = pending;
+        pending.timer = SCHEDULER.schedule(() -> dispatch(pending), debounceMs, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * Cancel any pending or in-flight query
+     */
+    public synchronized void cancel() {
+        cancelCurrent();
+    }
+
+    public void clearCache() {
+        results.clear();
+    }
+
+    private synchronized void dispatch(Pending pending) {
+        if (current != pending || pending.result.isDone()) {
+            return;
+        }
+        pending.request = client.searchProductsAsync(pending.query, limit, 0);
+        pending.request.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                pending.result.completeExceptionally(throwable);
+                return;
+            }
+            if (response != null) {
+                results.put(pending.query, response);
+            }
+            pending.result.complete(new Result(pending.query, productsOf(response), false));
+        });
+    }
+
+    private void cancelCurrent() {
+        Pending pending = current;
+        current = null;
+        if (pending == null) {
+            return;
+        }
+        if (pending.timer != null) {
+            pending.timer.cancel(false);
+        }
+        if (pending.request != null) {
+            pending.request.cancel(true);
+        }
+        pending.result.cancel(false);
+    }
+
+    /**
+     * Exact hit, or the longest cached prefix whose results were complete,
+     * filtered down to this query
+     */
+    private Result fromCache(String query) {
+        ProductsResponse exact = results.get(query);
+        if (exact != null) {
+            return new Result(query, productsOf(exact), true);
+        }
+        for (int length = query.length() - 1; length > 0; length--) {
+            ProductsResponse prefix = results.get(query.substring(0, length));
+            if (prefix != null && isComplete(prefix)) {
+                List<Product> filtered = new ArrayList<>();
+                for (Product product : productsOf(prefix)) {
+                    if (matches(product, query)) {
+                        filtered.add(product);
+                    }
+                }
+                return new Result(query, filtered, true);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isComplete(ProductsResponse response) {
+        return response.getTotal() <= productsOf(response).size();
+    }
+
+    private static boolean matches(Product product, String query) {
+        return contains(product.getTitle(), query) || contains(product.getDescription(), query);
+    }
+
+    private static boolean contains(String value, String query) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(query);
+    }
+
+    private static List<Product> productsOf(ProductsResponse response) {
+        return response != null && response.getProducts() != null
+            ? response.getProducts()
+            : Collections.<Product>emptyList();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Pending {
+        final String query;
+        final CompletableFuture<Result> result;
+        ScheduledFuture<?> timer;
+        CompletableFuture<ProductsResponse> request;
+
+        Pending(String query, CompletableFuture<Result> result) {
+            this.query = query;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Products matching one query
+     */
+    public static final class Result {
+        private final String query;
+        private final List<Product> products;
+        private final boolean fromCache;
+
+        Result(String query, List<Product> products, boolean fromCache) {
+            this.query = query;
+            this.products = products;
+            this.fromCache = fromCache;
+        }
+
+        public String getQuery() { return query; }
+        public List<Product> getProducts() { return products; }
+
+        /**
+         * Whether the result was served without a network request
+         */
+        public boolean isFromCache() { return fromCache; }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.kadcom.dummyjson.client;
+
+import dev.kadcom.dummyjson.models.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a page of users together with their carts. Cart requests run
+ * concurrently with a bounded fan-out; when hydration is enabled each cart's
+ * products are resolved from the client's product cache, fetching only the
+ * missing ids (once per join) as soon as the owning user's carts arrive. A
+ * product that fails to load is left out of the user's product map, so only
+ * that cart entry stays unhydrated; a user whose carts fail to load is
+ * returned without carts and with {@link UserWithCarts#getCartsError()} set,
+ * so one failed request never fails the whole join.
+ */
+public class UserCartsJoin {
+    public static final int DEFAULT_MAX_CONCURRENCY = 6;
+    
+    private final DummyJsonClient client;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private boolean hydrateProducts = false;
+    
+    public UserCartsJoin(DummyJsonClient client) {
+        this.client = client;
+    }
+    
+    public UserCartsJoin setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+    
+    public UserCartsJoin setHydrateProducts(boolean hydrateProducts) {
+        this.hydrateProducts = hydrateProducts;
+        return this;
+    }
+    
+    public CompletableFuture<List<UserWithCarts>> joinAsync(int limit, int skip) {
+        return client.getUsersAsync(limit, skip).thenCompose(this::joinAsync);
+    }
+    
+    public CompletableFuture<List<UserWithCarts>> joinAsync(UsersResponse page) {
+        List<User> users = page != null && page.getUsers() != null
+            ? page.getUsers()
+            : Collections.<User>emptyList();
+        return joinAsync(users);
+    }
+    
+    public CompletableFuture<List<UserWithCarts>> joinAsync(List<User> users) {
+        BoundedFanOut fanOut = new BoundedFanOut(maxConcurrency);
+        Map<Integer, CompletableFuture<Product>> productRequests = new ConcurrentHashMap<>();
+        
+        List<CompletableFuture<UserWithCarts>> futures = new ArrayList<>(users.size());
+        for (User user : users) {
+            CompletableFuture<UserWithCarts> future = fanOut
+                .submit(() -> client.getUserCartsAsync(user.getId()))
+                .thenCompose(response -> {
+                    List<Cart> carts = response != null && response.getCarts() != null
+                        ? response.getCarts()
+                        : Collections.<Cart>emptyList();
+                    if (!hydrateProducts) {
+                        return CompletableFuture.completedFuture(new UserWithCarts(user, carts, null));
+                    }
+                    return hydrate(carts, fanOut, productRequests)
+                        .thenApply(products -> new UserWithCarts(user, carts, products));
+                })
+                .exceptionally(error -> new UserWithCarts(user, null, null, unwrap(error)));
+            futures.add(future);
+        }
+        
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<UserWithCarts> result = new ArrayList<>(futures.size());
+                for (CompletableFuture<UserWithCarts> future : futures) {
+                    result.add(future.join());
+                }
+                return result;
+            });
+    }
+    
+    private CompletableFuture<Map<Integer, Product>> hydrate(
+            List<Cart> carts,
+            BoundedFanOut fanOut,
+            Map<Integer, CompletableFuture<Product>> productRequests) {
+        EntityCache<Integer, Product> cache = client.getProductCache();
+        Map<Integer, CompletableFuture<Product>> needed = new LinkedHashMap<>();
+        
+        for (Cart cart : carts) {
+            if (cart.isEmpty()) {
+                continue;
+            }
+            for (CartProduct cartProduct : cart.getProducts()) {
+                int id = cartProduct.getId();
+                if (needed.containsKey(id)) {
+                    continue;
+                }
+                Product cached = cache.get(id);
+                if (cached != null) {
+                    needed.put(id, CompletableFuture.completedFuture(cached));
+                } else {
+                    needed.put(id, requestProduct(id, fanOut, productRequests).exceptionally(error -> null));
+                }
+            }
+        }
+        
+        return CompletableFuture.allOf(needed.values().toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                Map<Integer, Product> products = new LinkedHashMap<>();
+                for (Map.Entry<Integer, CompletableFuture<Product>> entry : needed.entrySet()) {
+                    Product product = entry.getValue().join();
+                    if (product != null) {
+                        products.put(entry.getKey(), product);
+                    }
+                }
+                return products;
+            });
+    }
+    
+    /**
+     * The join's request for product {@code id}, shared so each missing product
+     * is fetched once. The fetch is submitted outside the map: submitting can
+     * run queued tasks on this thread, whose completions hydrate other carts
+     * and update the map again.
+     */
+    private CompletableFuture<Product> requestProduct(
+            int id,
+            BoundedFanOut fanOut,
+            Map<Integer, CompletableFuture<Product>> productRequests) {
+        CompletableFuture<Product> request = new CompletableFuture<>();
+        CompletableFuture<Product> existing = productRequests.putIfAbsent(id, request);
+        if (existing != null) {
+            return existing;
+        }
+        fanOut.submit(() -> client.getProductAsync(id)).whenComplete((product, error) -> {
+            if (error != null) {
+                request.completeExceptionally(error);
+            } else {
+                request.complete(product);
+            }
+        });
+        return request;
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
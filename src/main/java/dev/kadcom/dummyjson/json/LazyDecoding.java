@@ -0,0 +1,278 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.Moshi;
+import okio.Buffer;
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decoding mode for heavy nested model fields (see {@link LazyField}). When
+ * enabled, they are captured as compact raw JSON bytes and only decoded when
+ * their getter is first called; when disabled they are decoded eagerly. The
+ * model field types are unchanged, so a plain {@code Moshi} decodes them too.
+ * <p>
+ * A lazy decode is a single pass over the object: light fields are decoded
+ * straight into the model and heavy ones are only skipped over and copied, so
+ * it allocates less than an eager decode, never more.
+ */
+public class LazyDecoding {
+    private volatile boolean enabled;
+
+    public LazyDecoding(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Moshi factory for model classes with {@link LazyField} companions. The
+     * mode is checked per decode, so toggling it does not require rebuilding
+     * the {@link Moshi}.
+     */
+    public JsonAdapter.Factory jsonAdapterFactory() {
+        return new JsonAdapter.Factory() {
+            @Override
+            public JsonAdapter<?> create(Type type, Set<? extends Annotation> annotations, Moshi moshi) {
+                if (!annotations.isEmpty() || !(type instanceof Class) || ModelFields.isPlatformType((Class<?>) type)) {
+                    return null;
+                }
+                Map<String, LazySlot> slots = lazySlots((Class<?>) type, moshi);
+                if (slots.isEmpty()) {
+                    return null;
+                }
+                JsonAdapter<Object> delegate = moshi.nextAdapter(this, type, annotations);
+                return new LazyFieldsAdapter<>(LazyDecoding.this, delegate, slots,
+                    ModelFields.noArgConstructor((Class<?>) type), bindings((Class<?>) type, slots, moshi)).nullSafe();
+            }
+        };
+    }
+
+    private static Map<String, LazySlot> lazySlots(Class<?> rawType, Moshi moshi) {
+        Map<String, LazySlot> slots = new LinkedHashMap<>();
+        for (Field companion : rawType.getDeclaredFields()) {
+            LazyField lazyField = companion.getAnnotation(LazyField.class);
+            if (lazyField == null) {
+                continue;
+            }
+            Field target;
+            try {
+                target = rawType.getDeclaredField(lazyField.value());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException(
+                    "@LazyField(\"" + lazyField.value() + "\") names no field of " + rawType.getName(), e);
+            }
+            if (companion.getType() != LazyValue.class || !Modifier.isTransient(companion.getModifiers())) {
+                throw new IllegalArgumentException(
+                    rawType.getName() + "." + companion.getName() + " must be a transient LazyValue");
+            }
+            companion.setAccessible(true);
+            target.setAccessible(true);
+            slots.put(target.getName(), new LazySlot(target, companion, moshi.adapter(target.getGenericType())));
+        }
+        return slots;
+    }
+
+    /**
+     * Every JSON field of the class; light ones decode with their own adapter
+     * ({@link Pooled} ones interned), heavy ones capture into their slot
+     */
+    private static List<FieldBinding> bindings(Class<?> rawType, Map<String, LazySlot> slots, Moshi moshi) {
+        List<FieldBinding> bindings = new ArrayList<>();
+        for (Field field : ModelFields.jsonFields(rawType)) {
+            LazySlot slot = slots.get(field.getName());
+            if (slot != null) {
+                bindings.add(new FieldBinding(field, null, slot));
+            } else {
+                bindings.add(new FieldBinding(field, ModelFields.fieldAdapter(field, moshi), null));
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * A JSON field of a model: decoded into {@code field} with {@code adapter},
+     * or, for a heavy field in lazy mode, captured into {@code slot}
+     */
+    private static final class FieldBinding {
+        final Field field;
+        final JsonAdapter<Object> adapter;
+        final LazySlot slot;
+
+        FieldBinding(Field field, JsonAdapter<Object> adapter, LazySlot slot) {
+            this.field = field;
+            this.adapter = adapter;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Where a heavy field's raw JSON goes, and how to decode it later
+     */
+    private static final class LazySlot {
+        final Field target;
+        final Field companion;
+        final JsonAdapter<Object> adapter;
+
+        LazySlot(Field target, Field companion, JsonAdapter<Object> adapter) {
+            this.target = target;
+            this.companion = companion;
+            this.adapter = adapter;
+        }
+
+        LazyValue<?> get(Object model) {
+            try {
+                return (LazyValue<?>) companion.get(model);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        /**
+         * The field's value whichever way it was decoded. Raw bytes are decoded
+         * for the caller only; the companion keeps its encoded form.
+         */
+        Object valueOf(Object model) throws IOException {
+            LazyValue<?> lazy = get(model);
+            if (lazy == null) {
+                try {
+                    return target.get(model);
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            byte[] raw = lazy.rawBytes();
+            return raw != null ? adapter.fromJson(new Buffer().write(raw)) : lazy.get();
+        }
+
+        void set(Object model, byte[] raw) {
+            try {
+                companion.set(model, LazyValue.ofRaw(raw, adapter));
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /**
+     * Decodes eagerly through the class's normal adapter, or lazily in one pass
+     * that decodes the light fields and captures the heavy ones as raw bytes
+     */
+    private static final class LazyFieldsAdapter<T> extends JsonAdapter<T> {
+        private final LazyDecoding mode;
+        private final JsonAdapter<T> delegate;
+        private final Map<String, LazySlot> slots;
+        private final Constructor<?> constructor;
+        private final FieldBinding[] bindings;
+        private final JsonReader.Options names;
+
+        LazyFieldsAdapter(LazyDecoding mode, JsonAdapter<T> delegate, Map<String, LazySlot> slots,
+                          Constructor<?> constructor, List<FieldBinding> bindings) {
+            this.mode = mode;
+            this.delegate = delegate;
+            this.slots = slots;
+            this.constructor = constructor;
+            this.bindings = bindings.toArray(new FieldBinding[0]);
+            String[] fieldNames = new String[this.bindings.length];
+            for (int i = 0; i < fieldNames.length; i++) {
+                fieldNames[i] = this.bindings[i].field.getName();
+            }
+            this.names = JsonReader.Options.of(fieldNames);
+        }
+
+        @Override
+        public T fromJson(JsonReader reader) throws IOException {
+            if (!mode.isEnabled()) {
+                return delegate.fromJson(reader);
+            }
+            T model = newModel();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                int index = reader.selectName(names);
+                if (index == -1) {
+                    reader.skipName();
+                    reader.skipValue();
+                    continue;
+                }
+                FieldBinding binding = bindings[index];
+                if (binding.slot == null) {
+                    ModelFields.set(binding.field, model, binding.adapter.fromJson(reader));
+                } else if (reader.peek() == JsonReader.Token.NULL) {
+                    reader.nextNull();
+                } else {
+                    try (BufferedSource source = reader.nextSource()) {
+                        binding.slot.set(model, source.readByteArray());
+                    }
+                }
+            }
+            reader.endObject();
+            return model;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T newModel() {
+            return (T) ModelFields.newInstance(constructor);
+        }
+
+        /**
+         * Writes one canonical form whatever the mode and decode state: the
+         * light fields as the class adapter orders them, then each heavy field
+         * encoded from its decoded value. Content hashes of the encoding are
+         * therefore comparable between lazy and eager clients.
+         */
+        @Override
+        public void toJson(JsonWriter writer, T value) throws IOException {
+            Buffer encoded = new Buffer();
+            JsonWriter light = JsonWriter.of(encoded);
+            light.setSerializeNulls(writer.getSerializeNulls());
+            delegate.toJson(light, value);
+            JsonReader reader = JsonReader.of(encoded);
+            reader.beginObject();
+            writer.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (slots.containsKey(name)) {
+                    reader.skipValue();
+                    continue;
+                }
+                writer.name(name);
+                try (BufferedSource source = reader.nextSource()) {
+                    writer.value(source);
+                }
+            }
+            reader.endObject();
+            for (Map.Entry<String, LazySlot> entry : slots.entrySet()) {
+                Object heavy = entry.getValue().valueOf(value);
+                if (heavy != null || writer.getSerializeNulls()) {
+                    writer.name(entry.getKey());
+                    entry.getValue().adapter.toJson(writer, heavy);
+                }
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public String toString() {
+            return delegate + ".lazy()";
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.kadcom.dummyjson.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code transient LazyValue<T>} companion of the heavy field named by
+ * {@link #value()}. In lazy mode the client's {@link LazyDecoding} adapter
+ * leaves that field null and captures its raw JSON in the companion instead;
+ * in eager mode, or with a plain {@code Moshi}, the field is decoded as usual
+ * and the companion stays null. Getters read the companion first.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface LazyField {
+    /**
+     * Name of the decoded field (and JSON key) this companion stands in for
+     */
+    String value();
+}
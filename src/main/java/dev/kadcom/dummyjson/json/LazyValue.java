@@ -0,0 +1,84 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import okio.Buffer;
+
+import java.io.IOException;
+
+/**
+ * Holder for a nested JSON value that may still be in its raw encoded form.
+ * The raw bytes are decoded on the first call to {@link #get()} and the
+ * result is memoized; concurrent callers observe a single decode.
+ */
+public final class LazyValue<T> {
+    private volatile T value;
+    private volatile boolean decoded;
+    private byte[] raw;
+    private JsonAdapter<T> adapter;
+
+    private LazyValue(T value, byte[] raw, JsonAdapter<T> adapter) {
+        this.value = value;
+        this.raw = raw;
+        this.adapter = adapter;
+        this.decoded = raw == null;
+    }
+
+    public static <T> LazyValue<T> of(T value) {
+        return new LazyValue<>(value, null, null);
+    }
+
+    static <T> LazyValue<T> ofRaw(byte[] raw, JsonAdapter<T> adapter) {
+        return new LazyValue<>(null, raw, adapter);
+    }
+
+    public T get() {
+        if (!decoded) {
+            synchronized (this) {
+                if (!decoded) {
+                    try {
+                        value = adapter.fromJson(new Buffer().write(raw));
+                    } catch (IOException e) {
+                        throw new JsonDataException("Failed to decode lazy value", e);
+                    }
+                    // Drop the encoded form once decoded
+                    raw = null;
+                    adapter = null;
+                    decoded = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    /**
+     * Size of the retained encoded form, or 0 once decoded.
+     */
+    public synchronized int getRawSize() {
+        return raw != null ? raw.length : 0;
+    }
+
+    /**
+     * The encoded form if not yet decoded, otherwise null.
+     */
+    synchronized byte[] rawBytes() {
+        return raw;
+    }
+
+    /**
+     * Model getter for a {@link LazyField} companion: its value when captured
+     * lazily, otherwise the eagerly decoded field.
+     */
+    public static <T> T unwrap(LazyValue<T> lazy, T eager) {
+        return lazy != null ? lazy.get() : eager;
+    }
+
+    @Override
+    public String toString() {
+        return decoded ? String.valueOf(value) : "LazyValue{raw=" + getRawSize() + " bytes}";
+    }
+}
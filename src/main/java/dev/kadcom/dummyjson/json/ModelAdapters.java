@@ -0,0 +1,28 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.Moshi;
+import dev.kadcom.dummyjson.models.Money;
+
+/**
+ * Moshi configuration for the client's decoding modes: {@link Pooled} strings,
+ * {@link LazyField} capture and {@link Money} amounts.
+ */
+public final class ModelAdapters {
+    private ModelAdapters() {
+    }
+
+    public static Moshi.Builder newBuilder(StringPool stringPool, LazyDecoding lazyDecoding) {
+        return new Moshi.Builder()
+            .add(Money.class, new MoneyAdapter())
+            // Lazy first: its eager mode delegates to the pooled binder
+            .add(lazyDecoding.jsonAdapterFactory())
+            .add(stringPool.jsonAdapterFactory());
+    }
+
+    /**
+     * Builder with a private string pool and eager decoding.
+     */
+    public static Moshi.Builder newBuilder() {
+        return newBuilder(new StringPool(), new LazyDecoding(false));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared reflection for the factories that bind model classes field by field.
+ */
+final class ModelFields {
+    private ModelFields() {
+    }
+
+    /**
+     * JDK, Android and Kotlin types never carry model annotations; skip
+     * reflecting over them
+     */
+    static boolean isPlatformType(Class<?> rawType) {
+        String name = rawType.getName();
+        return rawType.isPrimitive() || rawType.isArray()
+            || name.startsWith("java.") || name.startsWith("javax.")
+            || name.startsWith("android.") || name.startsWith("kotlin.");
+    }
+
+    /**
+     * Every JSON field of the class, as Moshi's class adapter binds them: the
+     * non-static, non-transient fields under their own names
+     */
+    static List<Field> jsonFields(Class<?> rawType) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : rawType.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                continue;
+            }
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * Adapter a field is decoded with; {@link Pooled} fields get the Moshi's
+     * interning adapter (see {@link StringPool#jsonAdapterFactory()})
+     */
+    static JsonAdapter<Object> fieldAdapter(Field field, Moshi moshi) {
+        if (field.isAnnotationPresent(Pooled.class)) {
+            return moshi.adapter(field.getGenericType(), StringPool.INTERNED);
+        }
+        return moshi.adapter(field.getGenericType());
+    }
+
+    static Constructor<?> noArgConstructor(Class<?> rawType) {
+        try {
+            Constructor<?> constructor = rawType.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(rawType.getName() + " is bound field by field but has no no-arg constructor", e);
+        }
+    }
+
+    static Object newInstance(Constructor<?> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    static void set(Field field, Object model, Object value) {
+        try {
+            field.set(model, value);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonWriter;
+import dev.kadcom.dummyjson.models.Money;
+
+import java.io.IOException;
+
+/**
+ * Decodes JSON numbers into {@link Money} from their literal text, never via
+ * {@code double}. A JSON null or missing amount decodes as {@link Money#ZERO}.
+ */
+public class MoneyAdapter extends JsonAdapter<Money> {
+    @Override
+    public Money fromJson(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return Money.ZERO;
+        }
+        // nextString() returns the number's source text for NUMBER tokens
+        return Money.parse(reader.nextString());
+    }
+
+    @Override
+    public void toJson(JsonWriter writer, Money value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.toBigDecimal());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonAdapter(Money)";
+    }
+}
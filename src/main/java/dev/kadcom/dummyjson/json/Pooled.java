@@ -0,0 +1,16 @@
+package dev.kadcom.dummyjson.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a low-cardinality {@code String} or {@code List<String>} field whose
+ * decoded values should be deduplicated through the client's {@link StringPool}.
+ * Not a Moshi qualifier: a plain {@code Moshi} decodes the field normally.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Pooled {
+}
@@ -0,0 +1,419 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonQualifier;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded, thread-safe string deduplication pool used while decoding JSON.
+ * Fields annotated with {@link Pooled} are interned as they are read, so
+ * repeated catalog values (categories, brands, tags, user attributes) share
+ * a single {@code String} instance per distinct value within a client.
+ * <p>
+ * The pool holds at most {@code maxEntries} values. When it fills up it starts
+ * over empty rather than refusing new values, so a long tail seen once (city
+ * or university names) cannot lock out values that are hot later; strings
+ * already handed out stay shared.
+ */
+public class StringPool {
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    /**
+     * Qualifier the model binders request {@link Pooled} field adapters with;
+     * answered by {@link #jsonAdapterFactory()}
+     */
+    @JsonQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Interned {
+    }
+
+    static final Set<Annotation> INTERNED = Collections.<Annotation>singleton(new Interned() {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Interned.class;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Interned;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0; // No members
+        }
+
+        @Override
+        public String toString() {
+            return "@" + Interned.class.getName() + "()";
+        }
+    });
+
+    private final AtomicReference<Generation> generation;
+    private final int maxEntries;
+    private final int maxLength;
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public StringPool() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_LENGTH);
+    }
+
+    public StringPool(int maxEntries, int maxLength) {
+        if (maxEntries <= 0 || maxLength <= 0) {
+            throw new IllegalArgumentException("maxEntries and maxLength must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+        this.generation = new AtomicReference<>(new Generation(maxEntries));
+    }
+
+    /**
+     * Returns the canonical instance for {@code value}. Values longer than the
+     * configured maximum are returned as-is.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.incrementAndGet();
+        if (value.length() > maxLength) {
+            rejected.incrementAndGet();
+            return value;
+        }
+
+        Generation current = generation.get();
+        String existing = current.values.get(value);
+        if (existing != null) {
+            recordHit(existing);
+            return existing;
+        }
+
+        // Reserve a slot before inserting, so concurrent misses cannot overshoot the bound
+        if (!current.reserveSlot(maxEntries)) {
+            current = startOver(current);
+            if (!current.reserveSlot(maxEntries)) {
+                rejected.incrementAndGet(); // Refilled by other threads meanwhile
+                return value;
+            }
+        }
+        existing = current.values.putIfAbsent(value, value);
+        if (existing != null) {
+            current.size.decrementAndGet(); // Another thread inserted it first
+            recordHit(existing);
+            return existing;
+        }
+        return value;
+    }
+
+    /**
+     * Replace a full generation with an empty one; only one thread's swap wins
+     */
+    private Generation startOver(Generation full) {
+        Generation empty = new Generation(maxEntries);
+        if (generation.compareAndSet(full, empty)) {
+            evicted.addAndGet(full.size.get());
+            return empty;
+        }
+        return generation.get();
+    }
+
+    private void recordHit(String value) {
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(estimateRetainedSize(value));
+    }
+
+    /**
+     * Approximate heap retained by a standalone {@code String}: object header
+     * and fields plus the backing array, assuming compact (Latin-1) strings.
+     */
+    static long estimateRetainedSize(String value) {
+        long array = align(16 + value.length());
+        return 24 + array;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public int size() {
+        return generation.get().size.get();
+    }
+
+    /**
+     * Entries actually held by the backing map (tests)
+     */
+    int mappedEntries() {
+        return generation.get().values.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(size(), lookups.get(), hits.get(), rejected.get(), evicted.get(), bytesSaved.get());
+    }
+
+    public void clear() {
+        generation.set(new Generation(maxEntries));
+        lookups.set(0);
+        hits.set(0);
+        rejected.set(0);
+        evicted.set(0);
+        bytesSaved.set(0);
+    }
+
+    /**
+     * One fill of the pool: its values and the slots reserved in it
+     */
+    private static final class Generation {
+        final ConcurrentHashMap<String, String> values;
+        final AtomicInteger size = new AtomicInteger();
+
+        Generation(int maxEntries) {
+            values = new ConcurrentHashMap<>(Math.min(maxEntries, 256));
+        }
+
+        boolean reserveSlot(int maxEntries) {
+            while (true) {
+                int current = size.get();
+                if (current >= maxEntries) {
+                    return false;
+                }
+                if (size.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    // ============ MOSHI ============
+
+    /**
+     * Moshi factory that interns {@link Pooled} fields as they are decoded.
+     * Model classes with such fields are bound field by field in one pass, the
+     * pooled ones through an adapter that interns each {@code nextString()};
+     * encoding goes through the class's normal adapter.
+     */
+    public JsonAdapter.Factory jsonAdapterFactory() {
+        return new JsonAdapter.Factory() {
+            @Override
+            public JsonAdapter<?> create(Type type, Set<? extends Annotation> annotations, Moshi moshi) {
+                if (annotations.equals(INTERNED)) {
+                    if (type == String.class) {
+                        return new InternedStringAdapter().nullSafe();
+                    }
+                    if (isStringList(type)) {
+                        return new InternedListAdapter().nullSafe();
+                    }
+                    return null;
+                }
+                if (!annotations.isEmpty() || !(type instanceof Class) || ModelFields.isPlatformType((Class<?>) type)) {
+                    return null;
+                }
+                Class<?> rawType = (Class<?>) type;
+                if (!hasPooledFields(rawType)) {
+                    return null;
+                }
+                JsonAdapter<Object> delegate = moshi.nextAdapter(this, type, annotations);
+                return new PooledFieldsAdapter<>(delegate, ModelFields.noArgConstructor(rawType),
+                    ModelFields.jsonFields(rawType), moshi).nullSafe();
+            }
+        };
+    }
+
+    private static boolean hasPooledFields(Class<?> rawType) {
+        boolean pooled = false;
+        for (Field field : rawType.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(Pooled.class)) {
+                continue;
+            }
+            Type type = field.getGenericType();
+            if (type != String.class && !isStringList(type)) {
+                throw new IllegalArgumentException("@Pooled field " + rawType.getName() + "."
+                        + field.getName() + " must be a String or List<String>");
+            }
+            pooled = true;
+        }
+        return pooled;
+    }
+
+    private static boolean isStringList(Type type) {
+        return Types.getRawType(type) == List.class && type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == String.class;
+    }
+
+    private final class InternedStringAdapter extends JsonAdapter<String> {
+        @Override
+        public String fromJson(JsonReader reader) throws IOException {
+            return intern(reader.nextString());
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, String value) throws IOException {
+            writer.value(value);
+        }
+
+        @Override
+        public String toString() {
+            return "JsonAdapter(String).interned()";
+        }
+    }
+
+    private final class InternedListAdapter extends JsonAdapter<List<String>> {
+        @Override
+        public List<String> fromJson(JsonReader reader) throws IOException {
+            List<String> values = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                values.add(reader.peek() == JsonReader.Token.NULL
+                        ? reader.<String>nextNull()
+                        : intern(reader.nextString()));
+            }
+            reader.endArray();
+            return values;
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, List<String> values) throws IOException {
+            writer.beginArray();
+            for (String value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public String toString() {
+            return "JsonAdapter(List<String>).interned()";
+        }
+    }
+
+    /**
+     * Decodes a model in one pass, each field with its own adapter, as Moshi's
+     * class adapter would except that {@link Pooled} fields are interned
+     */
+    private static final class PooledFieldsAdapter<T> extends JsonAdapter<T> {
+        private final JsonAdapter<T> delegate;
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+        private final JsonAdapter<?>[] adapters;
+        private final JsonReader.Options names;
+
+        PooledFieldsAdapter(JsonAdapter<T> delegate, Constructor<?> constructor, List<Field> fields, Moshi moshi) {
+            this.delegate = delegate;
+            this.constructor = constructor;
+            this.fields = fields.toArray(new Field[0]);
+            this.adapters = new JsonAdapter<?>[this.fields.length];
+            String[] fieldNames = new String[this.fields.length];
+            for (int i = 0; i < this.fields.length; i++) {
+                adapters[i] = ModelFields.fieldAdapter(this.fields[i], moshi);
+                fieldNames[i] = this.fields[i].getName();
+            }
+            this.names = JsonReader.Options.of(fieldNames);
+        }
+
+        @Override
+        public T fromJson(JsonReader reader) throws IOException {
+            @SuppressWarnings("unchecked")
+            T model = (T) ModelFields.newInstance(constructor);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                int index = reader.selectName(names);
+                if (index == -1) {
+                    reader.skipName();
+                    reader.skipValue();
+                    continue;
+                }
+                ModelFields.set(fields[index], model, adapters[index].fromJson(reader));
+            }
+            reader.endObject();
+            return model;
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, T value) throws IOException {
+            delegate.toJson(writer, value);
+        }
+
+        @Override
+        public String toString() {
+            return delegate + ".pooled()";
+        }
+    }
+
+    /**
+     * Point-in-time snapshot of pool effectiveness.
+     */
+    public static final class Stats {
+        private final int entries;
+        private final long lookups;
+        private final long hits;
+        private final long rejected;
+        private final long evicted;
+        private final long bytesSaved;
+
+        Stats(int entries, long lookups, long hits, long rejected, long evicted, long bytesSaved) {
+            this.entries = entries;
+            this.lookups = lookups;
+            this.hits = hits;
+            this.rejected = rejected;
+            this.evicted = evicted;
+            this.bytesSaved = bytesSaved;
+        }
+
+        public int getEntries() { return entries; }
+        public long getLookups() { return lookups; }
+        public long getHits() { return hits; }
+        public long getRejected() { return rejected; }
+        /** Values dropped when the pool filled up and started over. */
+        public long getEvicted() { return evicted; }
+        public long getBytesSaved() { return bytesSaved; }
+
+        public double getHitRate() {
+            return lookups > 0 ? (double) hits / lookups : 0;
+        }
+
+        /**
+         * Activity between {@code earlier} and this snapshot, e.g. the bytes
+         * saved by decoding one full catalog or user snapshot
+         */
+        public Stats since(Stats earlier) {
+            return new Stats(entries, lookups - earlier.lookups, hits - earlier.hits,
+                    rejected - earlier.rejected, evicted - earlier.evicted, bytesSaved - earlier.bytesSaved);
+        }
+
+        @Override
+        public String toString() {
+            return "StringPool.Stats{" +
+                    "entries=" + entries +
+                    ", lookups=" + lookups +
+                    ", hits=" + hits +
+                    ", rejected=" + rejected +
+                    ", evicted=" + evicted +
+                    ", bytesSaved=" + bytesSaved +
+                    '}';
+        }
+    }
+}
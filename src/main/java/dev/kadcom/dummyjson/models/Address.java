@@ -1,15 +1,17 @@
 package dev.kadcom.dummyjson.models;
 
+import dev.kadcom.dummyjson.json.Pooled;
+
 import java.util.Optional;
 
 public class Address {
     private String address;
-    private String city;
-    private String state;
-    private String stateCode;
+    @Pooled private String city;
+    @Pooled private String state;
+    @Pooled private String stateCode;
     private String postalCode;
     private Coordinates coordinates;
-    private String country;
+    @Pooled private String country;
     
     public String getAddress() { return address; }
     public String getCity() { return city; }
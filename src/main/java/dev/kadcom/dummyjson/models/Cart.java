@@ -5,26 +5,32 @@ import java.util.List;
 public class Cart {
     private int id;
     private List<CartProduct> products;
-    private double total;
-    private double discountedTotal;
+    private Money total = Money.ZERO;
+    private Money discountedTotal = Money.ZERO;
     private int userId;
     private int totalProducts;
     private int totalQuantity;
     
     public int getId() { return id; }
     public List<CartProduct> getProducts() { return products; }
-    public double getTotal() { return total; }
-    public double getDiscountedTotal() { return discountedTotal; }
+    public double getTotal() { return getTotalMoney().toDouble(); }
+    public double getDiscountedTotal() { return getDiscountedTotalMoney().toDouble(); }
+    public Money getTotalMoney() { return Money.orZero(total); }
+    public Money getDiscountedTotalMoney() { return Money.orZero(discountedTotal); }
     public int getUserId() { return userId; }
     public int getTotalProducts() { return totalProducts; }
     public int getTotalQuantity() { return totalQuantity; }
     
     public double getTotalSavings() {
-        return total - discountedTotal;
+        return getTotalSavingsMoney().toDouble();
+    }
+    
+    public Money getTotalSavingsMoney() {
+        return getTotalMoney().minus(getDiscountedTotalMoney());
     }
     
     public double getSavingsPercentage() {
-        return total > 0 ? (getTotalSavings() / total) * 100 : 0;
+        return getTotalSavingsMoney().percentageOf(getTotalMoney());
     }
     
     public boolean isEmpty() {
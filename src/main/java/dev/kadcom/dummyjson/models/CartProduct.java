@@ -5,32 +5,43 @@ import java.util.Optional;
 public class CartProduct {
     private int id;
     private String title;
-    private double price;
+    private Money price = Money.ZERO;
     private int quantity;
-    private double total;
+    private Money total = Money.ZERO;
     private double discountPercentage;
-    private double discountedTotal;
+    private Money discountedTotal = Money.ZERO;
     private String thumbnail;
     
     public int getId() { return id; }
     public String getTitle() { return title; }
-    public double getPrice() { return price; }
+    public double getPrice() { return getPriceMoney().toDouble(); }
     public int getQuantity() { return quantity; }
-    public double getTotal() { return total; }
+    public double getTotal() { return getTotalMoney().toDouble(); }
     public double getDiscountPercentage() { return discountPercentage; }
-    public double getDiscountedTotal() { return discountedTotal; }
+    public double getDiscountedTotal() { return getDiscountedTotalMoney().toDouble(); }
+    public Money getPriceMoney() { return Money.orZero(price); }
+    public Money getTotalMoney() { return Money.orZero(total); }
+    public Money getDiscountedTotalMoney() { return Money.orZero(discountedTotal); }
     public Optional<String> getThumbnail() { return Optional.ofNullable(thumbnail); }
     
     public double getSavings() {
-        return total - discountedTotal;
+        return getSavingsMoney().toDouble();
+    }
+    
+    public Money getSavingsMoney() {
+        return getTotalMoney().minus(getDiscountedTotalMoney());
     }
     
     public double getUnitPrice() {
-        return quantity > 0 ? price : 0;
+        return quantity > 0 ? getPriceMoney().toDouble() : 0;
     }
     
     public double getDiscountedUnitPrice() {
-        return quantity > 0 ? discountedTotal / quantity : 0;
+        return getDiscountedUnitPriceMoney().toDouble();
+    }
+    
+    public Money getDiscountedUnitPriceMoney() {
+        return quantity > 0 ? getDiscountedTotalMoney().dividedBy(quantity) : Money.ZERO;
     }
     
     @Override
@@ -0,0 +1,49 @@
+package dev.kadcom.dummyjson.models;
+
+import java.util.Collections;
+import java.util.List;
+
+public class CatalogDelta {
+    private final List<Product> inserted;
+    private final List<Integer> insertedPositions;
+    private final List<Product> updated;
+    private final List<Integer> removedIds;
+    private final int catalogSize;
+    
+    public CatalogDelta(List<Product> inserted, List<Integer> insertedPositions,
+                        List<Product> updated, List<Integer> removedIds, int catalogSize) {
+        this.inserted = Collections.unmodifiableList(inserted);
+        this.insertedPositions = Collections.unmodifiableList(insertedPositions);
+        this.updated = Collections.unmodifiableList(updated);
+        this.removedIds = Collections.unmodifiableList(removedIds);
+        this.catalogSize = catalogSize;
+    }
+    
+    /** Products not present in the previous snapshot, in catalog order. */
+    public List<Product> getInserted() { return inserted; }
+    /** Index of each inserted product in the new catalog order. */
+    public List<Integer> getInsertedPositions() { return insertedPositions; }
+    /** Products whose content hash changed since the previous snapshot. */
+    public List<Product> getUpdated() { return updated; }
+    /** Ids present in the previous snapshot but no longer returned. */
+    public List<Integer> getRemovedIds() { return removedIds; }
+    public int getCatalogSize() { return catalogSize; }
+    
+    public boolean isEmpty() {
+        return inserted.isEmpty() && updated.isEmpty() && removedIds.isEmpty();
+    }
+    
+    public int getChangeCount() {
+        return inserted.size() + updated.size() + removedIds.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "CatalogDelta{" +
+                "inserted=" + inserted.size() +
+                ", updated=" + updated.size() +
+                ", removed=" + removedIds.size() +
+                ", catalogSize=" + catalogSize +
+                '}';
+    }
+}
@@ -1,8 +1,10 @@
 package dev.kadcom.dummyjson.models;
 
+import dev.kadcom.dummyjson.json.Pooled;
+
 public class Hair {
-    private String color;
-    private String type;
+    @Pooled private String color;
+    @Pooled private String type;
     
     public String getColor() { return color; }
     public String getType() { return type; }
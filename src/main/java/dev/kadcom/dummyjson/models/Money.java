@@ -0,0 +1,246 @@
+package dev.kadcom.dummyjson.models;
+
+import com.squareup.moshi.JsonClass;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact monetary amount stored as a count of minor units (cents). Decoded
+ * straight from the JSON number literal, so sums across many carts do not
+ * accumulate floating-point error.
+ */
+@JsonClass(generateAdapter = true) // MoneyJsonAdapter
+public final class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * {@code amount}, or zero for a null field (a JSON null under a plain Moshi)
+     */
+    static Money orZero(Money amount) {
+        return amount != null ? amount : ZERO;
+    }
+
+    /**
+     * Convert a binary floating-point amount, rounding to the nearest cent.
+     * Prefer {@link #parse(CharSequence)} when the decimal text is available.
+     */
+    public static Money ofDouble(double amount) {
+        return ofMinorUnits(Math.round(amount * MINOR_PER_MAJOR));
+    }
+
+    /**
+     * Parse a JSON number literal such as {@code 9.99}, {@code -12} or
+     * {@code 1.005}; digits beyond cents are rounded half-even.
+     */
+    public static Money parse(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            throw new NumberFormatException("Not a number: \"" + text + "\"");
+        }
+
+        long major = 0;
+        int start = i;
+        while (i < length && isDigit(text.charAt(i))) {
+            if (i - start >= 16) {
+                return parseSlow(text);
+            }
+            major = major * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < length && isDigit(text.charAt(i))) {
+                int digit = text.charAt(i) - '0';
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + digit;
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    // First dropped digit decides, later digits break the tie
+                    roundUp = digit > 5 || (digit == 5 && (hasNonZero(text, i + 1) || (fraction & 1) == 1));
+                    fractionDigits++;
+                }
+                i++;
+            }
+            if (i == fractionStart) {
+                throw new NumberFormatException("Not a number: \"" + text + "\"");
+            }
+        }
+        if (i < length) {
+            // Exponent notation is rare in price data; defer to BigDecimal
+            return parseSlow(text);
+        }
+        if (i == start) {
+            throw new NumberFormatException("Not a number: \"" + text + "\"");
+        }
+
+        for (int d = Math.min(fractionDigits, SCALE); d < SCALE; d++) {
+            fraction *= 10;
+        }
+        long minor = major * MINOR_PER_MAJOR + fraction + (roundUp ? 1 : 0);
+        return ofMinorUnits(negative ? -minor : minor);
+    }
+
+    private static Money parseSlow(CharSequence text) {
+        BigDecimal value = new BigDecimal(text.toString()).setScale(SCALE, RoundingMode.HALF_EVEN);
+        return ofMinorUnits(value.unscaledValue().longValueExact());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean hasNonZero(CharSequence text, int from) {
+        for (int i = from; i < text.length() && isDigit(text.charAt(i)); i++) {
+            if (text.charAt(i) != '0') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getMinorUnits() { return minorUnits; }
+
+    public double toDouble() {
+        return minorUnits / (double) MINOR_PER_MAJOR;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long factor) {
+        return ofMinorUnits(Math.multiplyExact(minorUnits, factor));
+    }
+
+    /**
+     * Divide, rounding half-even to the nearest cent.
+     */
+    public Money dividedBy(long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return ofMinorUnits(roundHalfEven(minorUnits, divisor));
+    }
+
+    /**
+     * Apply a percentage discount (e.g. {@code 12.5} for 12.5% off), with the
+     * percentage taken to basis-point precision and the result rounded half-even.
+     */
+    public Money discountedBy(double percentage) {
+        long basisPoints = Math.round(percentage * 100);
+        if (basisPoints == 0) {
+            return this;
+        }
+        return ofMinorUnits(roundHalfEven(Math.multiplyExact(minorUnits, 10_000 - basisPoints), 10_000));
+    }
+
+    private static long roundHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long twice = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        boolean positive = (dividend < 0) == (divisor < 0);
+        if (twice > absDivisor || (twice == absDivisor && (quotient & 1) != 0)) {
+            return positive ? quotient + 1 : quotient - 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Ratio of this amount to {@code whole} as a percentage, or 0 if whole is not positive.
+     */
+    public double percentageOf(Money whole) {
+        return whole.minorUnits > 0 ? (minorUnits * 100.0) / whole.minorUnits : 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    /**
+     * Format with a leading currency symbol, e.g. {@code $1234.50}.
+     */
+    public String format() {
+        return appendTo(new StringBuilder(16).append(minorUnits < 0 ? "-$" : "$"), Math.abs(minorUnits)).toString();
+    }
+
+    private static StringBuilder appendTo(StringBuilder sb, long absMinor) {
+        long major = absMinor / MINOR_PER_MAJOR;
+        int cents = (int) (absMinor % MINOR_PER_MAJOR);
+        sb.append(major).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Money)) return false;
+        return minorUnits == ((Money) obj).minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(16);
+        if (minorUnits < 0) {
+            sb.append('-');
+        }
+        return appendTo(sb, Math.abs(minorUnits)).toString();
+    }
+}
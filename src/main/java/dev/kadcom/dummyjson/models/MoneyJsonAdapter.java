@@ -0,0 +1,13 @@
+package dev.kadcom.dummyjson.models;
+
+import dev.kadcom.dummyjson.json.MoneyAdapter;
+
+/**
+ * The adapter Moshi loads by name for {@link Money}'s {@code @JsonClass}, so a
+ * plain {@code Moshi} decodes amounts without registering anything. Moshi wraps
+ * it null-safe, so there a JSON null amount leaves the field null; the model
+ * getters read such a field as zero. The client registers {@link MoneyAdapter}
+ * directly, which decodes null as zero.
+ */
+final class MoneyJsonAdapter extends MoneyAdapter {
+}
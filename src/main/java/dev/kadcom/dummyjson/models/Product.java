@@ -1,5 +1,9 @@
 package dev.kadcom.dummyjson.models;
 
+import dev.kadcom.dummyjson.json.LazyField;
+import dev.kadcom.dummyjson.json.LazyValue;
+import dev.kadcom.dummyjson.json.Pooled;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -7,31 +11,36 @@ public class Product {
     private int id;
     private String title;
     private String description;
-    private String category;
-    private double price;
+    @Pooled private String category;
+    private Money price = Money.ZERO;
     private double discountPercentage;
     private double rating;
     private int stock;
-    private List<String> tags;
-    private String brand;
+    @Pooled private List<String> tags;
+    @Pooled private String brand;
     private String sku;
     private int weight;
     private Dimensions dimensions;
-    private String warrantyInformation;
-    private String shippingInformation;
-    private String availabilityStatus;
+    @Pooled private String warrantyInformation;
+    @Pooled private String shippingInformation;
+    @Pooled private String availabilityStatus;
     private List<Review> reviews;
-    private String returnPolicy;
+    @Pooled private String returnPolicy;
     private int minimumOrderQuantity;
     private List<String> images;
     private String thumbnail;
     
+    // Raw JSON of the heavy fields when decoded lazily (see LazyDecoding)
+    @LazyField("dimensions") private transient LazyValue<Dimensions> lazyDimensions;
+    @LazyField("reviews") private transient LazyValue<List<Review>> lazyReviews;
+    
     // Getters
     public int getId() { return id; }
     public String getTitle() { return title; }
     public String getDescription() { return description; }
     public String getCategory() { return category; }
-    public double getPrice() { return price; }
+    public double getPrice() { return getPriceMoney().toDouble(); }
+    public Money getPriceMoney() { return Money.orZero(price); }
     public double getDiscountPercentage() { return discountPercentage; }
     public double getRating() { return rating; }
     public int getStock() { return stock; }
@@ -39,11 +48,11 @@ public class Product {
     public Optional<String> getBrand() { return Optional.ofNullable(brand); }
     public String getSku() { return sku; }
     public int getWeight() { return weight; }
-    public Optional<Dimensions> getDimensions() { return Optional.ofNullable(dimensions); }
+    public Optional<Dimensions> getDimensions() { return Optional.ofNullable(LazyValue.unwrap(lazyDimensions, dimensions)); }
     public Optional<String> getWarrantyInformation() { return Optional.ofNullable(warrantyInformation); }
     public Optional<String> getShippingInformation() { return Optional.ofNullable(shippingInformation); }
     public String getAvailabilityStatus() { return availabilityStatus; }
-    public List<Review> getReviews() { return reviews; }
+    public List<Review> getReviews() { return LazyValue.unwrap(lazyReviews, reviews); }
     public Optional<String> getReturnPolicy() { return Optional.ofNullable(returnPolicy); }
     public int getMinimumOrderQuantity() { return minimumOrderQuantity; }
     public List<String> getImages() { return images; }
@@ -51,7 +60,11 @@ public class Product {
     
     // Helper methods
     public double getDiscountedPrice() {
-        return price * (1 - discountPercentage / 100);
+        return getDiscountedPriceMoney().toDouble();
+    }
+    
+    public Money getDiscountedPriceMoney() {
+        return getPriceMoney().discountedBy(discountPercentage);
     }
     
     public boolean isInStock() {
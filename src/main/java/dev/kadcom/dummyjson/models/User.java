@@ -1,5 +1,9 @@
 package dev.kadcom.dummyjson.models;
 
+import dev.kadcom.dummyjson.json.LazyField;
+import dev.kadcom.dummyjson.json.LazyValue;
+import dev.kadcom.dummyjson.json.Pooled;
+
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
@@ -10,29 +14,35 @@ public class User {
     private String lastName;
     private String maidenName;
     private int age;
-    private String gender;
+    @Pooled private String gender;
     private String email;
     private String phone;
     private String username;
     private String password;
     private String birthDate;
     private String image;
-    private String bloodGroup;
+    @Pooled private String bloodGroup;
     private double height;
     private double weight;
-    private String eyeColor;
+    @Pooled private String eyeColor;
     private Hair hair;
     private String ip;
     private Address address;
     private String macAddress;
-    private String university;
+    @Pooled private String university;
     private Bank bank;
     private Company company;
     private String ein;
     private String ssn;
     private String userAgent;
     private Crypto crypto;
-    private String role;
+    @Pooled private String role;
+    
+    // Raw JSON of the heavy fields when decoded lazily (see LazyDecoding)
+    @LazyField("address") private transient LazyValue<Address> lazyAddress;
+    @LazyField("bank") private transient LazyValue<Bank> lazyBank;
+    @LazyField("company") private transient LazyValue<Company> lazyCompany;
+    @LazyField("crypto") private transient LazyValue<Crypto> lazyCrypto;
     
     // Getters
     public int getId() { return id; }
@@ -53,15 +63,15 @@ public class User {
     public Optional<String> getEyeColor() { return Optional.ofNullable(eyeColor); }
     public Optional<Hair> getHair() { return Optional.ofNullable(hair); }
     public Optional<String> getIp() { return Optional.ofNullable(ip); }
-    public Optional<Address> getAddress() { return Optional.ofNullable(address); }
+    public Optional<Address> getAddress() { return Optional.ofNullable(LazyValue.unwrap(lazyAddress, address)); }
     public Optional<String> getMacAddress() { return Optional.ofNullable(macAddress); }
     public Optional<String> getUniversity() { return Optional.ofNullable(university); }
-    public Optional<Bank> getBank() { return Optional.ofNullable(bank); }
-    public Optional<Company> getCompany() { return Optional.ofNullable(company); }
+    public Optional<Bank> getBank() { return Optional.ofNullable(LazyValue.unwrap(lazyBank, bank)); }
+    public Optional<Company> getCompany() { return Optional.ofNullable(LazyValue.unwrap(lazyCompany, company)); }
     public Optional<String> getEin() { return Optional.ofNullable(ein); }
     public Optional<String> getSsn() { return Optional.ofNullable(ssn); }
     public Optional<String> getUserAgent() { return Optional.ofNullable(userAgent); }
-    public Optional<Crypto> getCrypto() { return Optional.ofNullable(crypto); }
+    public Optional<Crypto> getCrypto() { return Optional.ofNullable(LazyValue.unwrap(lazyCrypto, crypto)); }
     public Optional<String> getRole() { return Optional.ofNullable(role); }
     
     // Helper methods
@@ -0,0 +1,75 @@
+package dev.kadcom.dummyjson.models;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class UserWithCarts {
+    private final User user;
+    private final List<Cart> carts;
+    private final Map<Integer, Product> products;
+    private final Throwable cartsError;
+    
+    public UserWithCarts(User user, List<Cart> carts, Map<Integer, Product> products) {
+        this(user, carts, products, null);
+    }
+    
+    public UserWithCarts(User user, List<Cart> carts, Map<Integer, Product> products, Throwable cartsError) {
+        this.user = user;
+        this.carts = carts != null ? carts : Collections.emptyList();
+        this.products = products != null ? products : Collections.emptyMap();
+        this.cartsError = cartsError;
+    }
+    
+    public User getUser() { return user; }
+    public List<Cart> getCarts() { return carts; }
+    public Map<Integer, Product> getProducts() { return products; }
+    
+    /**
+     * Why this user's carts could not be loaded, or null if they were
+     */
+    public Throwable getCartsError() { return cartsError; }
+    
+    public boolean hasCartsError() {
+        return cartsError != null;
+    }
+    
+    public Optional<Product> getProduct(CartProduct cartProduct) {
+        return Optional.ofNullable(products.get(cartProduct.getId()));
+    }
+    
+    public boolean hasCarts() {
+        return !carts.isEmpty();
+    }
+    
+    public boolean isHydrated() {
+        return !products.isEmpty();
+    }
+    
+    public int getTotalQuantity() {
+        int quantity = 0;
+        for (Cart cart : carts) {
+            quantity += cart.getTotalQuantity();
+        }
+        return quantity;
+    }
+    
+    public Money getDiscountedTotal() {
+        long minorUnits = 0;
+        for (Cart cart : carts) {
+            minorUnits += cart.getDiscountedTotalMoney().getMinorUnits();
+        }
+        return Money.ofMinorUnits(minorUnits);
+    }
+    
+    @Override
+    public String toString() {
+        return "UserWithCarts{" +
+                "userId=" + (user != null ? user.getId() : 0) +
+                ", carts=" + carts.size() +
+                ", hydratedProducts=" + products.size() +
+                (cartsError != null ? ", cartsError=" + cartsError : "") +
+                '}';
+    }
+}
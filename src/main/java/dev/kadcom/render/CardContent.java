@@ -0,0 +1,43 @@
+package dev.kadcom.render;
+
+/**
+ * Preformatted text a {@link CardPainter} draws for one product. Every getter
+ * is called per frame and must return stored values, never format.
+ */
+public interface CardContent {
+
+    /**
+     * Upper-case brand, or null/empty for none
+     */
+    String getBrandLabel();
+
+    /**
+     * Rating text, or null/empty for none
+     */
+    String getFormattedRating();
+
+    String getFormattedPrice();
+
+    boolean hasDiscount();
+
+    String getFormattedDiscountedPrice();
+
+    String getFormattedDiscount();
+
+    /**
+     * False while the title layout is not bound to the surface
+     */
+    boolean hasTitle();
+
+    float getTitleHeight();
+
+    /**
+     * Measured with the {@link CardPainter.Ink#ORIGINAL_PRICE} paint
+     */
+    float getOriginalPriceWidth();
+
+    /**
+     * Measured with the {@link CardPainter.Ink#BADGE_TEXT} paint
+     */
+    float getDiscountWidth();
+}
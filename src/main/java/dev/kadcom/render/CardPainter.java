@@ -0,0 +1,213 @@
+package dev.kadcom.render;
+
+/**
+ * Product card drawing, kept free of Android types so the per-frame path can
+ * be checked for allocations on the JVM. Call {@link #layout} with the card
+ * size before drawing. Single-threaded, like the view that owns it.
+ */
+public final class CardPainter {
+
+    /**
+     * Paints the card draws with
+     */
+    public enum Ink {
+        SHADOW,
+        BACKGROUND,
+        DIVIDER,
+        PLACEHOLDER,
+        PLACEHOLDER_ICON,
+        BADGE,
+        BADGE_TEXT,
+        LOADING,
+        BRAND,
+        STAR,
+        RATING,
+        PRICE,
+        ORIGINAL_PRICE,
+        DISCOUNT
+    }
+
+    /**
+     * Fixed card dimensions in px, resolved once by the owner; not changed after
+     * the painter is created
+     */
+    public static final class Metrics {
+        public float cardPadding;
+        public float imageHeight;
+        public float cornerRadius;
+        public float shadowOffset;
+        public float textGap;
+        public float dividerGap;
+        public float dividerMargin;
+        public float badgeInset;
+        public float badgePaddingX;
+        public float badgeHeight;
+        public float priceGap;
+        public float lineHeight;
+        public float sectionSpacing;
+        public float itemSpacing;
+        public float starWidth; // Star glyph plus a space, in the STAR paint
+    }
+
+    private static final String PLACEHOLDER_ICON = "📷";
+    private static final String STAR = "⭐";
+
+    private final Metrics metrics;
+
+    // Geometry from the last layout
+    private float width;
+    private float height;
+    private float imageLeft;
+    private float imageTop;
+    private float imageRight;
+    private float imageBottom;
+
+    public CardPainter(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void layout(int width, int height) {
+        this.width = width;
+        this.height = height;
+        imageLeft = metrics.cardPadding;
+        imageTop = metrics.cardPadding;
+        imageRight = width - metrics.cardPadding;
+        imageBottom = metrics.cardPadding + metrics.imageHeight;
+    }
+
+    public float getImageLeft() {
+        return imageLeft;
+    }
+
+    public float getImageTop() {
+        return imageTop;
+    }
+
+    public float getImageRight() {
+        return imageRight;
+    }
+
+    public float getImageBottom() {
+        return imageBottom;
+    }
+
+    // ============ DRAWING ============
+
+    /**
+     * @param includeImage false to leave the image and badge out, for a cache
+     *        surface when they are drawn separately by {@link #drawImageLayer}
+     */
+    public void drawCard(DrawSurface<Ink> surface, CardContent content, boolean includeImage) {
+        float shadowOffset = metrics.shadowOffset;
+        surface.drawRoundRect(shadowOffset + 2, shadowOffset + 2, width, height,
+            metrics.cornerRadius, Ink.SHADOW);
+        drawCardBackground(surface);
+
+        if (includeImage) {
+            drawImageLayer(surface, content);
+        }
+
+        // Subtle divider between image and content
+        float dividerY = imageBottom + metrics.dividerGap;
+        surface.drawLine(shadowOffset + metrics.dividerMargin, dividerY,
+            width - shadowOffset - metrics.dividerMargin, dividerY, Ink.DIVIDER);
+
+        drawTextContent(surface, content);
+    }
+
+    /**
+     * Skeleton for a paged-out item: card and image placeholder, no text
+     */
+    public void drawPlaceholderCard(DrawSurface<Ink> surface) {
+        drawCardBackground(surface);
+        drawImagePlaceholder(surface);
+    }
+
+    /**
+     * Image (or placeholder) with the discount badge over it
+     */
+    public void drawImageLayer(DrawSurface<Ink> surface, CardContent content) {
+        if (surface.hasImage()) {
+            DrawOps.drawCenterCrop(surface, imageLeft, imageTop, imageRight, imageBottom);
+        } else {
+            drawImagePlaceholder(surface);
+        }
+        if (content.hasDiscount()) {
+            drawDiscountBadge(surface, content);
+        }
+    }
+
+    public void drawLoadingIndicator(DrawSurface<Ink> surface, float rotation) {
+        DrawOps.drawSpinner(surface, imageLeft, imageTop, imageRight, imageBottom, rotation, Ink.LOADING);
+    }
+
+    private void drawCardBackground(DrawSurface<Ink> surface) {
+        float shadowOffset = metrics.shadowOffset;
+        surface.drawRoundRect(shadowOffset, shadowOffset, width - shadowOffset, height - shadowOffset,
+            metrics.cornerRadius, Ink.BACKGROUND);
+    }
+
+    private void drawImagePlaceholder(DrawSurface<Ink> surface) {
+        surface.drawRoundRect(imageLeft, imageTop, imageRight, imageBottom,
+            metrics.cornerRadius, Ink.PLACEHOLDER);
+        surface.drawText(PLACEHOLDER_ICON, (imageLeft + imageRight) * 0.5f,
+            (imageTop + imageBottom) * 0.5f + 8, Ink.PLACEHOLDER_ICON);
+    }
+
+    private void drawDiscountBadge(DrawSurface<Ink> surface, CardContent content) {
+        float badgeWidth = content.getDiscountWidth() + metrics.badgePaddingX;
+        float badgeHeight = metrics.badgeHeight;
+
+        // Top-right corner of the image
+        float right = imageRight - metrics.badgeInset;
+        float left = right - badgeWidth;
+        float top = imageTop + metrics.badgeInset;
+        float bottom = top + badgeHeight;
+
+        surface.drawRoundRect(left, top, right, bottom, badgeHeight / 2, Ink.BADGE);
+        surface.drawText(content.getFormattedDiscount(), (left + right) * 0.5f,
+            (top + bottom) * 0.5f + 4, Ink.BADGE_TEXT);
+    }
+
+    private void drawTextContent(DrawSurface<Ink> surface, CardContent content) {
+        float currentY = imageBottom + metrics.textGap;
+        float leftX = metrics.cardPadding;
+
+        String brand = content.getBrandLabel();
+        if (brand != null && !brand.isEmpty()) {
+            surface.drawText(brand, leftX, currentY, Ink.BRAND);
+            currentY += metrics.itemSpacing * 2; // More space after brand
+        }
+
+        if (content.hasTitle()) {
+            surface.drawTextLayout(leftX, currentY);
+            currentY += content.getTitleHeight() + metrics.sectionSpacing;
+        }
+
+        String rating = content.getFormattedRating();
+        if (rating != null && !rating.isEmpty()) {
+            surface.drawText(STAR, leftX, currentY, Ink.STAR);
+            surface.drawText(rating, leftX + metrics.starWidth, currentY, Ink.RATING);
+            currentY += metrics.itemSpacing * 3; // More space after rating
+        }
+
+        // Even more space before the price section
+        currentY += metrics.itemSpacing * 2;
+
+        drawPriceSection(surface, content, leftX, currentY);
+    }
+
+    private void drawPriceSection(DrawSurface<Ink> surface, CardContent content, float leftX, float currentY) {
+        if (content.hasDiscount()) {
+            surface.drawText(content.getFormattedDiscountedPrice(), leftX, currentY, Ink.PRICE);
+
+            // Original price (crossed out) and discount on the line below
+            float nextLineY = currentY + metrics.lineHeight * 1.2f;
+            surface.drawText(content.getFormattedPrice(), leftX, nextLineY, Ink.ORIGINAL_PRICE);
+            float discountX = leftX + content.getOriginalPriceWidth() + metrics.priceGap;
+            surface.drawText(content.getFormattedDiscount(), discountX, nextLineY, Ink.DISCOUNT);
+        } else {
+            surface.drawText(content.getFormattedPrice(), leftX, currentY, Ink.PRICE);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dev.kadcom.render;
+
+/**
+ * Cache key of a rendered card: product, its content version, size and image
+ * state. The owner calls {@link #set} whenever one of those changes (bind,
+ * image load, resize), so drawing only reads {@link #get}; the key string is
+ * rebuilt, in a reused builder, only when a part actually changed.
+ * Single-threaded, like the view that owns it.
+ */
+public final class CardRasterKey {
+
+    /**
+     * Image state of a card whose image area is left empty and drawn per frame
+     */
+    public static final String IMAGE_SEPARATE = "-";
+
+    /**
+     * Image state of a card showing the placeholder
+     */
+    public static final String IMAGE_PLACEHOLDER = "?";
+
+    private final StringBuilder builder = new StringBuilder(96);
+
+    private int productId;
+    private int contentVersion;
+    private int width;
+    private int height;
+    private String imageState;
+    private String key; // Null until set, and after clear
+
+    /**
+     * @param imageState {@link #IMAGE_SEPARATE}, {@link #IMAGE_PLACEHOLDER}, or
+     *        the URL of the image drawn into the raster
+     * @return true if the key changed
+     */
+    public boolean set(int productId, int contentVersion, int width, int height, String imageState) {
+        if (key != null && productId == this.productId && contentVersion == this.contentVersion
+                && width == this.width && height == this.height && imageState.equals(this.imageState)) {
+            return false;
+        }
+        this.productId = productId;
+        this.contentVersion = contentVersion;
+        this.width = width;
+        this.height = height;
+        this.imageState = imageState;
+        builder.setLength(0);
+        builder.append(productId).append(':').append(contentVersion).append(':')
+            .append(width).append('x').append(height).append(':').append(imageState);
+        key = builder.toString();
+        return true;
+    }
+
+    /**
+     * The current key, or null when nothing is bound
+     */
+    public String get() {
+        return key;
+    }
+
+    public void clear() {
+        key = null;
+        imageState = null;
+    }
+}
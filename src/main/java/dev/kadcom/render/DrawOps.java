@@ -0,0 +1,48 @@
+package dev.kadcom.render;
+
+/**
+ * Drawing shared by the painters
+ */
+final class DrawOps {
+
+    private DrawOps() {
+    }
+
+    /**
+     * The bound image scaled to fill the rect, cropping its overflow evenly
+     */
+    static void drawCenterCrop(DrawSurface<?> surface, float left, float top, float right, float bottom) {
+        int imageWidth = surface.getImageWidth();
+        int imageHeight = surface.getImageHeight();
+        if (imageWidth <= 0 || imageHeight <= 0) {
+            return;
+        }
+        float width = right - left;
+        float height = bottom - top;
+        float scale = Math.max(width / imageWidth, height / imageHeight);
+
+        float dx = (width - imageWidth * scale) * 0.5f;
+        float dy = (height - imageHeight * scale) * 0.5f;
+
+        surface.drawImage(
+            Math.max(0, -dx / scale),
+            Math.max(0, -dy / scale),
+            Math.min(imageWidth, (width - dx) / scale),
+            Math.min(imageHeight, (height - dy) / scale),
+            left, top, right, bottom
+        );
+    }
+
+    /**
+     * Quarter arc in the middle of the rect, rotated to {@code angle}
+     */
+    static <I extends Enum<I>> void drawSpinner(DrawSurface<I> surface, float left, float top,
+                                                float right, float bottom, float angle, I ink) {
+        float centerX = (left + right) * 0.5f;
+        float centerY = (top + bottom) * 0.5f;
+        float radius = Math.min(right - left, bottom - top) * 0.15f;
+
+        surface.drawArc(centerX - radius, centerY - radius, centerX + radius, centerY + radius,
+            angle, 90, ink);
+    }
+}
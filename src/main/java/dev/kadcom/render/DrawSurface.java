@@ -0,0 +1,41 @@
+package dev.kadcom.render;
+
+/**
+ * What the painters in this package draw on. Paints are named by an ink enum
+ * the implementation maps to its own paint objects; the image and text layout
+ * are bound to the surface by its owner before drawing. Implementations must
+ * not allocate per call: painters run on every frame.
+ *
+ * @param <I> the painter's ink enum
+ */
+public interface DrawSurface<I extends Enum<I>> {
+
+    void drawRoundRect(float left, float top, float right, float bottom, float radius, I ink);
+
+    void drawLine(float startX, float startY, float stopX, float stopY, I ink);
+
+    void drawText(String text, float x, float y, I ink);
+
+    void drawArc(float left, float top, float right, float bottom,
+                 float startAngle, float sweepAngle, I ink);
+
+    /**
+     * True if the bound image can be drawn on this surface
+     */
+    boolean hasImage();
+
+    int getImageWidth();
+
+    int getImageHeight();
+
+    /**
+     * Draw the {@code src} region of the bound image (image pixels) into {@code dst}
+     */
+    void drawImage(float srcLeft, float srcTop, float srcRight, float srcBottom,
+                   float dstLeft, float dstTop, float dstRight, float dstBottom);
+
+    /**
+     * Draw the bound text layout with its top-left corner at ({@code x}, {@code y})
+     */
+    void drawTextLayout(float x, float y);
+}
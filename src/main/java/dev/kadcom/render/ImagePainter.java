@@ -0,0 +1,43 @@
+package dev.kadcom.render;
+
+/**
+ * Image view drawing: the bound image center-cropped to fill the view, or a
+ * rounded placeholder, with a spinner while loading. Free of Android types so
+ * the per-frame path can be checked for allocations on the JVM.
+ */
+public final class ImagePainter {
+
+    /**
+     * Paints the image view draws with
+     */
+    public enum Ink {
+        PLACEHOLDER,
+        ERROR_ICON,
+        LOADING
+    }
+
+    private static final String ERROR_ICON = "🖼️";
+
+    private final float cornerRadius;
+
+    public ImagePainter(float cornerRadius) {
+        this.cornerRadius = cornerRadius;
+    }
+
+    /**
+     * @param loadingAngle spinner rotation in degrees, used while {@code loading}
+     */
+    public void draw(DrawSurface<Ink> surface, float width, float height, boolean loading, float loadingAngle) {
+        if (surface.hasImage()) {
+            DrawOps.drawCenterCrop(surface, 0, 0, width, height);
+        } else {
+            surface.drawRoundRect(0, 0, width, height, cornerRadius, Ink.PLACEHOLDER);
+            if (!loading) {
+                surface.drawText(ERROR_ICON, width * 0.5f, height * 0.5f, Ink.ERROR_ICON);
+            }
+        }
+        if (loading) {
+            DrawOps.drawSpinner(surface, 0, 0, width, height, loadingAngle, Ink.LOADING);
+        }
+    }
+}
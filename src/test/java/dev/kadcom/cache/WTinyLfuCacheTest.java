@@ -0,0 +1,284 @@
+package dev.kadcom.cache;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WTinyLfuCacheTest {
+
+    // ============ POLICY ============
+
+    @Test
+    public void testScanDoesNotFlushFrequentEntries() {
+        WTinyLfuCache<String, String> cache = new WTinyLfuCache<>(100, 200, (k, v) -> 1);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20; i++) {
+                access(cache, "hot-" + i);
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            access(cache, "scan-" + i);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(cache.get("hot-" + i)).as("hot-" + i).isNotNull();
+        }
+    }
+
+    @Test
+    public void testWeightedSizeStaysWithinBound() {
+        WTinyLfuCache<Integer, Integer> cache = new WTinyLfuCache<>(1000, 100, (k, v) -> v);
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(300);
+            if (cache.get(key) == null) {
+                cache.put(key, 10 + key % 90);
+            }
+            assertThat(cache.weightedSize()).isLessThanOrEqualTo(1000);
+        }
+
+        cache.resize(200);
+
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    public void testRemovalListenerReportsEvictionsAndReplacements() {
+        List<String> removed = new ArrayList<>();
+        WTinyLfuCache<String, String> cache = new WTinyLfuCache<String, String>(3, 16, 0.34f, (k, v) -> 1)
+            .setRemovalListener((key, value, evicted) -> removed.add(value + (evicted ? ":evicted" : ":removed")));
+
+        cache.put("a", "a1");
+        cache.put("a", "a2");
+        for (int i = 0; i < 10; i++) {
+            cache.put("k" + i, "v" + i);
+        }
+        cache.evictAll();
+
+        assertThat(removed.get(0)).isEqualTo("a1:removed");
+        assertThat(removed).anyMatch(r -> r.endsWith(":evicted"));
+        assertThat(removed.subList(removed.size() - cache.size() - 1, removed.size()))
+            .allMatch(r -> r.endsWith(":removed"));
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weightedSize()).isZero();
+    }
+
+    // ============ TRACE SIMULATION ============
+
+    // ImageLoader's memory cache window; the default is reported alongside
+    private static final float IMAGE_CACHE_WINDOW = 0.2f;
+
+    /**
+     * Replays memory cache traces recorded on a device through
+     * {@code ImageLoader.startCacheTrace} and {@code ImageLoaderStats.getCacheTrace}
+     * (saved with {@link CacheTrace#writeTo}) from the directory named by the
+     * {@code CACHE_TRACE_DIR} environment variable, e.g.
+     * {@code bazel test --test_env=CACHE_TRACE_DIR=/path/to/traces}. Each is
+     * replayed at several cache sizes against a weighted LRU, with the image
+     * cache's window and the default one. Skipped when no traces are given.
+     */
+    @Test
+    public void testRecordedScrollTracesHitRatio() throws IOException {
+        List<File> files = recordedTraces();
+        Assume.assumeFalse("No recorded traces in CACHE_TRACE_DIR", files.isEmpty());
+
+        for (File file : files) {
+            CacheTrace trace;
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                trace = CacheTrace.read(reader);
+            }
+            List<String> lookups = new ArrayList<>();
+            long distinctWeight = 0;
+            Set<String> seen = new HashSet<>();
+            for (String key : trace.getLookups()) {
+                if (trace.weightOf(key) > 0) {
+                    lookups.add(key);
+                    if (seen.add(key)) {
+                        distinctWeight += trace.weightOf(key);
+                    }
+                }
+            }
+            for (int percent : new int[] {10, 25, 50}) {
+                long capacity = Math.max(1, distinctWeight * percent / 100);
+                double lru = replayLru(capacity, lookups, trace::weightOf);
+                double tinyLfu = replay(new WTinyLfuCache<>(capacity, seen.size(), IMAGE_CACHE_WINDOW,
+                    (k, v) -> v), lookups, trace::weightOf);
+                double defaultWindow = replay(new WTinyLfuCache<>(capacity, seen.size(),
+                    (k, v) -> v), lookups, trace::weightOf);
+                String label = file.getName() + " @" + percent + "%";
+                report(label, lru, tinyLfu, defaultWindow);
+
+                assertThat(tinyLfu).as("%s: W-TinyLFU %.3f vs LRU %.3f", label, tinyLfu, lru)
+                    .isGreaterThanOrEqualTo(lru);
+            }
+        }
+    }
+
+    private static List<File> recordedTraces() {
+        String dir = System.getenv("CACHE_TRACE_DIR");
+        List<File> files = new ArrayList<>();
+        File[] listed = dir != null ? new File(dir).listFiles() : null;
+        if (listed != null) {
+            for (File file : listed) {
+                if (file.isFile()) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    @Test
+    public void testCacheTraceRoundTrips() throws IOException {
+        CacheTrace trace = new CacheTrace(3);
+        trace.recordLookup("a@1");
+        trace.recordWeight("a@1", 40);
+        trace.recordLookup("b\t2");
+        trace.recordLookup("a@1");
+        trace.recordLookup("dropped");
+
+        StringWriter text = new StringWriter();
+        trace.writeTo(text);
+        CacheTrace read = CacheTrace.read(new StringReader(text.toString()));
+
+        assertThat(read.getLookups()).containsExactly("a@1", "b\t2", "a@1");
+        assertThat(read.weightOf("a@1")).isEqualTo(40);
+        assertThat(read.weightOf("b\t2")).isZero();
+    }
+
+    /**
+     * Replays synthetic grid-browsing traces (paging through the catalogue,
+     * scrolling back, returning to a few hero products, occasional long
+     * flings) against W-TinyLFU and a weighted LRU of the same capacity. The
+     * shape is hand-picked, so this guards the policy mechanics rather than
+     * the window choice; the recorded traces above decide that. The default
+     * 1% window is reported too: here it rejects entries before the user
+     * scrolls back to them and loses to LRU.
+     */
+    @Test
+    public void testScrollTraceHitRatioBeatsLru() {
+        long capacity = 60 * 80; // ~60 thumbnails of 80KB
+        for (long seed = 1; seed <= 3; seed++) {
+            List<Integer> trace = scrollTrace(new Random(seed));
+
+            double tinyLfu = replay(new WTinyLfuCache<>(capacity, 256, IMAGE_CACHE_WINDOW, (k, v) -> v),
+                trace, WTinyLfuCacheTest::weightOf);
+            double defaultWindow = replay(new WTinyLfuCache<>(capacity, 256, (k, v) -> v),
+                trace, WTinyLfuCacheTest::weightOf);
+            double lru = replayLru(capacity, trace, WTinyLfuCacheTest::weightOf);
+            report("synthetic seed " + seed, lru, tinyLfu, defaultWindow);
+
+            assertThat(tinyLfu).as("seed %d: W-TinyLFU %.3f vs LRU %.3f", seed, tinyLfu, lru)
+                .isGreaterThan(lru);
+        }
+    }
+
+    private static void report(String label, double lru, double tinyLfu, double defaultWindow) {
+        System.out.printf(Locale.US, "%s: LRU %.3f, W-TinyLFU window %.0f%% %.3f, default window %.3f%n",
+            label, lru, IMAGE_CACHE_WINDOW * 100, tinyLfu, defaultWindow);
+    }
+
+    private static List<Integer> scrollTrace(Random random) {
+        int catalogue = 2000;
+        int[] heroes = {3, 17, 42, 99, 150, 256, 512, 777};
+        List<Integer> trace = new ArrayList<>();
+        int position = 0;
+        for (int step = 0; step < 400; step++) {
+            int roll = random.nextInt(100);
+            if (roll < 55) {
+                // Page forward a few rows, two columns
+                int count = 6 + random.nextInt(20);
+                for (int i = 0; i < count; i++) {
+                    trace.add((position + i) % catalogue);
+                }
+                position = (position + count) % catalogue;
+            } else if (roll < 70) {
+                // Scroll back over what was just seen
+                int count = 4 + random.nextInt(12);
+                for (int i = 1; i <= count; i++) {
+                    trace.add(Math.floorMod(position - i, catalogue));
+                }
+            } else if (roll < 92) {
+                // Return to a hero product (skewed towards the first few)
+                int hero = heroes[Math.min(random.nextInt(heroes.length), random.nextInt(heroes.length))];
+                trace.add(hero);
+                trace.add(catalogue + hero); // Its detail image
+            } else {
+                // Fling through a long stretch once
+                int start = random.nextInt(catalogue);
+                int count = 150 + random.nextInt(250);
+                for (int i = 0; i < count; i++) {
+                    trace.add((start + i) % catalogue);
+                }
+                position = (start + count) % catalogue;
+            }
+        }
+        return trace;
+    }
+
+    private static int weightOf(int key) {
+        return key >= 2000 ? 300 : 40 + (key * 37) % 80; // Detail images are larger
+    }
+
+    private static <K> double replay(WTinyLfuCache<K, Integer> cache, List<K> trace, ToIntFunction<K> weigher) {
+        int hits = 0;
+        for (K key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, weigher.applyAsInt(key));
+            }
+        }
+        return (double) hits / trace.size();
+    }
+
+    private static <K> double replayLru(long capacity, List<K> trace, ToIntFunction<K> weigher) {
+        LinkedHashMap<K, Integer> lru = new LinkedHashMap<>(64, 0.75f, true);
+        long weight = 0;
+        int hits = 0;
+        for (K key : trace) {
+            if (lru.get(key) != null) {
+                hits++;
+                continue;
+            }
+            int keyWeight = weigher.applyAsInt(key);
+            lru.put(key, keyWeight);
+            weight += keyWeight;
+            Iterator<Map.Entry<K, Integer>> eldest = lru.entrySet().iterator();
+            while (weight > capacity && eldest.hasNext()) {
+                weight -= eldest.next().getValue();
+                eldest.remove();
+            }
+        }
+        return (double) hits / trace.size();
+    }
+
+    private static void access(WTinyLfuCache<String, String> cache, String key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+}
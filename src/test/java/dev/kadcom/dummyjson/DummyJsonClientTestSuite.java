@@ -1,12 +1,32 @@
 package dev.kadcom.dummyjson;
 
+import dev.kadcom.cache.WTinyLfuCacheTest;
+import dev.kadcom.dummyjson.analytics.CartAnalyticsTest;
+import dev.kadcom.dummyjson.client.BoundedFanOutTest;
+import dev.kadcom.dummyjson.client.CatalogRefresherTest;
+import dev.kadcom.dummyjson.client.SearchSessionTest;
+import dev.kadcom.dummyjson.client.UserCartsJoinTest;
 import dev.kadcom.dummyjson.integration.DummyJsonIntegrationTest;
+import dev.kadcom.dummyjson.json.LazyDecodingTest;
+import dev.kadcom.dummyjson.json.StringPoolTest;
+import dev.kadcom.dummyjson.models.MoneyTest;
+import dev.kadcom.render.DrawAllocationTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-    DummyJsonIntegrationTest.class
+    DummyJsonIntegrationTest.class,
+    StringPoolTest.class,
+    LazyDecodingTest.class,
+    UserCartsJoinTest.class,
+    BoundedFanOutTest.class,
+    CartAnalyticsTest.class,
+    MoneyTest.class,
+    CatalogRefresherTest.class,
+    SearchSessionTest.class,
+    WTinyLfuCacheTest.class,
+    DrawAllocationTest.class
 })
 public class DummyJsonClientTestSuite {
 }
\ No newline at end of file
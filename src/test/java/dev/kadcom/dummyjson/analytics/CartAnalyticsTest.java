@@ -0,0 +1,136 @@
+package dev.kadcom.dummyjson.analytics;
+
+import dev.kadcom.dummyjson.json.ModelAdapters;
+import dev.kadcom.dummyjson.models.CartsResponse;
+import dev.kadcom.dummyjson.models.Money;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CartAnalyticsTest {
+    private CartAnalytics analytics;
+    
+    @Before
+    public void setUp() {
+        analytics = new CartAnalytics();
+    }
+    
+    private static CartsResponse page(String carts) throws IOException {
+        return ModelAdapters.newBuilder().build().adapter(CartsResponse.class)
+            .fromJson("{\"carts\":[" + carts + "],\"total\":100,\"skip\":0,\"limit\":30}");
+    }
+    
+    private static String cart(int id, int userId, String lines) {
+        return "{\"id\":" + id + ",\"userId\":" + userId + ",\"products\":[" + lines + "]}";
+    }
+    
+    private static String line(int productId, int quantity, double total, double discount) {
+        double discounted = Math.round(total * (100 - discount)) / 100.0;
+        return "{\"id\":" + productId + ",\"quantity\":" + quantity + ",\"total\":" + total
+            + ",\"discountPercentage\":" + discount + ",\"discountedTotal\":" + discounted + "}";
+    }
+    
+    @Test
+    public void testAggregatesAcrossPages() throws IOException {
+        analytics.ingest(page(cart(1, 10, line(100, 2, 20.0, 0) + "," + line(101, 1, 50.0, 10))));
+        analytics.ingest(page(cart(2, 11, line(100, 3, 30.0, 12))));
+        
+        CartAnalytics.Report report = analytics.getReport();
+        
+        assertThat(report.getCartCount()).isEqualTo(2);
+        assertThat(report.getUnits()).isEqualTo(6);
+        assertThat(report.getRevenue()).isEqualTo(Money.parse("91.40"));
+        assertThat(report.getDiscountTotal()).isEqualTo(Money.parse("8.60"));
+        assertThat(report.getAverageBasketValue()).isEqualTo(Money.parse("45.70"));
+        assertThat(report.getAverageBasketUnits()).isEqualTo(3.0);
+        assertThat(report.getByProduct().get(100).getUnits()).isEqualTo(5);
+        assertThat(report.getByUser().get(11).getLines()).isEqualTo(1);
+        assertThat(report.getDiscountBand(0).getLines()).isEqualTo(1);
+        assertThat(report.getDiscountBand(2).getLines()).isEqualTo(1);
+        assertThat(report.getDiscountBand(3).getLines()).isEqualTo(1);
+    }
+    
+    @Test
+    public void testReingestedCartReplacesPreviousLines() throws IOException {
+        analytics.ingest(page(cart(1, 10, line(100, 2, 20.0, 0))));
+        analytics.ingest(page(cart(1, 10, line(101, 1, 10.0, 0))));
+        
+        CartAnalytics.Report report = analytics.getReport();
+        
+        assertThat(report.getCartCount()).isEqualTo(1);
+        assertThat(report.getUnits()).isEqualTo(1);
+        assertThat(report.getByProduct()).containsOnlyKeys(101);
+        assertThat(report.getCartsPerUser()).containsEntry(10, 1);
+    }
+    
+    @Test
+    public void testIncrementalTotalsMatchRecompute() throws IOException {
+        for (int p = 0; p < 5; p++) {
+            StringBuilder carts = new StringBuilder();
+            for (int c = 0; c < 300; c++) {
+                int id = p * 300 + c;
+                if (c > 0) carts.append(',');
+                carts.append(cart(id, id % 37, line(id % 50, 1 + c % 4, 10.0 + c, c % 25)
+                    + "," + line(id % 13, 1, 99.5, 0)));
+            }
+            analytics.ingest(page(carts.toString()));
+        }
+        
+        CartAnalytics.Report incremental = analytics.getReport();
+        CartAnalytics.Report full = analytics.recompute();
+        
+        assertThat(incremental.getCartCount()).isEqualTo(1500);
+        assertThat(incremental.getUnits()).isEqualTo(full.getUnits());
+        assertThat(incremental.getRevenue()).isEqualTo(full.getRevenue());
+        assertThat(incremental.getByProduct().keySet()).isEqualTo(full.getByProduct().keySet());
+        assertThat(incremental.getByUser().get(5).getUnits()).isEqualTo(full.getByUser().get(5).getUnits());
+    }
+    
+    @Test
+    public void testDuplicateCartWithinPageKeepsLastOccurrence() throws IOException {
+        analytics.ingest(page(cart(1, 10, line(100, 2, 20.0, 0))));
+        analytics.ingest(page(cart(1, 10, line(101, 1, 10.0, 0)) + ","
+            + cart(2, 11, line(102, 4, 40.0, 5)) + ","
+            + cart(1, 10, line(103, 3, 30.0, 0))));
+        
+        CartAnalytics.Report report = analytics.getReport();
+        CartAnalytics.Report full = analytics.recompute();
+        
+        assertThat(report.getCartCount()).isEqualTo(2);
+        assertThat(report.getUnits()).isEqualTo(7).isEqualTo(full.getUnits());
+        assertThat(report.getRevenue()).isEqualTo(full.getRevenue());
+        assertThat(report.getDiscountTotal()).isEqualTo(full.getDiscountTotal());
+        assertThat(report.getByProduct().keySet()).isEqualTo(full.getByProduct().keySet());
+        assertThat(report.getByProduct()).doesNotContainKey(101);
+        assertThat(report.getCartsPerUser()).isEqualTo(full.getCartsPerUser()).containsEntry(10, 1);
+    }
+    
+    @Test
+    public void testRetractedLinesAreCompacted() throws IOException {
+        StringBuilder carts = new StringBuilder();
+        for (int c = 0; c < 100; c++) {
+            if (c > 0) carts.append(',');
+            carts.append(cart(c, c % 7, line(c % 20, 1 + c % 3, 10.0 + c, c % 15)));
+        }
+        for (int round = 0; round < 20; round++) {
+            analytics.ingest(page(carts.toString()));
+        }
+        
+        assertThat(analytics.getStoredLines()).isLessThanOrEqualTo(200);
+        
+        // Re-ingesting after compaction still retracts the right lines
+        analytics.ingest(page(cart(5, 5, line(999, 2, 5.0, 0))));
+        CartAnalytics.Report report = analytics.getReport();
+        CartAnalytics.Report full = analytics.recompute();
+        
+        assertThat(report.getCartCount()).isEqualTo(100);
+        assertThat(report.getUnits()).isEqualTo(full.getUnits());
+        assertThat(report.getRevenue()).isEqualTo(full.getRevenue());
+        assertThat(report.getByProduct().keySet()).isEqualTo(full.getByProduct().keySet());
+        assertThat(report.getByProduct().get(999).getUnits()).isEqualTo(2);
+        assertThat(report.getCartsPerUser()).isEqualTo(full.getCartsPerUser());
+    }
+}
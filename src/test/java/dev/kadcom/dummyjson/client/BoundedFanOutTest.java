@@ -0,0 +1,71 @@
+package dev.kadcom.dummyjson.client;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedFanOutTest {
+    
+    @Test
+    public void testSynchronousCompletionsDrainWithoutRecursion() {
+        BoundedFanOut fanOut = new BoundedFanOut(1);
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        fanOut.submit(() -> first);
+        
+        // Queued behind the first task; each completes as soon as it starts
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int value = i;
+            queued.add(fanOut.submit(() -> CompletableFuture.completedFuture(value)));
+        }
+        assertThat(queued.get(0)).isNotDone();
+        
+        first.complete(-1);
+        
+        assertThat(queued).allMatch(CompletableFuture::isDone);
+        assertThat(queued.get(queued.size() - 1).join()).isEqualTo(99_999);
+    }
+    
+    @Test
+    public void testNeverExceedsLimit() {
+        BoundedFanOut fanOut = new BoundedFanOut(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> started = new ArrayList<>();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(fanOut.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                started.add(future);
+                return future;
+            }));
+        }
+        
+        while (!started.isEmpty()) {
+            CompletableFuture<Void> next = started.remove(0);
+            running.decrementAndGet();
+            next.complete(null);
+        }
+        
+        assertThat(results).allMatch(CompletableFuture::isDone);
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+    
+    @Test
+    public void testTaskThatThrowsFreesItsSlot() {
+        BoundedFanOut fanOut = new BoundedFanOut(1);
+        CompletableFuture<Object> failed = fanOut.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = fanOut.submit(() -> CompletableFuture.completedFuture("ok"));
+        
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next.join()).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,115 @@
+package dev.kadcom.dummyjson.client;
+
+import dev.kadcom.dummyjson.models.CatalogDelta;
+import dev.kadcom.dummyjson.models.Product;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogRefresherTest {
+    private MockWebServer server;
+    private CatalogRefresher refresher;
+    private final Map<Integer, String> catalog = new TreeMap<>();
+    
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = request.getRequestUrl();
+                int limit = Integer.parseInt(url.queryParameter("limit"));
+                int skip = Integer.parseInt(url.queryParameter("skip"));
+                StringBuilder products = new StringBuilder();
+                int index = 0;
+                for (Map.Entry<Integer, String> entry : catalog.entrySet()) {
+                    if (index >= skip && index < skip + limit) {
+                        if (products.length() > 0) products.append(',');
+                        products.append("{\"id\":").append(entry.getKey())
+                            .append(",\"title\":\"").append(entry.getValue()).append("\",\"price\":9.99}");
+                    }
+                    index++;
+                }
+                return new MockResponse().setBody("{\"products\":[" + products + "],\"total\":" + catalog.size()
+                    + ",\"skip\":" + skip + ",\"limit\":" + limit + "}");
+            }
+        });
+        server.start();
+        DummyJsonClient client = new DummyJsonClient(server.url("/").toString(), new OkHttpClient());
+        refresher = new CatalogRefresher(client).setPageSize(2);
+        for (int id = 1; id <= 5; id++) {
+            catalog.put(id, "Product " + id);
+        }
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+    
+    @Test
+    public void testFirstRefreshInsertsEverything() throws IOException {
+        CatalogDelta delta = refresher.refresh();
+        
+        assertThat(delta.getInserted()).hasSize(5);
+        assertThat(delta.getInsertedPositions()).containsExactly(0, 1, 2, 3, 4);
+        assertThat(delta.getUpdated()).isEmpty();
+        assertThat(refresher.getSnapshotSize()).isEqualTo(5);
+    }
+    
+    @Test
+    public void testUnchangedCatalogYieldsEmptyDelta() throws IOException {
+        refresher.refresh();
+        
+        assertThat(refresher.refresh().isEmpty()).isTrue();
+    }
+    
+    @Test
+    public void testDeltaContainsOnlyChanges() throws IOException {
+        refresher.refresh();
+        catalog.put(2, "Product 2 (new edition)");
+        catalog.remove(4);
+        catalog.put(6, "Product 6");
+        
+        CatalogDelta delta = refresher.refresh();
+        
+        assertThat(delta.getUpdated()).extracting("id").containsExactly(2);
+        assertThat(delta.getRemovedIds()).containsExactly(4);
+        assertThat(delta.getInserted()).extracting("id").containsExactly(6);
+        assertThat(delta.getInsertedPositions()).containsExactly(4);
+        assertThat(delta.getCatalogSize()).isEqualTo(5);
+    }
+    
+    @Test
+    public void testContentHashIgnoresDecodingMode() throws IOException {
+        String json = "{\"id\":7,\"title\":\"Lamp\",\"price\":19.5,\"tags\":[\"home\"],"
+            + "\"dimensions\":{\"width\":10.0,\"height\":20.5,\"depth\":3},"
+            + "\"reviews\":[{\"rating\":4,\"comment\":\"Bright\"}],\"brand\":\"Lumen\"}";
+        DummyJsonClient eager = new DummyJsonClient(server.url("/").toString(), new OkHttpClient());
+        DummyJsonClient lazy = new DummyJsonClient(server.url("/").toString(), new OkHttpClient())
+            .setLazyDecoding(true);
+        Product eagerProduct = eager.getMoshi().adapter(Product.class).fromJson(json);
+        Product lazyProduct = lazy.getMoshi().adapter(Product.class).fromJson(json);
+        
+        long eagerHash = new CatalogRefresher(eager).contentHash(eagerProduct);
+        CatalogRefresher lazyRefresher = new CatalogRefresher(lazy);
+        long lazyHash = lazyRefresher.contentHash(lazyProduct);
+        lazyProduct.getReviews();
+        long accessedHash = lazyRefresher.contentHash(lazyProduct);
+        
+        assertThat(lazyHash).isEqualTo(eagerHash).isEqualTo(accessedHash);
+        assertThat(lazyProduct.getDimensions()).isPresent();
+    }
+}
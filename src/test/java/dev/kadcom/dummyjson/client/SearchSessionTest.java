@@ -0,0 +1,85 @@
+package dev.kadcom.dummyjson.client;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchSessionTest {
+    private MockWebServer server;
+    private SearchSession session;
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                queries.add(request.getRequestUrl().queryParameter("q"));
+                return new MockResponse().setBody("{\"products\":["
+                    + "{\"id\":1,\"title\":\"iPhone 9\",\"description\":\"An apple mobile\"},"
+                    + "{\"id\":2,\"title\":\"iPhone X\",\"description\":\"SIM-Free, model A19211\"},"
+                    + "{\"id\":3,\"title\":\"Phone Case\",\"description\":\"Fits most phones\"}"
+                    + "],\"total\":3,\"skip\":0,\"limit\":100}");
+            }
+        });
+        server.start();
+        DummyJsonClient client = new DummyJsonClient(server.url("/").toString(), new OkHttpClient());
+        session = new SearchSession(client).setDebounceMs(50);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testRapidTypingSendsOnlyLatestQuery() throws Exception {
+        CompletableFuture<SearchSession.Result> first = session.query("p");
+        CompletableFuture<SearchSession.Result> second = session.query("ph");
+        CompletableFuture<SearchSession.Result> last = session.query("Phone ");
+
+        SearchSession.Result result = last.get(5, TimeUnit.SECONDS);
+
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(second.isCancelled()).isTrue();
+        assertThat(result.getQuery()).isEqualTo("phone");
+        assertThat(result.isFromCache()).isFalse();
+        assertThat(result.getProducts()).hasSize(3);
+        assertThat(queries).containsExactly("phone");
+    }
+
+    @Test
+    public void testExtendedPrefixIsFilteredLocally() throws Exception {
+        session.query("iphone").get(5, TimeUnit.SECONDS);
+
+        SearchSession.Result result = session.query("iphone x").get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isFromCache()).isTrue();
+        assertThat(result.getProducts().stream().map(p -> p.getId()).collect(Collectors.toList()))
+            .containsExactly(2);
+        assertThat(queries).containsExactly("iphone");
+    }
+
+    @Test
+    public void testBlankQueryCompletesImmediately() throws Exception {
+        SearchSession.Result result = session.query("   ").get(1, TimeUnit.SECONDS);
+
+        assertThat(result.getProducts()).isEmpty();
+        assertThat(queries).isEmpty();
+    }
+}
@@ -0,0 +1,130 @@
+package dev.kadcom.dummyjson.client;
+
+import dev.kadcom.dummyjson.models.UserWithCarts;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserCartsJoinTest {
+    private MockWebServer server;
+    private DummyJsonClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger productRequests = new AtomicInteger();
+    private volatile int failingProductId = -1;
+    private volatile int failingUserId = -1;
+    
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                String path = request.getPath();
+                if (path.startsWith("/users")) {
+                    return json("{\"users\":[{\"id\":1,\"firstName\":\"Emily\"},{\"id\":2,\"firstName\":\"Michael\"},"
+                        + "{\"id\":3,\"firstName\":\"Sophia\"}],\"total\":3,\"skip\":0,\"limit\":3}");
+                }
+                if (path.startsWith("/carts/user/")) {
+                    int running = inFlight.incrementAndGet();
+                    maxInFlight.accumulateAndGet(running, Math::max);
+                    Thread.sleep(50);
+                    inFlight.decrementAndGet();
+                    String userId = path.substring("/carts/user/".length());
+                    if (userId.equals(String.valueOf(failingUserId))) {
+                        return new MockResponse().setResponseCode(500);
+                    }
+                    return json("{\"carts\":[{\"id\":" + userId + ",\"userId\":" + userId + ",\"totalQuantity\":2,"
+                        + "\"products\":[{\"id\":10,\"quantity\":1},{\"id\":11,\"quantity\":1}]}],"
+                        + "\"total\":1,\"skip\":0,\"limit\":1}");
+                }
+                if (path.startsWith("/products/")) {
+                    productRequests.incrementAndGet();
+                    String id = path.substring("/products/".length());
+                    if (id.equals(String.valueOf(failingProductId))) {
+                        return new MockResponse().setResponseCode(500);
+                    }
+                    return json("{\"id\":" + id + ",\"title\":\"Product " + id + "\"}");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        server.start();
+        client = new DummyJsonClient(server.url("/").toString(), new OkHttpClient());
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+    
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body).setHeader("Content-Type", "application/json");
+    }
+    
+    @Test
+    public void testJoinRespectsFanOutLimit() throws Exception {
+        List<UserWithCarts> result = new UserCartsJoin(client)
+            .setMaxConcurrency(2)
+            .joinAsync(3, 0)
+            .get();
+        
+        assertThat(result).hasSize(3);
+        assertThat(result.get(1).getUser().getId()).isEqualTo(2);
+        assertThat(result.get(1).getCarts()).hasSize(1);
+        assertThat(result.get(1).getTotalQuantity()).isEqualTo(2);
+        assertThat(result.get(1).isHydrated()).isFalse();
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+    
+    @Test
+    public void testHydrationFetchesEachMissingProductOnce() throws Exception {
+        client.getProduct(10);
+        productRequests.set(0);
+        
+        List<UserWithCarts> result = client.getUsersWithCartsAsync(3, 0, true).get();
+        
+        assertThat(result).allMatch(UserWithCarts::isHydrated);
+        assertThat(result.get(0).getProducts()).containsOnlyKeys(10, 11);
+        assertThat(result.get(2).getProducts().get(11).getTitle()).isEqualTo("Product 11");
+        assertThat(productRequests.get()).isEqualTo(1);
+    }
+    
+    @Test
+    public void testFailedProductLeavesOnlyThatEntryUnhydrated() throws Exception {
+        failingProductId = 11;
+        
+        List<UserWithCarts> result = client.getUsersWithCartsAsync(3, 0, true).get();
+        
+        assertThat(result).hasSize(3);
+        assertThat(result).allMatch(UserWithCarts::isHydrated);
+        assertThat(result.get(0).getProducts()).containsOnlyKeys(10);
+        assertThat(result.get(0).getProduct(result.get(0).getCarts().get(0).getProducts().get(1))).isEmpty();
+    }
+    
+    @Test
+    public void testFailedCartsPageLeavesOnlyThatUserWithoutCarts() throws Exception {
+        failingUserId = 2;
+        
+        List<UserWithCarts> result = client.getUsersWithCartsAsync(3, 0, true).get();
+        
+        assertThat(result).hasSize(3);
+        assertThat(result.get(1).getUser().getId()).isEqualTo(2);
+        assertThat(result.get(1).hasCartsError()).isTrue();
+        assertThat(result.get(1).hasCarts()).isFalse();
+        assertThat(result.get(0).hasCartsError()).isFalse();
+        assertThat(result.get(0).getCarts()).hasSize(1);
+        assertThat(result.get(2).isHydrated()).isTrue();
+    }
+}
@@ -0,0 +1,150 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import dev.kadcom.dummyjson.models.Product;
+import dev.kadcom.dummyjson.models.User;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.squareup.moshi.JsonDataException;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+public class LazyDecodingTest {
+    private static final String PRODUCT_JSON = "{\"id\":1,\"title\":\"Mascara\","
+        + "\"dimensions\":{\"width\":23.17,\"height\":14.43,\"depth\":28.01},"
+        + "\"reviews\":[{\"rating\":5,\"comment\":\"Great\",\"reviewerName\":\"Eleanor\"},"
+        + "{\"rating\":2,\"comment\":\"Meh\",\"reviewerName\":\"Lucas\"}]}";
+    
+    private LazyDecoding lazyDecoding;
+    private Moshi moshi;
+    
+    @Before
+    public void setUp() {
+        lazyDecoding = new LazyDecoding(true);
+        moshi = ModelAdapters.newBuilder(new StringPool(), lazyDecoding).build();
+    }
+    
+    @Test
+    public void testLazyFieldsDecodeOnFirstAccess() throws IOException {
+        Product product = moshi.adapter(Product.class).fromJson(PRODUCT_JSON);
+        
+        assertThat(product.getReviews()).hasSize(2);
+        assertThat(product.getReviews()).isSameAs(product.getReviews());
+        assertThat(product.getReviews().get(1).isNegative()).isTrue();
+        assertThat(product.getDimensions()).isPresent();
+        assertThat(product.getDimensions().get().getWidth()).isEqualTo(23.17);
+    }
+    
+    @Test
+    public void testEagerModeMatchesLazyMode() throws IOException {
+        lazyDecoding.setEnabled(false);
+        Product eager = moshi.adapter(Product.class).fromJson(PRODUCT_JSON);
+        lazyDecoding.setEnabled(true);
+        Product lazy = moshi.adapter(Product.class).fromJson(PRODUCT_JSON);
+        
+        assertThat(lazy.getDimensions().get().getVolume())
+            .isEqualTo(eager.getDimensions().get().getVolume());
+        assertThat(lazy.getReviews().get(0).getComment())
+            .isEqualTo(eager.getReviews().get(0).getComment());
+    }
+    
+    @Test
+    public void testMissingAndNullNestedObjects() throws IOException {
+        User user = moshi.adapter(User.class)
+            .fromJson("{\"id\":7,\"firstName\":\"Emily\",\"address\":null}");
+        
+        assertThat(user.getAddress()).isEmpty();
+        assertThat(user.getBank()).isEmpty();
+    }
+    
+    @Test
+    public void testEncodingReemitsRawJsonWithoutDecoding() throws IOException {
+        Product product = moshi.adapter(Product.class).fromJson(PRODUCT_JSON);
+        String encoded = moshi.adapter(Product.class).toJson(product);
+        
+        assertThat(encoded).contains("\"reviewerName\":\"Lucas\"");
+        Product roundTripped = moshi.adapter(Product.class).fromJson(encoded);
+        assertThat(roundTripped.getReviews()).hasSize(2);
+    }
+    
+    @Test
+    public void testRawValueIsDroppedAfterDecode() {
+        LazyValue<String> value = LazyValue.ofRaw("\"beauty\"".getBytes(), moshi.adapter(String.class));
+        
+        assertThat(value.isDecoded()).isFalse();
+        assertThat(value.getRawSize()).isEqualTo(8);
+        assertThat(value.get()).isEqualTo("beauty");
+        assertThat(value.isDecoded()).isTrue();
+        assertThat(value.getRawSize()).isZero();
+    }
+    
+    @Test
+    public void testHeavyFieldsAreNotDecodedUntilAccessed() throws IOException {
+        // A malformed review only fails once the reviews are actually read
+        Product product = moshi.adapter(Product.class)
+            .fromJson("{\"id\":2,\"title\":\"Lipstick\",\"reviews\":[{\"rating\":\"five\"}]}");
+        
+        assertThat(product.getTitle()).isEqualTo("Lipstick");
+        assertThatThrownBy(product::getReviews).isInstanceOf(JsonDataException.class);
+    }
+    
+    @Test
+    public void testPlainMoshiDecodesModelsEagerly() throws IOException {
+        User user = new Moshi.Builder().build().adapter(User.class)
+            .fromJson("{\"id\":7,\"firstName\":\"Emily\",\"address\":{\"city\":\"Phoenix\"},"
+                + "\"bank\":{\"cardType\":\"Visa\"}}");
+        
+        assertThat(user.getAddress().get().getCity()).isEqualTo("Phoenix");
+        assertThat(user.getBank()).isPresent();
+        assertThat(user.getCrypto()).isEmpty();
+    }
+    
+    @Test
+    public void testLazyPageAllocatesLessThanEagerPage() throws IOException {
+        StringBuilder page = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            page.append(i > 0 ? "," : "").append(PRODUCT_JSON.replace("\"id\":1,", "\"id\":" + i + ","));
+        }
+        String json = page.append(']').toString();
+        JsonAdapter<List<Product>> adapter = moshi.adapter(Types.newParameterizedType(List.class, Product.class));
+        
+        lazyDecoding.setEnabled(false);
+        long eager = allocatedBytes(adapter, json);
+        lazyDecoding.setEnabled(true);
+        long lazy = allocatedBytes(adapter, json);
+        
+        System.out.println("100-product page: eager " + eager + " bytes, lazy " + lazy + " bytes");
+        assertThat(lazy).isLessThan(eager);
+    }
+    
+    /**
+     * Bytes this thread allocates per decode of {@code json}, after a warm-up
+     */
+    private static long allocatedBytes(JsonAdapter<?> adapter, String json) throws IOException {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 20; i++) {
+            adapter.fromJson(json);
+        }
+        int decodes = 50;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < decodes; i++) {
+            adapter.fromJson(json);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / decodes;
+    }
+}
@@ -0,0 +1,258 @@
+package dev.kadcom.dummyjson.json;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import dev.kadcom.dummyjson.models.Product;
+import dev.kadcom.dummyjson.models.ProductsResponse;
+import dev.kadcom.dummyjson.models.User;
+import dev.kadcom.dummyjson.models.UsersResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StringPoolTest {
+    private StringPool pool;
+    private Moshi moshi;
+    
+    @Before
+    public void setUp() {
+        pool = new StringPool();
+        moshi = ModelAdapters.newBuilder(pool, new LazyDecoding(false)).build();
+    }
+    
+    @Test
+    public void testInternReturnsCanonicalInstance() {
+        String first = pool.intern(new String("beauty"));
+        String second = pool.intern(new String("beauty"));
+        
+        assertThat(second).isSameAs(first);
+        assertThat(pool.getStats().getHits()).isEqualTo(1);
+        assertThat(pool.getStats().getBytesSaved()).isGreaterThan(0);
+    }
+    
+    @Test
+    public void testFullPoolStartsOver() {
+        StringPool small = new StringPool(2, 8);
+        String a = small.intern(new String("a"));
+        small.intern("b");
+        String overflow = new String("c");
+        
+        assertThat(small.intern(overflow)).isSameAs(overflow);
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.getStats().getEvicted()).isEqualTo(2);
+        assertThat(small.intern(new String("c"))).isSameAs(overflow);
+        assertThat(small.intern(new String("a"))).isNotSameAs(a); // Dropped with its generation
+        
+        assertThat(small.intern("this value is too long")).isEqualTo("this value is too long");
+        assertThat(small.getStats().getRejected()).isEqualTo(1);
+        assertThat(small.size()).isEqualTo(2);
+    }
+    
+    @Test
+    public void testInternedAdapterPoolsEachString() throws IOException {
+        JsonAdapter<String> adapter = moshi.adapter(String.class, StringPool.INTERNED);
+        JsonAdapter<List<String>> listAdapter =
+            moshi.adapter(Types.newParameterizedType(List.class, String.class), StringPool.INTERNED);
+        
+        String single = adapter.fromJson("\"beauty\"");
+        List<String> values = listAdapter.fromJson("[\"beauty\",null,\"beauty\"]");
+        
+        assertThat(values).containsExactly("beauty", null, "beauty");
+        assertThat(values.get(0)).isSameAs(single);
+        assertThat(values.get(2)).isSameAs(single);
+        assertThat(adapter.fromJson("null")).isNull();
+        assertThat(pool.getStats().getLookups()).isEqualTo(3);
+        assertThat(pool.getStats().getHits()).isEqualTo(2);
+    }
+    
+    @Test
+    public void testDecodedProductsShareStrings() throws IOException {
+        String json = "{\"products\":["
+            + "{\"id\":1,\"title\":\"A\",\"category\":\"beauty\",\"brand\":\"Essence\",\"tags\":[\"beauty\",\"mascara\"],\"availabilityStatus\":\"In Stock\"},"
+            + "{\"id\":2,\"title\":\"B\",\"category\":\"beauty\",\"brand\":\"Essence\",\"tags\":[\"beauty\"],\"availabilityStatus\":\"In Stock\"}"
+            + "],\"total\":2,\"skip\":0,\"limit\":2}";
+        
+        ProductsResponse response = moshi.adapter(ProductsResponse.class).fromJson(json);
+        Product first = response.getProducts().get(0);
+        Product second = response.getProducts().get(1);
+        
+        assertThat(second.getCategory()).isSameAs(first.getCategory());
+        assertThat(second.getBrand().get()).isSameAs(first.getBrand().get());
+        assertThat(second.getAvailabilityStatus()).isSameAs(first.getAvailabilityStatus());
+        assertThat(second.getTags().get(0)).isSameAs(first.getCategory());
+        assertThat(pool.getStats().getBytesSaved()).isGreaterThan(0);
+    }
+    
+    @Test
+    public void testLazyDecodingInternsToo() throws IOException {
+        Moshi lazy = ModelAdapters.newBuilder(pool, new LazyDecoding(true)).build();
+        String json = "{\"products\":["
+            + "{\"id\":1,\"category\":\"beauty\",\"tags\":[\"beauty\"],\"dimensions\":{\"width\":1}},"
+            + "{\"id\":2,\"category\":\"beauty\",\"tags\":[\"beauty\"],\"dimensions\":{\"width\":2}}"
+            + "],\"total\":2,\"skip\":0,\"limit\":2}";
+        
+        ProductsResponse response = lazy.adapter(ProductsResponse.class).fromJson(json);
+        Product first = response.getProducts().get(0);
+        Product second = response.getProducts().get(1);
+        
+        assertThat(second.getCategory()).isSameAs(first.getCategory());
+        assertThat(second.getTags().get(0)).isSameAs(first.getCategory());
+        assertThat(pool.getStats().getLookups()).isEqualTo(4);
+    }
+    
+    @Test
+    public void testBoundHoldsUnderConcurrentMisses() throws Exception {
+        StringPool small = new StringPool(64, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    small.intern("v" + ((i * 7 + thread) % 500));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        assertThat(small.size()).isLessThanOrEqualTo(64);
+        assertThat(small.mappedEntries()).isEqualTo(small.size());
+        assertThat(small.getStats().getEvicted()).isPositive();
+    }
+    
+    // ============ SNAPSHOT METRICS ============
+    
+    @Test
+    public void testCatalogSnapshotBytesSaved() throws IOException {
+        String[] categories = {"beauty", "fragrances", "furniture", "groceries"};
+        String[] brands = {"Essence", "Glamour Beauty", "Velvet Touch", "Chic Cosmetics", "Nail Couture"};
+        String[] statuses = {"In Stock", "Low Stock"};
+        String[] shipping = {"Ships in 1 week", "Ships in 2 weeks", "Ships overnight"};
+        String[] returns = {"30 days return policy", "No return policy"};
+        
+        StringBuilder json = new StringBuilder("{\"products\":[");
+        List<String> pooledValues = new ArrayList<>();
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            String category = categories[i % categories.length];
+            String brand = brands[i % brands.length];
+            String status = statuses[i % statuses.length];
+            String ship = shipping[i % shipping.length];
+            String policy = returns[i % returns.length];
+            String tag = categories[(i + 1) % categories.length];
+            json.append(i > 0 ? "," : "")
+                .append("{\"id\":").append(i)
+                .append(",\"title\":\"Product ").append(i)
+                .append("\",\"category\":\"").append(category)
+                .append("\",\"brand\":\"").append(brand)
+                .append("\",\"tags\":[\"").append(tag)
+                .append("\"],\"availabilityStatus\":\"").append(status)
+                .append("\",\"shippingInformation\":\"").append(ship)
+                .append("\",\"returnPolicy\":\"").append(policy).append("\"}");
+            pooledValues.add(category);
+            pooledValues.add(brand);
+            pooledValues.add(tag);
+            pooledValues.add(status);
+            pooledValues.add(ship);
+            pooledValues.add(policy);
+        }
+        json.append("],\"total\":").append(count).append(",\"skip\":0,\"limit\":").append(count).append("}");
+        
+        StringPool.Stats before = pool.getStats();
+        ProductsResponse response = moshi.adapter(ProductsResponse.class).fromJson(json.toString());
+        StringPool.Stats snapshot = pool.getStats().since(before);
+        
+        assertThat(response.getProducts()).hasSize(count);
+        assertThat(snapshot.getLookups()).isEqualTo(pooledValues.size());
+        assertThat(snapshot.getBytesSaved()).isEqualTo(expectedBytesSaved(pooledValues));
+        assertThat(snapshot.getHitRate()).isGreaterThan(0.95);
+    }
+    
+    @Test
+    public void testUserSnapshotBytesSaved() throws IOException {
+        String[] genders = {"male", "female"};
+        String[] bloodGroups = {"A+", "A-", "B+", "O+", "O-", "AB+"};
+        String[] eyeColors = {"Green", "Brown", "Blue", "Gray"};
+        String[] roles = {"admin", "moderator", "user"};
+        String[] hairColors = {"Black", "Brown", "Blond"};
+        String[] hairTypes = {"Curly", "Straight", "Wavy"};
+        String[] states = {"Mississippi", "Alabama", "Texas", "Ohio"};
+        
+        StringBuilder json = new StringBuilder("{\"users\":[");
+        List<String> pooledValues = new ArrayList<>();
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            String gender = genders[i % genders.length];
+            String bloodGroup = bloodGroups[i % bloodGroups.length];
+            String eyeColor = eyeColors[i % eyeColors.length];
+            String role = roles[i % roles.length];
+            String hairColor = hairColors[i % hairColors.length];
+            String hairType = hairTypes[i % hairTypes.length];
+            String state = states[i % states.length];
+            json.append(i > 0 ? "," : "")
+                .append("{\"id\":").append(i)
+                .append(",\"firstName\":\"User").append(i)
+                .append("\",\"gender\":\"").append(gender)
+                .append("\",\"bloodGroup\":\"").append(bloodGroup)
+                .append("\",\"eyeColor\":\"").append(eyeColor)
+                .append("\",\"role\":\"").append(role)
+                .append("\",\"hair\":{\"color\":\"").append(hairColor)
+                .append("\",\"type\":\"").append(hairType)
+                .append("\"},\"address\":{\"state\":\"").append(state).append("\"}}");
+            pooledValues.add(gender);
+            pooledValues.add(bloodGroup);
+            pooledValues.add(eyeColor);
+            pooledValues.add(role);
+            pooledValues.add(hairColor);
+            pooledValues.add(hairType);
+            pooledValues.add(state);
+        }
+        json.append("],\"total\":").append(count).append(",\"skip\":0,\"limit\":").append(count).append("}");
+        
+        StringPool.Stats before = pool.getStats();
+        UsersResponse response = moshi.adapter(UsersResponse.class).fromJson(json.toString());
+        StringPool.Stats snapshot = pool.getStats().since(before);
+        
+        User first = response.getUsers().get(0);
+        User third = response.getUsers().get(2);
+        assertThat(third.getGender()).isSameAs(first.getGender());
+        assertThat(response.getUsers().get(4).getAddress().get().getState())
+            .isSameAs(first.getAddress().get().getState());
+        assertThat(snapshot.getLookups()).isEqualTo(pooledValues.size());
+        assertThat(snapshot.getBytesSaved()).isEqualTo(expectedBytesSaved(pooledValues));
+    }
+    
+    /**
+     * Every occurrence after a value's first is a String the pool avoided retaining
+     */
+    private static long expectedBytesSaved(List<String> values) {
+        Set<String> seen = new HashSet<>();
+        long saved = 0;
+        for (String value : values) {
+            if (!seen.add(value)) {
+                saved += StringPool.estimateRetainedSize(value);
+            }
+        }
+        return saved;
+    }
+}
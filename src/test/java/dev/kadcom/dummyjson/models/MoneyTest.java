@@ -0,0 +1,113 @@
+package dev.kadcom.dummyjson.models;
+
+import com.squareup.moshi.Moshi;
+import dev.kadcom.dummyjson.json.ModelAdapters;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MoneyTest {
+    
+    @Test
+    public void testParseIsExact() {
+        assertThat(Money.parse("9.99").getMinorUnits()).isEqualTo(999);
+        assertThat(Money.parse("12").getMinorUnits()).isEqualTo(1200);
+        assertThat(Money.parse("0.5").getMinorUnits()).isEqualTo(50);
+        assertThat(Money.parse("-3.07").getMinorUnits()).isEqualTo(-307);
+        assertThat(Money.parse("1.2e2").getMinorUnits()).isEqualTo(12000);
+    }
+    
+    @Test
+    public void testParseRoundsHalfEven() {
+        assertThat(Money.parse("1.005").getMinorUnits()).isEqualTo(100);
+        assertThat(Money.parse("1.015").getMinorUnits()).isEqualTo(102);
+        assertThat(Money.parse("1.0051").getMinorUnits()).isEqualTo(101);
+        assertThat(Money.parse("89.06999999999999").getMinorUnits()).isEqualTo(8907);
+    }
+    
+    @Test
+    public void testRejectsMalformedInput() {
+        assertThatThrownBy(() -> Money.parse("")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("-")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("1.")).isInstanceOf(NumberFormatException.class);
+    }
+    
+    @Test
+    public void testSummationDoesNotDrift() {
+        Money sum = Money.ZERO;
+        double doubleSum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            sum = sum.plus(Money.parse("0.10"));
+            doubleSum += 0.10;
+        }
+        
+        assertThat(sum).isEqualTo(Money.parse("1000.00"));
+        assertThat(doubleSum).isNotEqualTo(1000.0);
+    }
+    
+    @Test
+    public void testFormatting() {
+        assertThat(Money.parse("1234.5").format()).isEqualTo("$1234.50");
+        assertThat(Money.parse("0.07").format()).isEqualTo("$0.07");
+        assertThat(Money.parse("-2.3").format()).isEqualTo("-$2.30");
+        assertThat(Money.parse("2.30").toString()).isEqualTo("2.30");
+    }
+    
+    @Test
+    public void testDiscountAndDivision() {
+        assertThat(Money.parse("9.99").discountedBy(7.17)).isEqualTo(Money.parse("9.27"));
+        assertThat(Money.parse("10.00").dividedBy(3)).isEqualTo(Money.parse("3.33"));
+        assertThat(Money.parse("0.05").dividedBy(2)).isEqualTo(Money.parse("0.02"));
+    }
+    
+    @Test
+    public void testModelsDecodeMoneyFromJsonLiterals() throws IOException {
+        Cart cart = ModelAdapters.newBuilder().build().adapter(Cart.class)
+            .fromJson("{\"id\":1,\"total\":103.77,\"discountedTotal\":89.06999999999999,"
+                + "\"products\":[{\"id\":5,\"price\":34.59,\"quantity\":3,\"total\":103.77,"
+                + "\"discountedTotal\":89.07}]}");
+        
+        assertThat(cart.getTotalMoney()).isEqualTo(Money.parse("103.77"));
+        assertThat(cart.getTotalSavingsMoney()).isEqualTo(Money.parse("14.70"));
+        assertThat(cart.getProducts().get(0).getDiscountedUnitPriceMoney()).isEqualTo(Money.parse("29.69"));
+        assertThat(cart.getTotal()).isEqualTo(103.77);
+    }
+    
+    @Test
+    public void testPlainMoshiDecodesMoneyFields() throws IOException {
+        Moshi moshi = new Moshi.Builder().build();
+        Cart cart = moshi.adapter(Cart.class)
+            .fromJson("{\"id\":1,\"total\":103.77,\"discountedTotal\":89.07,"
+                + "\"products\":[{\"id\":5,\"price\":34.59,\"quantity\":3,\"total\":103.77,"
+                + "\"discountedTotal\":89.07}]}");
+        Product product = moshi.adapter(Product.class)
+            .fromJson("{\"id\":2,\"price\":9.99,\"discountPercentage\":7.17}");
+        
+        assertThat(cart.getTotalSavingsMoney()).isEqualTo(Money.parse("14.70"));
+        assertThat(cart.getProducts().get(0).getPriceMoney()).isEqualTo(Money.parse("34.59"));
+        assertThat(product.getDiscountedPriceMoney()).isEqualTo(Money.parse("9.27"));
+        assertThat(moshi.adapter(Money.class).toJson(Money.parse("9.9"))).isEqualTo("9.90");
+    }
+    
+    @Test
+    public void testNullAmountsDecodeAsZero() throws IOException {
+        String cartJson = "{\"id\":1,\"total\":null,\"discountedTotal\":null,"
+            + "\"products\":[{\"id\":5,\"price\":null,\"quantity\":2,\"total\":null,\"discountedTotal\":null}]}";
+        String productJson = "{\"id\":2,\"price\":null,\"discountPercentage\":10}";
+        
+        for (Moshi moshi : new Moshi[] {new Moshi.Builder().build(), ModelAdapters.newBuilder().build()}) {
+            Cart cart = moshi.adapter(Cart.class).fromJson(cartJson);
+            Product product = moshi.adapter(Product.class).fromJson(productJson);
+            
+            assertThat(product.getPriceMoney()).isEqualTo(Money.ZERO);
+            assertThat(product.getDiscountedPriceMoney()).isEqualTo(Money.ZERO);
+            assertThat(cart.getTotalSavingsMoney()).isEqualTo(Money.ZERO);
+            assertThat(cart.getSavingsPercentage()).isZero();
+            assertThat(cart.getProducts().get(0).getDiscountedUnitPriceMoney()).isEqualTo(Money.ZERO);
+            assertThat(cart.getProducts().get(0).getSavings()).isZero();
+        }
+    }
+}
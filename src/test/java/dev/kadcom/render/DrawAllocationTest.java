@@ -0,0 +1,329 @@
+package dev.kadcom.render;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Per-frame drawing must not allocate: each test draws a few thousand frames
+ * and checks the thread's allocated bytes. That includes the raster key a card
+ * looks its cached render up by, which is built on bind, never per frame. Escape analysis is disabled for the
+ * test JVM (BUILD), so an allocation the JIT could elide here, but ART would
+ * not, still counts.
+ */
+public class DrawAllocationTest {
+
+    private static final int WARMUP_FRAMES = 200;
+    private static final int FRAMES = 5000;
+
+    // ============ CARD ============
+
+    @Test
+    public void testCardFrameDoesNotAllocate() {
+        CardPainter painter = new CardPainter(metrics());
+        RecordingSurface<CardPainter.Ink> surface = new RecordingSurface<>(400, 300);
+        FixedContent content = new FixedContent(true);
+        painter.layout(360, 420);
+
+        long allocated = allocatedBytes(() -> {
+            painter.drawCard(surface, content, true);
+            painter.drawLoadingIndicator(surface, 90f);
+        });
+
+        assertThat(surface.images).isPositive();
+        assertThat(surface.texts).isPositive();
+        assertThat(allocated).as("bytes allocated over %d frames", FRAMES).isLessThan(FRAMES);
+    }
+
+    @Test
+    public void testCachedCardLayersDoNotAllocate() {
+        CardPainter painter = new CardPainter(metrics());
+        RecordingSurface<CardPainter.Ink> surface = new RecordingSurface<>(0, 0); // No image: placeholder
+        FixedContent content = new FixedContent(false);
+        painter.layout(360, 420);
+
+        long allocated = allocatedBytes(() -> {
+            painter.drawCard(surface, content, false);
+            painter.drawImageLayer(surface, content);
+            painter.drawPlaceholderCard(surface);
+        });
+
+        assertThat(surface.images).isZero();
+        assertThat(surface.roundRects).isPositive();
+        assertThat(allocated).as("bytes allocated over %d frames", FRAMES).isLessThan(FRAMES);
+    }
+
+    @Test
+    public void testCardCropsImageToFill() {
+        CardPainter painter = new CardPainter(metrics());
+        RecordingSurface<CardPainter.Ink> surface = new RecordingSurface<>(400, 400);
+        painter.layout(360, 420);
+
+        painter.drawImageLayer(surface, new FixedContent(false));
+
+        // Square image into a 328 x 200 slot: full width, middle rows
+        float visibleRows = 400 * 200f / 328;
+        assertThat(surface.lastSrc).containsExactly(
+            new float[] {0, (400 - visibleRows) / 2, 400, (400 + visibleRows) / 2}, within(0.01f));
+        assertThat(surface.lastDst).containsExactly(16, 16, 344, 216);
+    }
+
+    // ============ RASTER KEY ============
+
+    @Test
+    public void testRasterCardFrameDoesNotAllocate() {
+        CardPainter painter = new CardPainter(metrics());
+        RecordingSurface<CardPainter.Ink> surface = new RecordingSurface<>(0, 0);
+        FixedContent content = new FixedContent(true);
+        CardRasterKey key = new CardRasterKey();
+        String url = "https://cdn.dummyjson.com/products/images/beauty/1.png";
+        painter.layout(360, 420);
+        key.set(1, 3, 360, 420, url);
+        String bound = key.get();
+
+        // What the card does each frame: look its raster up by the bound key,
+        // re-asserting unchanged state as a repeated bind or image callback would
+        long allocated = allocatedBytes(() -> {
+            key.set(1, 3, 360, 420, url);
+            surface.inkSum += key.get().length();
+            painter.drawImageLayer(surface, content);
+            painter.drawLoadingIndicator(surface, 90f);
+        });
+
+        assertThat(key.get()).isSameAs(bound);
+        assertThat(allocated).as("bytes allocated over %d frames", FRAMES).isLessThan(FRAMES);
+    }
+
+    @Test
+    public void testRasterKeyChangesWithEveryPart() {
+        CardRasterKey key = new CardRasterKey();
+        assertThat(key.get()).isNull();
+
+        assertThat(key.set(1, 3, 360, 420, CardRasterKey.IMAGE_PLACEHOLDER)).isTrue();
+        String placeholder = key.get();
+        assertThat(key.set(1, 3, 360, 420, CardRasterKey.IMAGE_PLACEHOLDER)).isFalse();
+
+        assertThat(key.set(1, 3, 360, 420, "a.png")).isTrue();
+        String loaded = key.get();
+        assertThat(loaded).isNotEqualTo(placeholder);
+        assertThat(key.set(2, 3, 360, 420, "a.png")).isTrue();
+        assertThat(key.set(2, 4, 360, 420, "a.png")).isTrue();
+        assertThat(key.set(2, 4, 361, 420, "a.png")).isTrue();
+        assertThat(key.set(2, 4, 361, 421, "a.png")).isTrue();
+        assertThat(key.set(1, 3, 360, 420, "a.png")).isTrue();
+        assertThat(key.get()).isEqualTo(loaded);
+
+        key.clear();
+        assertThat(key.get()).isNull();
+        assertThat(key.set(1, 3, 360, 420, "a.png")).isTrue();
+    }
+
+    // ============ IMAGE VIEW ============
+
+    @Test
+    public void testImageFrameDoesNotAllocate() {
+        ImagePainter painter = new ImagePainter(8);
+        RecordingSurface<ImagePainter.Ink> loaded = new RecordingSurface<>(640, 480);
+        RecordingSurface<ImagePainter.Ink> empty = new RecordingSurface<>(0, 0);
+
+        long allocated = allocatedBytes(() -> {
+            painter.draw(loaded, 300, 300, true, 45f);
+            painter.draw(empty, 300, 300, false, 0f);
+            painter.draw(empty, 300, 300, true, 45f);
+        });
+
+        assertThat(loaded.images).isPositive();
+        assertThat(empty.texts).isPositive();
+        assertThat(allocated).as("bytes allocated over %d frames", FRAMES).isLessThan(FRAMES);
+    }
+
+    // ============ HELPERS ============
+
+    /**
+     * Bytes this thread allocated drawing {@link #FRAMES} frames, after a warm-up
+     * that loads and initializes everything the frame touches. Under one byte
+     * per frame means no frame allocated.
+     */
+    private static long allocatedBytes(Runnable frame) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Per-thread allocation counting unavailable",
+            bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue("Per-thread allocation counting unavailable",
+            threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static CardPainter.Metrics metrics() {
+        CardPainter.Metrics metrics = new CardPainter.Metrics();
+        metrics.cardPadding = 16;
+        metrics.imageHeight = 200;
+        metrics.cornerRadius = 12;
+        metrics.shadowOffset = 2;
+        metrics.textGap = 8;
+        metrics.dividerGap = 8;
+        metrics.dividerMargin = 12;
+        metrics.badgeInset = 8;
+        metrics.badgePaddingX = 12;
+        metrics.badgeHeight = 20;
+        metrics.priceGap = 12;
+        metrics.lineHeight = 22;
+        metrics.sectionSpacing = 16;
+        metrics.itemSpacing = 6;
+        metrics.starWidth = 14;
+        return metrics;
+    }
+
+    /**
+     * Counts draws and keeps the last image rects, in preallocated fields only
+     */
+    private static final class RecordingSurface<I extends Enum<I>> implements DrawSurface<I> {
+        final int imageWidth;
+        final int imageHeight;
+        final float[] lastSrc = new float[4];
+        final float[] lastDst = new float[4];
+        int roundRects;
+        int lines;
+        int texts;
+        int arcs;
+        int images;
+        int layouts;
+        long inkSum; // Keeps every argument live
+
+        RecordingSurface(int imageWidth, int imageHeight) {
+            this.imageWidth = imageWidth;
+            this.imageHeight = imageHeight;
+        }
+
+        @Override
+        public void drawRoundRect(float left, float top, float right, float bottom, float radius, I ink) {
+            roundRects++;
+            inkSum += ink.ordinal();
+        }
+
+        @Override
+        public void drawLine(float startX, float startY, float stopX, float stopY, I ink) {
+            lines++;
+            inkSum += ink.ordinal();
+        }
+
+        @Override
+        public void drawText(String text, float x, float y, I ink) {
+            texts++;
+            inkSum += ink.ordinal() + text.length();
+        }
+
+        @Override
+        public void drawArc(float left, float top, float right, float bottom,
+                            float startAngle, float sweepAngle, I ink) {
+            arcs++;
+            inkSum += ink.ordinal();
+        }
+
+        @Override
+        public boolean hasImage() {
+            return imageWidth > 0;
+        }
+
+        @Override
+        public int getImageWidth() {
+            return imageWidth;
+        }
+
+        @Override
+        public int getImageHeight() {
+            return imageHeight;
+        }
+
+        @Override
+        public void drawImage(float srcLeft, float srcTop, float srcRight, float srcBottom,
+                              float dstLeft, float dstTop, float dstRight, float dstBottom) {
+            images++;
+            lastSrc[0] = srcLeft;
+            lastSrc[1] = srcTop;
+            lastSrc[2] = srcRight;
+            lastSrc[3] = srcBottom;
+            lastDst[0] = dstLeft;
+            lastDst[1] = dstTop;
+            lastDst[2] = dstRight;
+            lastDst[3] = dstBottom;
+        }
+
+        @Override
+        public void drawTextLayout(float x, float y) {
+            layouts++;
+        }
+    }
+
+    private static final class FixedContent implements CardContent {
+        private final boolean discount;
+
+        FixedContent(boolean discount) {
+            this.discount = discount;
+        }
+
+        @Override
+        public String getBrandLabel() {
+            return "ESSENCE";
+        }
+
+        @Override
+        public String getFormattedRating() {
+            return "4.9 (120)";
+        }
+
+        @Override
+        public String getFormattedPrice() {
+            return "$9.99";
+        }
+
+        @Override
+        public boolean hasDiscount() {
+            return discount;
+        }
+
+        @Override
+        public String getFormattedDiscountedPrice() {
+            return "$8.99";
+        }
+
+        @Override
+        public String getFormattedDiscount() {
+            return "-10%";
+        }
+
+        @Override
+        public boolean hasTitle() {
+            return true;
+        }
+
+        @Override
+        public float getTitleHeight() {
+            return 40;
+        }
+
+        @Override
+        public float getOriginalPriceWidth() {
+            return 42;
+        }
+
+        @Override
+        public float getDiscountWidth() {
+            return 30;
+        }
+    }
+}